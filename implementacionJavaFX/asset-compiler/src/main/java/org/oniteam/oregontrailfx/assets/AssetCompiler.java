@@ -0,0 +1,210 @@
+package org.oniteam.oregontrailfx.assets;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Compilador de assets que corre en el build, no en cada arranque del juego.
+ * <ul>
+ *   <li>Mapas: cada {@code <maps>/*.txt} (una fila de texto por fila de
+ *       celdas) se compila al formato binario de {@code MapLoader}.</li>
+ *   <li>Sprites: los PNG chicos de {@code <images>} se empaquetan en un solo
+ *       atlas ({@code atlas/sprites.png}) con un índice de texto
+ *       ({@code atlas/index.txt}: ruta, atlas, x, y, ancho, alto).</li>
+ * </ul>
+ * Es un solo archivo sin dependencias para que el build del juego pueda
+ * ejecutarlo directamente desde el código fuente ({@code java AssetCompiler.java}).
+ * <p>
+ * Uso: {@code AssetCompiler <carpeta de mapas> <carpeta de imágenes> <salida>}
+ */
+public class AssetCompiler {
+
+    // Formato binario de mapas: debe coincidir con MapLoader (lo comprueba
+    // MapLoaderTest cargando el mapa compilado y comparándolo con la fuente)
+    static final int MAGIC_MAPA = 0x4F544D50; // "OTMP"
+    static final short VERSION_MAPA = 1;
+    static final int TAM_CABECERA = 16;
+
+    // Caracteres de los mapas de texto -> tipo de tile (los 7 primeros como
+    // TrailMapGenerator; '*' es un arbusto)
+    static final String CARACTERES = ".,:#T~=*";
+    private static final String BLOQUEANTES = "#T~*";
+
+    // Atlas
+    static final String ATLAS = "sprites.png";
+    static final String INDICE = "index.txt";
+    private static final int ANCHO_ATLAS = 512;
+    private static final int MAX_LADO_SPRITE = 256; // los más grandes (fondos) quedan sueltos
+    private static final int SEPARACION = 1;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 3) {
+            System.err.println("Uso: AssetCompiler <mapas> <imagenes> <salida>");
+            System.exit(2);
+        }
+        Path mapas = Paths.get(args[0]);
+        Path imagenes = Paths.get(args[1]);
+        Path salida = Paths.get(args[2]);
+
+        int cantMapas = compileMaps(mapas, salida.resolve("maps"));
+        int cantSprites = compileAtlas(imagenes, salida.resolve("atlas"));
+        System.out.println("Assets compilados: " + cantMapas + " mapas, " + cantSprites + " sprites en el atlas");
+    }
+
+    // ========== MAPAS ==========
+
+    /**
+     * Compila todos los mapas de texto de una carpeta.
+     *
+     * @return cantidad de mapas compilados
+     */
+    public static int compileMaps(Path origen, Path destino) throws IOException {
+        if (!Files.isDirectory(origen)) {
+            return 0;
+        }
+        Files.createDirectories(destino);
+        int cont = 0;
+        for (Path txt : listar(origen, ".txt")) {
+            String nombre = txt.getFileName().toString();
+            Path map = destino.resolve(nombre.substring(0, nombre.length() - 4) + ".map");
+            Files.write(map, compileMap(Files.readAllLines(txt, StandardCharsets.UTF_8), nombre));
+            cont++;
+        }
+        return cont;
+    }
+
+    /**
+     * Compila un mapa de texto: cada línea es una fila y cada carácter una
+     * celda (ver {@link #CARACTERES}); las líneas cortas se completan con pasto.
+     */
+    static byte[] compileMap(List<String> lineas, String nombre) throws IOException {
+        List<String> filas = lineas.stream()
+                .map(String::stripTrailing)
+                .filter(l -> !l.isEmpty() && !l.startsWith(";"))
+                .collect(Collectors.toList());
+        int height = filas.size();
+        int width = filas.stream().mapToInt(String::length).max().orElse(0);
+        int celdas = width * height;
+        int bytesTiles = (celdas * Short.BYTES + 7) & ~7;
+        int palabras = (celdas + 63) >>> 6;
+
+        ByteBuffer datos = ByteBuffer.allocate(TAM_CABECERA + bytesTiles + palabras * Long.BYTES);
+        datos.putInt(MAGIC_MAPA).putShort(VERSION_MAPA).putShort((short) 0).putInt(width).putInt(height);
+        long[] colision = new long[palabras];
+        for (int y = 0; y < height; y++) {
+            String fila = filas.get(y);
+            for (int x = 0; x < width; x++) {
+                char c = x < fila.length() ? fila.charAt(x) : '.';
+                int tile = CARACTERES.indexOf(c);
+                if (tile < 0) {
+                    throw new IOException(nombre + ": carácter desconocido '" + c + "' en (" + x + "," + y + ")");
+                }
+                datos.putShort(TAM_CABECERA + (y * width + x) * Short.BYTES, (short) tile);
+                if (BLOQUEANTES.indexOf(c) >= 0) {
+                    int i = y * width + x;
+                    colision[i >>> 6] |= 1L << (i & 63);
+                }
+            }
+        }
+        datos.position(TAM_CABECERA + bytesTiles);
+        datos.asLongBuffer().put(colision);
+        return datos.array();
+    }
+
+    // ========== ATLAS ==========
+
+    /**
+     * Empaqueta los sprites de una carpeta (recursivamente) en un atlas.
+     *
+     * @return cantidad de sprites empaquetados
+     */
+    public static int compileAtlas(Path imagenes, Path destino) throws IOException {
+        if (!Files.isDirectory(imagenes)) {
+            return 0;
+        }
+        List<Sprite> sprites = new ArrayList<>();
+        for (Path png : listar(imagenes, ".png")) {
+            BufferedImage img = ImageIO.read(png.toFile());
+            if (img == null || img.getWidth() > MAX_LADO_SPRITE || img.getHeight() > MAX_LADO_SPRITE) {
+                continue;
+            }
+            // Misma ruta con la que el juego pide la imagen al classpath
+            String ruta = "/" + imagenes.getFileName() + "/"
+                    + imagenes.relativize(png).toString().replace('\\', '/');
+            sprites.add(new Sprite(ruta, img));
+        }
+
+        // Estantes: los más altos primero, de izquierda a derecha
+        sprites.sort(Comparator.comparingInt((Sprite s) -> -s.img.getHeight()).thenComparing(s -> s.ruta));
+        int x = 0;
+        int y = 0;
+        int altoEstante = 0;
+        for (Sprite s : sprites) {
+            if (x + s.img.getWidth() > ANCHO_ATLAS) {
+                x = 0;
+                y += altoEstante + SEPARACION;
+                altoEstante = 0;
+            }
+            s.x = x;
+            s.y = y;
+            x += s.img.getWidth() + SEPARACION;
+            altoEstante = Math.max(altoEstante, s.img.getHeight());
+        }
+        int alto = Math.max(1, y + altoEstante);
+
+        BufferedImage atlas = new BufferedImage(ANCHO_ATLAS, alto, BufferedImage.TYPE_INT_ARGB);
+        for (Sprite s : sprites) {
+            atlas.setRGB(s.x, s.y, s.img.getWidth(), s.img.getHeight(),
+                    s.img.getRGB(0, 0, s.img.getWidth(), s.img.getHeight(), null, 0, s.img.getWidth()),
+                    0, s.img.getWidth());
+        }
+
+        Files.createDirectories(destino);
+        try (OutputStream out = Files.newOutputStream(destino.resolve(ATLAS))) {
+            ImageIO.write(atlas, "png", out);
+        }
+        sprites.sort(Comparator.comparing(s -> s.ruta));
+        try (Writer w = Files.newBufferedWriter(destino.resolve(INDICE), StandardCharsets.UTF_8)) {
+            w.write("# ruta\tatlas\tx\ty\tancho\talto\n");
+            for (Sprite s : sprites) {
+                w.write(s.ruta + "\t" + ATLAS + "\t" + s.x + "\t" + s.y + "\t"
+                        + s.img.getWidth() + "\t" + s.img.getHeight() + "\n");
+            }
+        }
+        return sprites.size();
+    }
+
+    private static List<Path> listar(Path carpeta, String extension) throws IOException {
+        try (Stream<Path> archivos = Files.walk(carpeta)) {
+            return archivos.filter(Files::isRegularFile)
+                    .filter(p -> p.getFileName().toString().toLowerCase().endsWith(extension))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static class Sprite {
+        final String ruta;
+        final BufferedImage img;
+        int x;
+        int y;
+
+        Sprite(String ruta, BufferedImage img) {
+            this.ruta = ruta;
+            this.img = img;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package assets;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.oniteam.oregontrailfx.assets.AssetCompiler;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AssetCompilerTest {
+
+    @TempDir
+    Path carpeta;
+
+    private Path mapas;
+    private Path imagenes;
+    private Path salida;
+
+    /**
+     * Escenario 1: Fuentes de assets
+     * - Mapa de texto 5x3 con una roca en (1,0), un árbol en (4,2) y una fila corta
+     * - Tres sprites de 10x10, 20x5 y 300x300 (este último no entra al atlas)
+     */
+    void setupStage1() throws IOException {
+        mapas = Files.createDirectories(carpeta.resolve("maps"));
+        imagenes = Files.createDirectories(carpeta.resolve("images"));
+        salida = carpeta.resolve("out");
+        Files.write(mapas.resolve("prueba.txt"), List.of("; comentario", ".#...", "..", ",:~=T"),
+                StandardCharsets.UTF_8);
+        Files.createDirectories(imagenes.resolve("hero"));
+        guardarPng(imagenes.resolve("hero/a.png"), 10, 10, 0xFFFF0000);
+        guardarPng(imagenes.resolve("b.png"), 20, 5, 0xFF00FF00);
+        guardarPng(imagenes.resolve("fondo.png"), 300, 300, 0xFF0000FF);
+    }
+
+    private static void guardarPng(Path archivo, int w, int h, int argb) throws IOException {
+        BufferedImage img = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+        for (int y = 0; y < h; y++) {
+            for (int x = 0; x < w; x++) {
+                img.setRGB(x, y, argb);
+            }
+        }
+        ImageIO.write(img, "png", archivo.toFile());
+    }
+
+    @Test
+    void testMapaCompiladoAlFormatoBinario() throws IOException {
+        // arrange
+        setupStage1();
+
+        // act
+        int cant = AssetCompiler.compileMaps(mapas, salida.resolve("maps"));
+
+        // assert
+        assertEquals(1, cant);
+        ByteBuffer datos = ByteBuffer.wrap(Files.readAllBytes(salida.resolve("maps/prueba.map")));
+        assertEquals(0x4F544D50, datos.getInt(0), "Cabecera OTMP");
+        assertEquals(5, datos.getInt(8));
+        assertEquals(3, datos.getInt(12));
+        assertEquals(3, datos.getShort(16 + 1 * 2), "Roca en (1,0)");
+        assertEquals(4, datos.getShort(16 + (2 * 5 + 4) * 2), "Árbol en (4,2)");
+        long colision = datos.getLong(16 + 32);
+        assertEquals((1L << 1) | (1L << 12) | (1L << 14), colision, "Roca, agua y árbol bloquean");
+    }
+
+    @Test
+    void testAtlasEmpaquetaSpritesChicos() throws IOException {
+        // arrange
+        setupStage1();
+
+        // act
+        int cant = AssetCompiler.compileAtlas(imagenes, salida.resolve("atlas"));
+
+        // assert
+        assertEquals(2, cant, "El fondo de 300x300 queda fuera del atlas");
+        List<String> indice = Files.readAllLines(salida.resolve("atlas/index.txt"), StandardCharsets.UTF_8);
+        assertEquals("/images/b.png\tsprites.png\t11\t0\t20\t5", indice.get(1));
+        assertEquals("/images/hero/a.png\tsprites.png\t0\t0\t10\t10", indice.get(2));
+        BufferedImage atlas = ImageIO.read(salida.resolve("atlas/sprites.png").toFile());
+        assertEquals(0xFFFF0000, atlas.getRGB(9, 9));
+        assertEquals(0xFF00FF00, atlas.getRGB(11 + 19, 4));
+    }
+
+    @Test
+    void testCaracterDesconocidoFallaElBuild() throws IOException {
+        // arrange
+        setupStage1();
+        Files.write(mapas.resolve("malo.txt"), List.of("..X.."), StandardCharsets.UTF_8);
+
+        // act + assert
+        assertThrows(IOException.class, () -> AssetCompiler.compileMaps(mapas, salida.resolve("maps")));
+    }
+}
@@ -13,10 +13,17 @@ import javafx.scene.input.KeyEvent;
 import javafx.stage.Stage;
 
 import org.oniteam.oregontrailfx.model.*;
+import org.oniteam.oregontrailfx.util.ConfigManager;
+import org.oniteam.oregontrailfx.util.SpriteAtlas;
+
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 public class GameController {
 
     @FXML private Canvas gameCanvas;
+    @FXML private Canvas backgroundCanvas;
     @FXML private Label lblHealth;
     @FXML private Label lblAmmo;
     @FXML private Label lblScenario;
@@ -27,19 +34,18 @@ public class GameController {
     private Player player;
     private Scenario currentScenario;
     private MapLoader currentMap;
-    private MovementController movementController;
     private Inventory inventory;
     private AmmoManager ammoManager;
     private Spawner spawner;
-    private ListEnemy enemies;
+    private EnemyStore enemies;
+
+    // Simulación headless: el controlador solo le pasa la entrada y dibuja
+    private GameEngine engine;
+    private long lastUpdateTime = 0;
 
     // Estados de entrada
     private boolean up, down, left, right, shooting;
 
-    // ⭐ CONTROL DE VELOCIDAD DE MOVIMIENTO (OREGON TRAIL CLÁSICO)
-    private long lastMoveTime = 0;
-    private long moveDelayNanos = 150_000_000L; // 150ms entre movimientos
-
     // ⭐ LÍMITES DEL CANVAS (para colisiones)
     private final int TILE_SIZE = 32; // Tamaño de cada celda en píxeles
     private int maxTilesX; // Calculado según el ancho del canvas
@@ -56,10 +62,14 @@ public class GameController {
     private Image bgLlanura;
     private Image bgMountain;
     private Image bgRiver;
+    private TypeScenarios fondoDibujado; // escenario que tiene hoy la capa de fondo
 
     // Enemigo simple (imagen)
     private Image enemyImg;
 
+    // Sprites empaquetados en el build (null si no hay atlas)
+    private SpriteAtlas atlas;
+
     private AnimationTimer loop;
 
     @FXML
@@ -86,6 +96,10 @@ public class GameController {
 
     private void loadSprites() {
         System.out.println("Cargando sprites");
+        atlas = SpriteAtlas.load();
+        if (atlas != null) {
+            System.out.println("Atlas de sprites: " + atlas.size() + " sprites");
+        }
 
         try {
             // idle
@@ -118,10 +132,16 @@ public class GameController {
     }
 
     /**
-     * Carga una imagen con manejo de errores.
-     * Si no existe, retorna un placeholder.
+     * Carga una imagen con manejo de errores: primero del atlas, si no
+     * del PNG suelto. Si no existe, retorna un placeholder.
      */
     private Image cargarImagen(String ruta) {
+        if (atlas != null) {
+            Image sprite = atlas.get(ruta);
+            if (sprite != null) {
+                return sprite;
+            }
+        }
         try {
             var stream = getClass().getResourceAsStream(ruta);
             if (stream == null) {
@@ -192,6 +212,8 @@ public class GameController {
         currentScenario = gameManager.getCurrentScenario();
         if (currentScenario == null) {
             currentScenario = new Scenario(new int[20][20], TypeScenarios.START);
+            // Sin tope propio, el escenario por defecto admite el máximo global
+            currentScenario.setCantMaxRespawnEnemies(SpawnScheduler.fromConfig(ConfigManager.getInstance()).getMaxEnemigos());
             gameManager.setCurrentScenario(currentScenario);
         }
 
@@ -204,12 +226,18 @@ public class GameController {
         // Inicializar munición
         ammoManager = new AmmoManager(50, 30);
 
-        // Inicializar spawner de enemigos
-        spawner = new Spawner(5, 3);
-        enemies = spawner.getEnemies();
+        // Spawner de enemigos de la sesión activa
+        GameSession session = gameManager.getSession();
+        spawner = session.getSpawner();
+        enemies = session.getEnemies();
 
-        // ✅ Controlador de movimiento con límites del canvas
-        movementController = new MovementController(currentMap, player, maxTilesX, maxTilesY);
+        // ✅ Motor de simulación con límites del canvas
+        engine = session.crearEngine(currentMap, ammoManager, maxTilesX, maxTilesY);
+
+        // Grabación de la entrada para repetir la partida sin pantalla
+        if (Boolean.parseBoolean(ConfigManager.getInstance().getProperty("debug.record_input", "false"))) {
+            engine.setRecorder(new InputRecorder(session.getSemilla()));
+        }
 
         System.out.println("✅ Modelo inicializado - Jugador: " + player.getNombre() + " en posición: (" + player.getX() + ", " + player.getY() + ")");
     }
@@ -225,6 +253,15 @@ public class GameController {
         loop.start();
     }
 
+    /**
+     * Vuelve a arrancar el loop tras una pausa. Olvida el tiempo del último
+     * frame para que el tiempo pausado no se simule de golpe al reanudar.
+     */
+    private void reanudarLoop() {
+        lastUpdateTime = 0;
+        loop.start();
+    }
+
     @FXML
     private void onKeyPressed(KeyEvent e) {
         switch (e.getCode()) {
@@ -262,51 +299,13 @@ public class GameController {
             return;
         }
 
-        // ⭐ MOVIMIENTO CON COOLDOWN (ESTILO OREGON TRAIL CLÁSICO)
-        if (now - lastMoveTime > moveDelayNanos) {
-            boolean moved = false;
-
-            if (up) {
-                movementController.moveUp();
-                moved = true;
-            } else if (down) {
-                movementController.moveDown();
-                moved = true;
-            } else if (left) {
-                movementController.moveLeft();
-                moved = true;
-            } else if (right) {
-                movementController.moveRight();
-                moved = true;
-            }
-
-            if (moved) {
-                lastMoveTime = now; // Actualizar tiempo del último movimiento
-            }
-        }
-
-        // Disparo
-        if (shooting && ammoManager.hasAmmo("rifle")) {
-            ammoManager.shoot("rifle");
-        }
-
-        // Spawn de enemigos
-        spawner.tickSpawn(currentScenario, player);
-
-        // Actualizar IA de enemigos
-        NodeEnemy current = enemies.getFirst();
-        while (current != null) {
-            Enemy e = current.getData();
-            EnemyAI ai = new EnemyAI(5.0);
-            ai.update(e, player);
-
-            // Verificar colisión con jugador
-            if (e.getX() == player.getX() && e.getY() == player.getY()) {
-                player.damage(1);
-            }
-
-            current = current.getNext();
+        // Avanzar la simulación en ticks fijos
+        if (lastUpdateTime == 0) {
+            lastUpdateTime = now;
         }
+        engine.setInput(GameEngine.toInputMask(up, down, left, right, shooting));
+        engine.advance(now - lastUpdateTime);
+        lastUpdateTime = now;
 
         // Animación
         if (now - lastFrameTime > frameDurationNanos) {
@@ -331,29 +330,21 @@ public class GameController {
         lblInventorySummary.setText("Items: " + itemCount + "/" + 20);
     }
 
+    /**
+     * Dibuja un frame. El fondo vive en su propia capa (backgroundCanvas) y
+     * solo se redibuja al cambiar de escenario; aquí se limpia y se dibuja
+     * únicamente la capa de entidades, que es transparente.
+     */
     private void render() {
-        gc.clearRect(0, 0, gameCanvas.getWidth(), gameCanvas.getHeight());
+        actualizarFondo();
 
-        // Fondo según escenario
-        Image bg = switch (currentScenario.getType()) {
-            case START -> bgLlanura;
-            case ROAD -> bgMountain;
-            case RIVER -> bgRiver;
-            default -> bgLlanura;
-        };
-
-        if (bg != null) {
-            gc.drawImage(bg, 0, 0, gameCanvas.getWidth(), gameCanvas.getHeight());
-        }
+        gc.clearRect(0, 0, gameCanvas.getWidth(), gameCanvas.getHeight());
 
         // Dibujar enemigos
-        NodeEnemy current = enemies.getFirst();
-        while (current != null) {
-            Enemy e = current.getData();
-            if (enemyImg != null) {
-                gc.drawImage(enemyImg, e.getX() * TILE_SIZE, e.getY() * TILE_SIZE, 32, 32);
+        if (enemyImg != null) {
+            for (int i = 0, n = enemies.size(); i < n; i++) {
+                gc.drawImage(enemyImg, enemies.getX(i) * TILE_SIZE, enemies.getY(i) * TILE_SIZE, 32, 32);
             }
-            current = current.getNext();
         }
 
         // Dibujar jugador
@@ -366,6 +357,32 @@ public class GameController {
         }
     }
 
+    /**
+     * Escala el fondo del escenario al tamaño del canvas una sola vez y lo
+     * deja en la capa estática. No hace nada si el escenario no cambió.
+     */
+    private void actualizarFondo() {
+        TypeScenarios tipo = currentScenario.getType();
+        if (tipo == fondoDibujado) {
+            return;
+        }
+
+        // Fondo según escenario
+        Image bg = switch (tipo) {
+            case START -> bgLlanura;
+            case ROAD -> bgMountain;
+            case RIVER -> bgRiver;
+            default -> bgLlanura;
+        };
+
+        GraphicsContext fondo = backgroundCanvas.getGraphicsContext2D();
+        fondo.clearRect(0, 0, backgroundCanvas.getWidth(), backgroundCanvas.getHeight());
+        if (bg != null) {
+            fondo.drawImage(bg, 0, 0, backgroundCanvas.getWidth(), backgroundCanvas.getHeight());
+        }
+        fondoDibujado = tipo;
+    }
+
     /**
      * Abre la ventana del inventario en una nueva Stage (ventana modal).
      */
@@ -390,7 +407,7 @@ public class GameController {
 
             // Al cerrar el inventario, reanudar el juego
             inventoryStage.setOnHidden(e -> {
-                loop.start();
+                reanudarLoop();
                 gameCanvas.requestFocus();
                 System.out.println("🎮 Juego reanudado");
             });
@@ -400,7 +417,7 @@ public class GameController {
         } catch (Exception e) {
             System.err.println("❌ Error abriendo inventario");
             e.printStackTrace();
-            loop.start(); // Asegurar que el juego continúe
+            reanudarLoop(); // Asegurar que el juego continúe
         }
     }
 
@@ -424,7 +441,7 @@ public class GameController {
 
             // Al cerrar, reanudar el juego
             achievementsStage.setOnHidden(e -> {
-                loop.start();
+                reanudarLoop();
                 gameCanvas.requestFocus();
                 System.out.println("🎮 Juego reanudado");
             });
@@ -434,7 +451,7 @@ public class GameController {
         } catch (Exception e) {
             System.err.println("❌ Error abriendo árbol de logros");
             e.printStackTrace();
-            loop.start();
+            reanudarLoop();
         }
     }
 
@@ -451,7 +468,7 @@ public class GameController {
         pauseAlert.setContentText("Presiona OK para continuar");
 
         pauseAlert.setOnHidden(e -> {
-            loop.start();
+            reanudarLoop();
             gameCanvas.requestFocus();
             System.out.println("▶️ Juego reanudado");
         });
@@ -459,14 +476,39 @@ public class GameController {
         pauseAlert.show();
     }
 
+    /**
+     * Guarda la entrada grabada (si la grabación está activa) en replays/.
+     */
+    private void guardarGrabacion() {
+        InputRecorder recorder = engine.getRecorder();
+        if (recorder == null) {
+            return;
+        }
+        Path destino = Path.of("replays", "partida-" + recorder.getSemilla() + ".otr");
+        try {
+            Files.createDirectories(destino.getParent());
+            try (OutputStream out = Files.newOutputStream(destino)) {
+                recorder.write(out);
+            }
+            System.out.println("💾 Grabación guardada: " + destino + " (" + recorder.getTicks() + " ticks)");
+        } catch (Exception e) {
+            System.err.println("❌ Error guardando grabación: " + destino);
+            e.printStackTrace();
+        }
+    }
+
     private void gameOver() {
         loop.stop();
+        guardarGrabacion();
+        engine.close();
         gameManager.terminarJuego(false);
         cargarVista("/org/oniteam/oregontrailfx/gameover.fxml", "Game Over");
     }
 
     private void victoria() {
         loop.stop();
+        guardarGrabacion();
+        engine.close();
         gameManager.terminarJuego(true);
         cargarVista("/org/oniteam/oregontrailfx/victoria.fxml", "¡Victoria!");
     }
@@ -0,0 +1,360 @@
+package org.oniteam.oregontrailfx.model;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Servicio de búsqueda A* sobre el tablero del escenario, para enemigos que
+ * van hacia puntos distintos del jugador (recursos, gateways, miembros de la
+ * caravana).
+ * <ul>
+ *   <li>Conjuntos abierto/cerrado en arreglos de primitivos marcados por
+ *       generación: no hay que limpiarlos entre búsquedas.</li>
+ *   <li>Montículo binario de longs: costo f en los 32 bits altos y la celda
+ *       empaquetada (y * width + x) en los bajos.</li>
+ *   <li>Caché LRU de los últimos caminos pedidos.</li>
+ *   <li>Si una celda se bloquea, los caminos en caché que la usan se reparan
+ *       con un desvío local en lugar de recalcularse completos.</li>
+ * </ul>
+ * Movimiento en 8 direcciones sin cortar esquinas; costo 10 ortogonal y 14
+ * en diagonal.
+ */
+public class AStarPathfinder implements MapLoader.BlockListener {
+
+    private static final int COSTO_RECTO = 10;
+    private static final int COSTO_DIAGONAL = 14;
+    private static final int[] DX = {1, -1, 0, 0, 1, 1, -1, -1};
+    private static final int[] DY = {0, 0, 1, -1, 1, -1, 1, -1};
+
+    private final MapLoader map;
+    private final int width;
+    private final int height;
+
+    // Estado de búsqueda reutilizable
+    private final int[] g;
+    private final int[] padre;
+    private final int[] marcaAbierto;
+    private final int[] marcaCerrado;
+    private int generacion;
+    private long[] heap = new long[256];
+    private int heapSize;
+
+    private final LinkedHashMap<Long, int[]> cache;
+    private int reparaciones;
+
+    /**
+     * @param map mapa con los bloqueos (se registra como listener)
+     * @param width ancho del tablero en celdas
+     * @param height alto del tablero en celdas
+     * @param capacidadCache cantidad máxima de caminos guardados
+     */
+    public AStarPathfinder(MapLoader map, int width, int height, int capacidadCache) {
+        this.map = map;
+        this.width = width;
+        this.height = height;
+        int celdas = width * height;
+        this.g = new int[celdas];
+        this.padre = new int[celdas];
+        this.marcaAbierto = new int[celdas];
+        this.marcaCerrado = new int[celdas];
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, int[]> eldest) {
+                return size() > capacidadCache;
+            }
+        };
+        map.addBlockListener(this);
+    }
+
+    /**
+     * Busca el camino más corto entre dos celdas.
+     *
+     * @return celdas empaquetadas (y * width + x) desde el origen hasta el
+     *         destino, ambos incluidos; o null si no hay camino.
+     *         El arreglo es compartido con la caché: no modificarlo.
+     */
+    public int[] findPath(int sx, int sy, int tx, int ty) {
+        if (!transitable(sx, sy) || !transitable(tx, ty)) {
+            return null;
+        }
+        int inicio = sy * width + sx;
+        int meta = ty * width + tx;
+        long clave = ((long) inicio << 32) | meta;
+
+        int[] camino = cache.get(clave);
+        if (camino != null) {
+            return camino;
+        }
+
+        camino = buscar(inicio, meta);
+        if (camino != null) {
+            cache.put(clave, camino);
+        }
+        return camino;
+    }
+
+    /**
+     * A* entre dos celdas empaquetadas, sin usar la caché.
+     */
+    private int[] buscar(int inicio, int meta) {
+        nuevaGeneracion();
+        heapSize = 0;
+
+        int mx = meta % width;
+        int my = meta / width;
+
+        g[inicio] = 0;
+        padre[inicio] = -1;
+        marcaAbierto[inicio] = generacion;
+        push(heuristica(inicio % width, inicio / width, mx, my), inicio);
+
+        while (heapSize > 0) {
+            int actual = (int) pop();
+            if (marcaCerrado[actual] == generacion) {
+                continue; // entrada vieja del montículo
+            }
+            marcaCerrado[actual] = generacion;
+            if (actual == meta) {
+                return reconstruir(meta);
+            }
+
+            int cx = actual % width;
+            int cy = actual / width;
+            for (int k = 0; k < DX.length; k++) {
+                int nx = cx + DX[k];
+                int ny = cy + DY[k];
+                if (!transitable(nx, ny)) {
+                    continue;
+                }
+                if (k >= 4 && (!transitable(nx, cy) || !transitable(cx, ny))) {
+                    continue;
+                }
+                int vecino = ny * width + nx;
+                if (marcaCerrado[vecino] == generacion) {
+                    continue;
+                }
+                int costo = g[actual] + (k < 4 ? COSTO_RECTO : COSTO_DIAGONAL);
+                if (marcaAbierto[vecino] != generacion || costo < g[vecino]) {
+                    marcaAbierto[vecino] = generacion;
+                    g[vecino] = costo;
+                    padre[vecino] = actual;
+                    push(costo + heuristica(nx, ny, mx, my), vecino);
+                }
+            }
+        }
+        return null;
+    }
+
+    private void nuevaGeneracion() {
+        generacion++;
+        if (generacion == Integer.MAX_VALUE) {
+            Arrays.fill(marcaAbierto, 0);
+            Arrays.fill(marcaCerrado, 0);
+            generacion = 1;
+        }
+    }
+
+    private int[] reconstruir(int meta) {
+        int largo = 0;
+        for (int c = meta; c != -1; c = padre[c]) {
+            largo++;
+        }
+        int[] camino = new int[largo];
+        int i = largo - 1;
+        for (int c = meta; c != -1; c = padre[c]) {
+            camino[i--] = c;
+        }
+        return camino;
+    }
+
+    /**
+     * Distancia octil: exacta en un mapa sin obstáculos, nunca sobreestima.
+     */
+    private static int heuristica(int x, int y, int mx, int my) {
+        int dx = Math.abs(x - mx);
+        int dy = Math.abs(y - my);
+        return COSTO_RECTO * (dx + dy) + (COSTO_DIAGONAL - 2 * COSTO_RECTO) * Math.min(dx, dy);
+    }
+
+    private boolean transitable(int x, int y) {
+        return x >= 0 && y >= 0 && x < width && y < height && !map.isBlocked(x, y);
+    }
+
+    // ========== MONTÍCULO BINARIO ==========
+
+    private void push(int f, int celda) {
+        if (heapSize == heap.length) {
+            heap = Arrays.copyOf(heap, heapSize * 2);
+        }
+        long v = ((long) f << 32) | celda;
+        int i = heapSize++;
+        while (i > 0) {
+            int p = (i - 1) >>> 1;
+            if (heap[p] <= v) {
+                break;
+            }
+            heap[i] = heap[p];
+            i = p;
+        }
+        heap[i] = v;
+    }
+
+    private long pop() {
+        long top = heap[0];
+        long ultimo = heap[--heapSize];
+        int i = 0;
+        int mitad = heapSize >>> 1;
+        while (i < mitad) {
+            int hijo = 2 * i + 1;
+            if (hijo + 1 < heapSize && heap[hijo + 1] < heap[hijo]) {
+                hijo++;
+            }
+            if (ultimo <= heap[hijo]) {
+                break;
+            }
+            heap[i] = heap[hijo];
+            i = hijo;
+        }
+        heap[i] = ultimo;
+        return top & 0xFFFFFFFFL;
+    }
+
+    // ========== REPARACIÓN INCREMENTAL ==========
+
+    /**
+     * Al bloquearse una celda, repara los caminos en caché que pasan por ella
+     * buscando solo un desvío entre la celda anterior y la siguiente celda
+     * libre del camino. También se reparan los pasos en diagonal que ahora
+     * cortarían la esquina de la celda bloqueada (desvío entre sus dos
+     * extremos). Los caminos cuyo origen o destino quedó bloqueado, o que no
+     * tienen desvío, se descartan. Desbloquear no invalida ningún camino
+     * (siguen siendo válidos, aunque quizá ya no sean los más cortos).
+     */
+    @Override
+    public void onBlockChanged(int x, int y, boolean blocked) {
+        if (!blocked || x < 0 || y < 0 || x >= width || y >= height) {
+            return;
+        }
+        int celda = y * width + x;
+
+        Iterator<Map.Entry<Long, int[]>> it = cache.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Long, int[]> entrada = it.next();
+            int[] camino = entrada.getValue();
+            boolean cambio = false;
+            while (camino != null) {
+                int i = indiceDe(camino, celda);
+                if (i >= 0) {
+                    camino = reparar(camino, i);
+                } else if ((i = esquinaCortada(camino, x, y)) >= 0) {
+                    camino = reemplazarTramo(camino, i, i + 1);
+                } else {
+                    break;
+                }
+                cambio = true;
+            }
+            if (camino == null) {
+                it.remove();
+            } else if (cambio) {
+                entrada.setValue(camino);
+                reparaciones++;
+            }
+        }
+    }
+
+    private int[] reparar(int[] camino, int bloqueado) {
+        if (bloqueado == 0 || bloqueado == camino.length - 1) {
+            return null;
+        }
+        int reanudar = bloqueado + 1;
+        while (reanudar < camino.length && map.isBlocked(camino[reanudar] % width, camino[reanudar] / width)) {
+            reanudar++;
+        }
+        if (reanudar == camino.length) {
+            return null;
+        }
+        return reemplazarTramo(camino, bloqueado - 1, reanudar);
+    }
+
+    /**
+     * Reemplaza camino[desde..hasta] por un desvío entre esas dos celdas.
+     *
+     * @return el camino nuevo, o null si no hay desvío
+     */
+    private int[] reemplazarTramo(int[] camino, int desde, int hasta) {
+        int[] desvio = buscar(camino[desde], camino[hasta]);
+        if (desvio == null) {
+            return null;
+        }
+
+        // camino[0..desde) + desvio + camino(hasta..]
+        int cola = camino.length - hasta - 1;
+        int[] nuevo = new int[desde + desvio.length + cola];
+        System.arraycopy(camino, 0, nuevo, 0, desde);
+        System.arraycopy(desvio, 0, nuevo, desde, desvio.length);
+        System.arraycopy(camino, hasta + 1, nuevo, desde + desvio.length, cola);
+        return nuevo;
+    }
+
+    private static int indiceDe(int[] camino, int celda) {
+        for (int i = 0; i < camino.length; i++) {
+            if (camino[i] == celda) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return índice i del primer paso en diagonal camino[i] -> camino[i+1]
+     *         que corta la esquina (x,y), o -1 si no hay ninguno
+     */
+    private int esquinaCortada(int[] camino, int x, int y) {
+        for (int i = 0; i + 1 < camino.length; i++) {
+            int ax = camino[i] % width;
+            int ay = camino[i] / width;
+            int bx = camino[i + 1] % width;
+            int by = camino[i + 1] / width;
+            if (ax != bx && ay != by && ((bx == x && ay == y) || (ax == x && by == y))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Vacía la caché de caminos.
+     */
+    public void clearCache() {
+        cache.clear();
+    }
+
+    /**
+     * Deja de escuchar los bloqueos del mapa (los caminos en caché ya no se
+     * reparan). Llamar al descartar el servicio.
+     */
+    public void close() {
+        map.removeBlockListener(this);
+    }
+
+    public int getCacheSize() {
+        return cache.size();
+    }
+
+    /**
+     * Cantidad de caminos reparados incrementalmente desde que se creó el servicio.
+     */
+    public int getReparaciones() {
+        return reparaciones;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+}
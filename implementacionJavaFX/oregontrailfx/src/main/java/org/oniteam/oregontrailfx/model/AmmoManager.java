@@ -48,4 +48,22 @@ public class AmmoManager {
         }
         return false;
     }
+
+    /**
+     * Suma munición a un arma (por ejemplo, al terminar una recarga).
+     *
+     * @return true si el arma existe
+     */
+    public boolean reload(String weapon, int cantidad){
+        int n = Math.max(0, cantidad);
+        if ("rifle".equalsIgnoreCase(weapon)){
+            rifle += n;
+            return true;
+        }
+        if ("revolver".equalsIgnoreCase(weapon)){
+            revolver += n;
+            return true;
+        }
+        return false;
+    }
 }
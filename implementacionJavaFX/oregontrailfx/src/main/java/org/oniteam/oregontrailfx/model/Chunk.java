@@ -0,0 +1,63 @@
+package org.oniteam.oregontrailfx.model;
+
+/**
+ * Bloque cuadrado de celdas del mundo: capa de tiles y capa de colisión
+ * (un bit por celda), ambas fila por fila en arreglos planos.
+ */
+public class Chunk {
+
+    private final int cx;
+    private final int cy;
+    private final int size;
+    private final TileGrid tiles;
+    private final CollisionLayer colision;
+
+    /**
+     * @param tiles tipo de cada celda (size * size)
+     * @param blocked bit i = celda i bloqueada ((size * size + 63) / 64 palabras)
+     */
+    public Chunk(int cx, int cy, int size, short[] tiles, long[] blocked) {
+        if (tiles.length != size * size || blocked.length != CollisionLayer.palabras(size, size)) {
+            throw new IllegalArgumentException("Capas de tamaño inválido para un chunk de " + size);
+        }
+        this.cx = cx;
+        this.cy = cy;
+        this.size = size;
+        this.tiles = new TileGrid(size, size, tiles);
+        this.colision = new CollisionLayer(size, size, blocked);
+    }
+
+    /**
+     * Tipo de tile en coordenadas locales (0..size-1).
+     */
+    public int getTile(int lx, int ly) {
+        return tiles.get(lx, ly);
+    }
+
+    public TileGrid getTiles() {
+        return tiles;
+    }
+
+    /**
+     * Bloqueo en coordenadas locales (0..size-1).
+     */
+    public boolean isBlocked(int lx, int ly) {
+        return colision.isBlocked(lx, ly);
+    }
+
+    public CollisionLayer getCollisionLayer() {
+        return colision;
+    }
+
+    public int getCx() {
+        return cx;
+    }
+
+    public int getCy() {
+        return cy;
+    }
+
+    public int getSize() {
+        return size;
+    }
+}
@@ -0,0 +1,19 @@
+package org.oniteam.oregontrailfx.model;
+
+/**
+ * Origen de los chunks del mundo (archivo, generador procedural, etc.).
+ * Puede llamarse desde hilos de precarga, así que las implementaciones no
+ * deben depender de estado compartido sin sincronizar.
+ */
+public interface ChunkSource {
+
+    /**
+     * Construye el chunk (cx, cy).
+     *
+     * @param cx coordenada x del chunk (en chunks, no en celdas)
+     * @param cy coordenada y del chunk
+     * @param size lado del chunk en celdas
+     * @return chunk listo para usar
+     */
+    Chunk load(int cx, int cy, int size);
+}
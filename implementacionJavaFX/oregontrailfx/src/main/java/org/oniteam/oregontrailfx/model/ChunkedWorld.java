@@ -0,0 +1,214 @@
+package org.oniteam.oregontrailfx.model;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Mundo continuo para todo el sendero, dividido en chunks cuadrados que se
+ * cargan a demanda desde un {@link ChunkSource}.
+ * <ul>
+ *   <li>Caché LRU con presupuesto fijo de chunks: la memoria no crece con
+ *       las millas recorridas.</li>
+ *   <li>{@link #update(int, int, int, int)} precarga en segundo plano los
+ *       chunks que están adelante en la dirección de marcha, así que al
+ *       llegar ya están listos y no hay tirones.</li>
+ * </ul>
+ * La caché se usa solo desde el hilo del juego; los hilos de precarga solo
+ * ejecutan {@link ChunkSource#load} y entregan el resultado.
+ */
+public class ChunkedWorld {
+
+    private final ChunkSource source;
+    private final int tamChunk;
+    private final int presupuesto;
+    private final int distanciaPrecarga;
+    private final Executor precarga;
+
+    private final LinkedHashMap<Long, Chunk> cache;
+    private final Map<Long, CompletableFuture<Chunk>> pendientes = new HashMap<>();
+    private int cargasSincronicas;
+    private int desalojos;
+
+    /**
+     * @param source origen de los chunks
+     * @param tamChunk lado de cada chunk en celdas
+     * @param presupuesto cantidad máxima de chunks en memoria
+     * @param distanciaPrecarga chunks a precargar adelante del jugador
+     * @param precarga ejecutor de la precarga (null para cargar solo a demanda)
+     */
+    public ChunkedWorld(ChunkSource source, int tamChunk, int presupuesto, int distanciaPrecarga, Executor precarga) {
+        if (presupuesto < 1) {
+            throw new IllegalArgumentException("El presupuesto debe ser de al menos un chunk");
+        }
+        this.source = source;
+        this.tamChunk = tamChunk;
+        this.presupuesto = presupuesto;
+        this.distanciaPrecarga = distanciaPrecarga;
+        this.precarga = precarga;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Chunk> eldest) {
+                if (size() > ChunkedWorld.this.presupuesto) {
+                    desalojos++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Avisa la posición y la dirección de marcha del jugador: mantiene
+     * reciente su chunk, recoge las precargas terminadas que siguen adelante
+     * (las que quedaron atrás tras un cambio de dirección se descartan) y
+     * pide las que faltan.
+     *
+     * @param x celda x del jugador
+     * @param y celda y del jugador
+     * @param dirX dirección de marcha en x (-1, 0 o 1)
+     * @param dirY dirección de marcha en y (-1, 0 o 1)
+     */
+    public void update(int x, int y, int dirX, int dirY) {
+        int cx = Math.floorDiv(x, tamChunk);
+        int cy = Math.floorDiv(y, tamChunk);
+        // Se toca el chunk actual antes y después de recoger: así nunca es
+        // el más viejo cuando las precargas entran a la caché
+        getChunk(cx, cy);
+        recogerPrecargas(cx, cy, dirX, dirY);
+        getChunk(cx, cy);
+
+        if (precarga == null || (dirX == 0 && dirY == 0)) {
+            return;
+        }
+        for (int k = 1; k <= adelante(); k++) {
+            pedir(cx + dirX * k, cy + dirY * k);
+        }
+    }
+
+    // Nunca se pide más de lo que entra en el presupuesto junto al actual
+    private int adelante() {
+        return Math.min(distanciaPrecarga, presupuesto - 1);
+    }
+
+    private void pedir(int cx, int cy) {
+        long clave = clave(cx, cy);
+        if (cache.containsKey(clave) || pendientes.containsKey(clave)) {
+            return;
+        }
+        pendientes.put(clave, CompletableFuture.supplyAsync(() -> source.load(cx, cy, tamChunk), precarga));
+    }
+
+    /**
+     * Pasa a la caché las precargas terminadas. Con dirección de marcha, las
+     * que ya no están adelante se descartan (y se cancelan si no terminaron)
+     * para que no desalojen chunks que sí se van a usar.
+     */
+    private void recogerPrecargas(int cx, int cy, int dirX, int dirY) {
+        boolean filtrar = dirX != 0 || dirY != 0;
+        Iterator<Map.Entry<Long, CompletableFuture<Chunk>>> it = pendientes.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Long, CompletableFuture<Chunk>> e = it.next();
+            CompletableFuture<Chunk> f = e.getValue();
+            long clave = e.getKey();
+            if (filtrar && !estaAdelante((int) (clave >> 32), (int) clave, cx, cy, dirX, dirY)) {
+                it.remove();
+                f.cancel(false);
+            } else if (f.isDone()) {
+                it.remove();
+                if (!f.isCompletedExceptionally()) {
+                    cache.put(clave, f.join());
+                }
+            }
+        }
+    }
+
+    private boolean estaAdelante(int kx, int ky, int cx, int cy, int dirX, int dirY) {
+        int dx = kx - cx;
+        int dy = ky - cy;
+        int k = dirX != 0 ? dx * dirX : dy * dirY;
+        return k >= 1 && k <= adelante() && dx == dirX * k && dy == dirY * k;
+    }
+
+    /**
+     * Chunk (cx, cy): desde la caché, desde una precarga en curso (espera a
+     * que termine) o cargándolo en el momento. Si la precarga falló se
+     * vuelve a cargar en el hilo del juego.
+     */
+    public Chunk getChunk(int cx, int cy) {
+        long clave = clave(cx, cy);
+        Chunk chunk = cache.get(clave);
+        if (chunk != null) {
+            return chunk;
+        }
+        CompletableFuture<Chunk> pendiente = pendientes.remove(clave);
+        if (pendiente != null) {
+            try {
+                chunk = pendiente.join();
+            } catch (CompletionException | CancellationException e) {
+                chunk = null;
+            }
+        }
+        if (chunk == null) {
+            chunk = source.load(cx, cy, tamChunk);
+            cargasSincronicas++;
+        }
+        cache.put(clave, chunk);
+        return chunk;
+    }
+
+    /**
+     * Tipo de tile en coordenadas de mundo.
+     */
+    public int getTile(int x, int y) {
+        Chunk c = getChunk(Math.floorDiv(x, tamChunk), Math.floorDiv(y, tamChunk));
+        return c.getTile(Math.floorMod(x, tamChunk), Math.floorMod(y, tamChunk));
+    }
+
+    /**
+     * Bloqueo en coordenadas de mundo.
+     */
+    public boolean isBlocked(int x, int y) {
+        Chunk c = getChunk(Math.floorDiv(x, tamChunk), Math.floorDiv(y, tamChunk));
+        return c.isBlocked(Math.floorMod(x, tamChunk), Math.floorMod(y, tamChunk));
+    }
+
+    /**
+     * @return true si el chunk ya está en memoria (sin contar precargas sin recoger)
+     */
+    public boolean isLoaded(int cx, int cy) {
+        return cache.containsKey(clave(cx, cy));
+    }
+
+    private static long clave(int cx, int cy) {
+        return ((long) cx << 32) | (cy & 0xFFFFFFFFL);
+    }
+
+    public int getCargados() {
+        return cache.size();
+    }
+
+    public int getPendientes() {
+        return pendientes.size();
+    }
+
+    /**
+     * Chunks que hubo que cargar en el hilo del juego por no estar precargados.
+     */
+    public int getCargasSincronicas() {
+        return cargasSincronicas;
+    }
+
+    public int getDesalojos() {
+        return desalojos;
+    }
+
+    public int getTamChunk() {
+        return tamChunk;
+    }
+}
@@ -0,0 +1,240 @@
+package org.oniteam.oregontrailfx.model;
+
+import java.nio.LongBuffer;
+import java.util.Arrays;
+
+/**
+ * Capa de colisión del mapa: un bit por celda (fila por fila) en un
+ * {@code long[]}. Un mapa de 4096x4096 ocupa 2 MB.
+ * Además de la consulta por celda permite consultas en bloque de a 64
+ * celdas por palabra (rectángulos, conteos) y combinarse con otras máscaras
+ * del mismo tamaño, por ejemplo la ocupación de enemigos.
+ */
+public class CollisionLayer {
+
+    private final int width;
+    private final int height;
+    private final long[] palabras;
+
+    public CollisionLayer(int width, int height) {
+        this(width, height, new long[palabras(width, height)]);
+    }
+
+    /**
+     * @param palabras bit i = celda (i % width, i / width) bloqueada; se usa sin copiar
+     */
+    public CollisionLayer(int width, int height, long[] palabras) {
+        if (width < 0 || height < 0 || palabras.length != palabras(width, height)) {
+            throw new IllegalArgumentException("Capa de colisión inválida para " + width + "x" + height);
+        }
+        this.width = width;
+        this.height = height;
+        this.palabras = palabras;
+    }
+
+    /**
+     * Copia una capa desde un buffer (por ejemplo, la sección de colisión de
+     * un archivo de mapa).
+     */
+    public static CollisionLayer read(int width, int height, LongBuffer origen) {
+        long[] palabras = new long[palabras(width, height)];
+        origen.get(palabras);
+        return new CollisionLayer(width, height, palabras);
+    }
+
+    /**
+     * Escribe las palabras de la capa en un buffer.
+     */
+    public void write(LongBuffer destino) {
+        destino.put(palabras);
+    }
+
+    /**
+     * Cantidad de palabras que ocupa una capa de ese tamaño.
+     */
+    public static int palabras(int width, int height) {
+        return (int) (((long) width * height + 63) >>> 6);
+    }
+
+    /**
+     * @return true si la celda está dentro de la capa y bloqueada
+     */
+    public boolean isBlocked(int x, int y) {
+        if (!dentro(x, y)) {
+            return false;
+        }
+        int i = y * width + x;
+        return (palabras[i >>> 6] & (1L << i)) != 0;
+    }
+
+    public void set(int x, int y, boolean blocked) {
+        int i = y * width + x;
+        if (blocked) {
+            palabras[i >>> 6] |= 1L << i;
+        } else {
+            palabras[i >>> 6] &= ~(1L << i);
+        }
+    }
+
+    /**
+     * ¿Hay alguna celda bloqueada en el rectángulo [x0, x1] x [y0, y1]?
+     * Recorre cada fila de a 64 celdas por palabra; lo que cae fuera de la
+     * capa se ignora.
+     */
+    public boolean anyBlocked(int x0, int y0, int x1, int y1) {
+        x0 = Math.max(0, x0);
+        y0 = Math.max(0, y0);
+        x1 = Math.min(width - 1, x1);
+        y1 = Math.min(height - 1, y1);
+        for (int y = y0; y <= y1 && x0 <= x1; y++) {
+            if (contarFila(y * width + x0, y * width + x1, true) > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Celdas bloqueadas en el rectángulo [x0, x1] x [y0, y1].
+     */
+    public int countBlocked(int x0, int y0, int x1, int y1) {
+        x0 = Math.max(0, x0);
+        y0 = Math.max(0, y0);
+        x1 = Math.min(width - 1, x1);
+        y1 = Math.min(height - 1, y1);
+        int cont = 0;
+        for (int y = y0; y <= y1 && x0 <= x1; y++) {
+            cont += contarFila(y * width + x0, y * width + x1, false);
+        }
+        return cont;
+    }
+
+    /**
+     * Cuenta los bits del rango de celdas [desde, hasta] con una máscara por
+     * palabra. Con {@code alPrimero} corta en la primera palabra con bits.
+     */
+    private int contarFila(int desde, int hasta, boolean alPrimero) {
+        int pDesde = desde >>> 6;
+        int pHasta = hasta >>> 6;
+        int cont = 0;
+        for (int p = pDesde; p <= pHasta; p++) {
+            long mascara = -1L;
+            if (p == pDesde) {
+                mascara &= -1L << desde;
+            }
+            if (p == pHasta) {
+                mascara &= -1L >>> (63 - (hasta & 63));
+            }
+            cont += Long.bitCount(palabras[p] & mascara);
+            if (alPrimero && cont > 0) {
+                return cont;
+            }
+        }
+        return cont;
+    }
+
+    public int countBlocked() {
+        int cont = 0;
+        for (long p : palabras) {
+            cont += Long.bitCount(p);
+        }
+        return cont;
+    }
+
+    public int countWalkable() {
+        return width * height - countBlocked();
+    }
+
+    /**
+     * Primera celda bloqueada desde {@code desde} inclusive.
+     *
+     * @return índice y * width + x, o -1 si no hay más
+     */
+    public int nextBlocked(int desde) {
+        int total = width * height;
+        if (desde >= total) {
+            return -1;
+        }
+        int p = desde >>> 6;
+        long palabra = palabras[p] & (-1L << desde);
+        while (true) {
+            if (palabra != 0) {
+                int i = (p << 6) + Long.numberOfTrailingZeros(palabra);
+                return i < total ? i : -1;
+            }
+            if (++p == palabras.length) {
+                return -1;
+            }
+            palabra = palabras[p];
+        }
+    }
+
+    /**
+     * Unión en el lugar: bloquea también las celdas bloqueadas en {@code otra}.
+     */
+    public void or(CollisionLayer otra) {
+        mismoTamanio(otra);
+        for (int p = 0; p < palabras.length; p++) {
+            palabras[p] |= otra.palabras[p];
+        }
+    }
+
+    /**
+     * Intersección en el lugar.
+     */
+    public void and(CollisionLayer otra) {
+        mismoTamanio(otra);
+        for (int p = 0; p < palabras.length; p++) {
+            palabras[p] &= otra.palabras[p];
+        }
+    }
+
+    /**
+     * Libera las celdas bloqueadas en {@code otra}.
+     */
+    public void andNot(CollisionLayer otra) {
+        mismoTamanio(otra);
+        for (int p = 0; p < palabras.length; p++) {
+            palabras[p] &= ~otra.palabras[p];
+        }
+    }
+
+    /**
+     * ¿Comparten alguna celda bloqueada? No crea la intersección.
+     */
+    public boolean intersects(CollisionLayer otra) {
+        mismoTamanio(otra);
+        for (int p = 0; p < palabras.length; p++) {
+            if ((palabras[p] & otra.palabras[p]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public CollisionLayer copy() {
+        return new CollisionLayer(width, height, palabras.clone());
+    }
+
+    public void clear() {
+        Arrays.fill(palabras, 0L);
+    }
+
+    private void mismoTamanio(CollisionLayer otra) {
+        if (otra.width != width || otra.height != height) {
+            throw new IllegalArgumentException("Las capas deben tener el mismo tamaño");
+        }
+    }
+
+    private boolean dentro(int x, int y) {
+        return x >= 0 && y >= 0 && x < width && y < height;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+}
@@ -7,6 +7,10 @@ public class Enemy {
     private int y;
     private EnemyState state = EnemyState.IDLE;
 
+    // Índice espacial opcional que se actualiza al moverse
+    private SpatialGrid grid;
+    private int gridId = -1;
+
     public Enemy(int x, int y){
         this.x = x;
         this.y = y;
@@ -23,6 +27,31 @@ public class Enemy {
     public void setPosition(int nx, int ny){
         this.x = nx;
         this.y = ny;
+        if (grid != null){
+            grid.move(gridId, nx, ny);
+        }
+    }
+
+    /**
+     * Registra al enemigo en un índice espacial; desde entonces cada
+     * setPosition actualiza el índice de forma incremental.
+     *
+     * @param grid índice espacial
+     * @param id identificador del enemigo dentro del índice
+     */
+    public void attachGrid(SpatialGrid grid, int id){
+        detachGrid();
+        this.grid = grid;
+        this.gridId = id;
+        grid.insert(id, x, y);
+    }
+
+    public void detachGrid(){
+        if (grid != null){
+            grid.remove(gridId);
+        }
+        this.grid = null;
+        this.gridId = -1;
     }
 
     public EnemyState getState(){
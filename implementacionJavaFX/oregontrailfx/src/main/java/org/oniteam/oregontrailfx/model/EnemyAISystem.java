@@ -0,0 +1,238 @@
+package org.oniteam.oregontrailfx.model;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * IA de todos los enemigos del almacén en una sola pasada.
+ * La configuración (rango de visión) se fija una vez al crear el sistema;
+ * cada tick compara distancias al cuadrado (sin raíz), obtiene el nuevo
+ * estado de una tabla de transiciones y no crea objetos.
+ * Con muchos enemigos puede repartir la pasada entre varios hilos con
+ * {@link #updateParallel(EnemyStore, Player, FlowField, ForkJoinPool)}.
+ * Con una {@link LineOfSight} registrada solo persiguen los enemigos que
+ * el jugador puede ver (no los que están detrás de una roca).
+ */
+public class EnemyAISystem {
+
+    // Eventos que alimentan la tabla de transiciones
+    public static final int EVENTO_FUERA_DE_RANGO = 0;
+    public static final int EVENTO_EN_RANGO = 1;
+    private static final int CANT_EVENTOS = 2;
+
+    private static final byte IDLE = (byte) EnemyState.IDLE.ordinal();
+    private static final byte PERSEGUIR = (byte) EnemyState.PERSEGUIR.ordinal();
+    private static final byte MUERTO = (byte) EnemyState.MUERTO.ordinal();
+
+    // TRANSICIONES[estado * CANT_EVENTOS + evento] = estado siguiente
+    private static final byte[] TRANSICIONES = new byte[EnemyState.values().length * CANT_EVENTOS];
+
+    static {
+        TRANSICIONES[IDLE * CANT_EVENTOS + EVENTO_FUERA_DE_RANGO] = IDLE;
+        TRANSICIONES[IDLE * CANT_EVENTOS + EVENTO_EN_RANGO] = PERSEGUIR;
+        TRANSICIONES[PERSEGUIR * CANT_EVENTOS + EVENTO_FUERA_DE_RANGO] = IDLE;
+        TRANSICIONES[PERSEGUIR * CANT_EVENTOS + EVENTO_EN_RANGO] = PERSEGUIR;
+        // Un enemigo muerto espera quieto a que lo eliminen al final del tick
+        TRANSICIONES[MUERTO * CANT_EVENTOS + EVENTO_FUERA_DE_RANGO] = MUERTO;
+        TRANSICIONES[MUERTO * CANT_EVENTOS + EVENTO_EN_RANGO] = MUERTO;
+    }
+
+    // Enemigos por tarea hoja en el modo paralelo
+    private static final int UMBRAL_LOTE = 2048;
+
+    private final double rangoVision;
+    private final long rangoVision2;
+
+    // Visibilidad desde el jugador; null = todo lo que está en rango se ve
+    private LineOfSight vision;
+
+    // Buffer del tick siguiente para el modo paralelo
+    private int[] sigX = new int[0];
+    private int[] sigY = new int[0];
+    private byte[] sigEstado = new byte[0];
+
+    public EnemyAISystem(double rangoVision) {
+        this.rangoVision = rangoVision;
+        // d² <= r² con d² entero equivale a d² <= floor(r²)
+        this.rangoVision2 = (long) Math.floor(rangoVision * rangoVision);
+    }
+
+    /**
+     * Actualiza todos los enemigos del almacén.
+     *
+     * @param store almacén de enemigos
+     * @param p jugador
+     * @param field campo de flujo hacia el jugador, o null para perseguir en línea recta
+     */
+    public void update(EnemyStore store, Player p, FlowField field) {
+        int px = p.getX();
+        int py = p.getY();
+        for (int i = 0, n = store.size(); i < n; i++) {
+            actualizar(store, i, px, py, field);
+        }
+    }
+
+    /**
+     * Actualiza solo los enemigos indicados (por ejemplo, el resultado de una
+     * consulta al índice espacial).
+     *
+     * @param store almacén de enemigos
+     * @param handles handles de los enemigos a actualizar
+     * @param count cantidad de handles válidos en el arreglo
+     * @param p jugador
+     * @param field campo de flujo hacia el jugador, o null para perseguir en línea recta
+     */
+    public void update(EnemyStore store, int[] handles, int count, Player p, FlowField field) {
+        int px = p.getX();
+        int py = p.getY();
+        for (int k = 0; k < count; k++) {
+            int i = store.indexOf(handles[k]);
+            if (i >= 0) {
+                actualizar(store, i, px, py, field);
+            }
+        }
+    }
+
+    /**
+     * Aplica un evento a un enemigo sin recalcular distancias (por ejemplo,
+     * FUERA_DE_RANGO para los que salieron de la consulta espacial).
+     */
+    public void apply(EnemyStore store, int i, int evento) {
+        store.setStateOrdinal(i, TRANSICIONES[store.getStateOrdinal(i) * CANT_EVENTOS + evento]);
+    }
+
+    /**
+     * Igual que {@link #update(EnemyStore, Player, FlowField)} pero repartido
+     * en lotes sobre un ForkJoinPool. Cada lote solo lee las posiciones del
+     * tick anterior (el almacén) y escribe en el buffer del tick siguiente,
+     * así que no hay carreras ni locks. Al terminar, el buffer se copia al
+     * almacén (y al índice espacial) en un solo hilo.
+     * Como cada enemigo decide solo con su propia posición anterior, el
+     * resultado es idéntico al de la pasada secuencial con cualquier cantidad
+     * de hilos.
+     */
+    public void updateParallel(EnemyStore store, Player p, FlowField field, ForkJoinPool pool) {
+        int n = store.size();
+        if (n <= UMBRAL_LOTE) {
+            update(store, p, field);
+            return;
+        }
+        if (sigX.length < n) {
+            int capacidad = Math.max(n, sigX.length * 2);
+            sigX = Arrays.copyOf(sigX, capacidad);
+            sigY = Arrays.copyOf(sigY, capacidad);
+            sigEstado = Arrays.copyOf(sigEstado, capacidad);
+        }
+
+        pool.invoke(new Lote(store, p.getX(), p.getY(), field, 0, n));
+
+        for (int i = 0; i < n; i++) {
+            store.setStateOrdinal(i, sigEstado[i]);
+            if (sigX[i] != store.getX(i) || sigY[i] != store.getY(i)) {
+                store.setPosition(i, sigX[i], sigY[i]);
+            }
+        }
+    }
+
+    private void actualizar(EnemyStore store, int i, int px, int py, FlowField field) {
+        int ex = store.getX(i);
+        int ey = store.getY(i);
+        byte estado = siguienteEstado(store.getStateOrdinal(i), ex, ey, px, py);
+        store.setStateOrdinal(i, estado);
+
+        if (estado != PERSEGUIR) {
+            return;
+        }
+        if (field == null) {
+            store.setPosition(i, ex + Integer.signum(px - ex), ey + Integer.signum(py - ey));
+            return;
+        }
+        int paso = field.nextStep(ex, ey);
+        if (paso != FlowField.SIN_CAMINO) {
+            store.setPosition(i, paso % field.getWidth(), paso / field.getWidth());
+        }
+    }
+
+    /**
+     * Versión del modo paralelo: lee del almacén y escribe en el buffer siguiente.
+     */
+    private void calcular(EnemyStore store, int i, int px, int py, FlowField field) {
+        int ex = store.getX(i);
+        int ey = store.getY(i);
+        byte estado = siguienteEstado(store.getStateOrdinal(i), ex, ey, px, py);
+        sigEstado[i] = estado;
+        sigX[i] = ex;
+        sigY[i] = ey;
+
+        if (estado != PERSEGUIR) {
+            return;
+        }
+        if (field == null) {
+            sigX[i] = ex + Integer.signum(px - ex);
+            sigY[i] = ey + Integer.signum(py - ey);
+            return;
+        }
+        int paso = field.nextStep(ex, ey);
+        if (paso != FlowField.SIN_CAMINO) {
+            sigX[i] = paso % field.getWidth();
+            sigY[i] = paso / field.getWidth();
+        }
+    }
+
+    private byte siguienteEstado(byte actual, int ex, int ey, int px, int py) {
+        long dx = px - ex;
+        long dy = py - ey;
+        boolean enRango = dx * dx + dy * dy <= rangoVision2
+                && (vision == null || vision.isVisibleFromPlayer(ex, ey));
+        int evento = enRango ? EVENTO_EN_RANGO : EVENTO_FUERA_DE_RANGO;
+        return TRANSICIONES[actual * CANT_EVENTOS + evento];
+    }
+
+    /**
+     * Divide el rango de enemigos [desde, hasta) hasta llegar al umbral.
+     */
+    private class Lote extends RecursiveAction {
+        private final EnemyStore store;
+        private final int px;
+        private final int py;
+        private final FlowField field;
+        private final int desde;
+        private final int hasta;
+
+        Lote(EnemyStore store, int px, int py, FlowField field, int desde, int hasta) {
+            this.store = store;
+            this.px = px;
+            this.py = py;
+            this.field = field;
+            this.desde = desde;
+            this.hasta = hasta;
+        }
+
+        @Override
+        protected void compute() {
+            if (hasta - desde <= UMBRAL_LOTE) {
+                for (int i = desde; i < hasta; i++) {
+                    calcular(store, i, px, py, field);
+                }
+                return;
+            }
+            int medio = (desde + hasta) >>> 1;
+            invokeAll(new Lote(store, px, py, field, desde, medio),
+                    new Lote(store, px, py, field, medio, hasta));
+        }
+    }
+
+    /**
+     * Exige línea de visión además de distancia para perseguir. Quien la
+     * registra debe llamar a {@link LineOfSight#update(int, int)} con la
+     * posición del jugador antes de cada pasada.
+     */
+    public void setLineOfSight(LineOfSight vision) {
+        this.vision = vision;
+    }
+
+    public double getRangoVision() {
+        return rangoVision;
+    }
+}
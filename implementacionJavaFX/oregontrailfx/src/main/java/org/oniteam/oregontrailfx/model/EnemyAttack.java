@@ -16,4 +16,45 @@ public class EnemyAttack {
         }
         return false;
     }
+
+    /**
+     * Aplica el daño de los enemigos que están en la celda del jugador,
+     * consultando solo esa celda del índice espacial y respetando la
+     * cadencia: cada enemigo de la celda ataca una vez y entra en cooldown
+     * por cadenceMs de tiempo de juego.
+     *
+     * @param cooldowns rueda de temporizadores del motor
+     * @param tipoCooldown tipo de cooldown usado para los ataques
+     * @param buffer arreglo auxiliar para los handles de la celda
+     * @return cantidad de enemigos que atacaron
+     */
+    public int tryAttack(SpatialGrid grid, Player p, TimerWheel cooldowns, int tipoCooldown, int[] buffer){
+        int enCelda = Math.min(grid.queryCell(p.getX(), p.getY(), buffer), buffer.length);
+        long ticks = getCadenceTicks();
+        int atacantes = 0;
+        for (int k = 0; k < enCelda; k++){
+            if (cooldowns.startCooldown(tipoCooldown, buffer[k], ticks)){
+                atacantes++;
+            }
+        }
+        if (atacantes > 0){
+            p.damage(damage * atacantes);
+        }
+        return atacantes;
+    }
+
+    /**
+     * Cadencia de ataque en ticks del motor (mínimo 1).
+     */
+    public long getCadenceTicks(){
+        return Math.max(1, GameEngine.msATicks(cadenceMs));
+    }
+
+    public int getDamage(){
+        return damage;
+    }
+
+    public int getCadenceMs(){
+        return cadenceMs;
+    }
 }
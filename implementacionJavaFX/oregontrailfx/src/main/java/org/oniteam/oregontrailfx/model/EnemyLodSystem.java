@@ -0,0 +1,202 @@
+package org.oniteam.oregontrailfx.model;
+
+import java.util.Arrays;
+
+/**
+ * Nivel de detalle (LOD) de la simulación de enemigos según la distancia al
+ * jugador:
+ * <ul>
+ *   <li>CERCA (dentro del rango de visión): IA completa en cada tick; la
+ *       maneja {@link EnemyAISystem}, este sistema solo lleva la cuenta.</li>
+ *   <li>MEDIO (dentro del rango de rastreo): se evalúa solo una vez cada
+ *       {@code ticksBarrido} ticks, en un barrido rotativo.</li>
+ *   <li>LEJOS: solo se revisa cada {@value #BARRIDOS_LEJOS} barridos para ver
+ *       si cambió de nivel.</li>
+ * </ul>
+ * Fuera del rango de visión los enemigos se quedan quietos, como siempre.
+ * Con {@link #setRastreo(boolean)} activado, los de nivel MEDIO además se
+ * acercan al jugador por el campo de flujo a paso lento. Ese avance se
+ * calcula por tiempo transcurrido: cuando un enemigo se evalúa (o entra al
+ * rango de visión) recupera los pasos que le tocaban desde su último avance,
+ * así su velocidad no depende de cada cuánto se lo mira.
+ */
+public class EnemyLodSystem {
+
+    public static final byte NIVEL_CERCA = 0;
+    public static final byte NIVEL_MEDIO = 1;
+    public static final byte NIVEL_LEJOS = 2;
+
+    // Cada cuántos barridos se revisa un enemigo lejano
+    private static final int BARRIDOS_LEJOS = 4;
+    // Pasos máximos que se recuperan de una vez (evita saltos largos)
+    private static final int MAX_PASOS_RECUPERACION = 4;
+
+    private final long rangoVision2;
+    private final long rangoRastreo2;
+    private final int ticksPorPaso;
+    private final int ticksBarrido;
+    // Rastreo lento en nivel MEDIO (apagado: nadie se mueve fuera de la visión)
+    private boolean rastreo;
+
+    // Datos por handle
+    private byte[] nivel = new byte[64];
+    private long[] ultimoAvance = new long[64];
+    private long[] ultimaEvaluacion = new long[64];
+
+    private int cursor;
+
+    /**
+     * @param rangoVision distancia de persecución completa
+     * @param rangoRastreo límite del nivel MEDIO (y del rastreo, si está activado)
+     * @param ticksPorPaso ticks entre pasos de rastreo
+     * @param ticksBarrido ticks que tarda el barrido en pasar por todos los enemigos
+     */
+    public EnemyLodSystem(double rangoVision, double rangoRastreo, int ticksPorPaso, int ticksBarrido) {
+        this.rangoVision2 = (long) Math.floor(rangoVision * rangoVision);
+        this.rangoRastreo2 = (long) Math.floor(rangoRastreo * rangoRastreo);
+        this.ticksPorPaso = Math.max(1, ticksPorPaso);
+        this.ticksBarrido = Math.max(1, ticksBarrido);
+    }
+
+    /**
+     * Evalúa la porción del barrido que corresponde a este tick
+     * (aproximadamente size / ticksBarrido enemigos).
+     */
+    public void update(EnemyStore store, Player p, FlowField field, long tick) {
+        int n = store.size();
+        if (n == 0) {
+            return;
+        }
+        int cuota = (n + ticksBarrido - 1) / ticksBarrido;
+        int px = p.getX();
+        int py = p.getY();
+        for (int k = 0; k < cuota; k++) {
+            if (cursor >= n) {
+                cursor = 0;
+            }
+            evaluar(store, cursor++, px, py, field, tick);
+        }
+    }
+
+    private void evaluar(EnemyStore store, int i, int px, int py, FlowField field, long tick) {
+        int handle = store.handleAt(i);
+        asegurarCapacidad(handle);
+        if (store.getState(i) == EnemyState.MUERTO) {
+            return;
+        }
+        if (nivel[handle] == NIVEL_LEJOS
+                && tick - ultimaEvaluacion[handle] < (long) ticksBarrido * BARRIDOS_LEJOS) {
+            return;
+        }
+        ultimaEvaluacion[handle] = tick;
+
+        long d2 = dist2(store.getX(i), store.getY(i), px, py);
+        if (d2 <= rangoVision2) {
+            // El motor lo actualiza a velocidad completa en este mismo tick
+            nivel[handle] = NIVEL_CERCA;
+            ultimoAvance[handle] = tick;
+        } else if (d2 <= rangoRastreo2) {
+            if (nivel[handle] != NIVEL_MEDIO) {
+                nivel[handle] = NIVEL_MEDIO;
+                ultimoAvance[handle] = Math.max(ultimoAvance[handle], tick - ticksPorPaso);
+            }
+            if (rastreo) {
+                recuperar(store, i, handle, px, py, field, tick, true);
+            }
+        } else {
+            nivel[handle] = NIVEL_LEJOS;
+            ultimoAvance[handle] = tick;
+        }
+    }
+
+    /**
+     * Avanza por el campo de flujo los pasos de rastreo pendientes desde el
+     * último avance.
+     *
+     * @param frenarEnVision true para no entrar al rango de visión (ahí manda la IA)
+     */
+    private void recuperar(EnemyStore store, int i, int handle, int px, int py, FlowField field, long tick,
+                           boolean frenarEnVision) {
+        long pendientes = (tick - ultimoAvance[handle]) / ticksPorPaso;
+        if (pendientes <= 0) {
+            return;
+        }
+        int pasos = (int) Math.min(pendientes, MAX_PASOS_RECUPERACION);
+        ultimoAvance[handle] = pendientes > MAX_PASOS_RECUPERACION ? tick : ultimoAvance[handle] + pasos * (long) ticksPorPaso;
+
+        int x = store.getX(i);
+        int y = store.getY(i);
+        int ancho = field.getWidth();
+        for (int k = 0; k < pasos; k++) {
+            int paso = field.nextStep(x, y);
+            if (paso == FlowField.SIN_CAMINO
+                    || (frenarEnVision && dist2(paso % ancho, paso / ancho, px, py) <= rangoVision2)) {
+                break;
+            }
+            x = paso % ancho;
+            y = paso / ancho;
+        }
+        if (x != store.getX(i) || y != store.getY(i)) {
+            store.setPosition(i, x, y);
+        }
+    }
+
+    /**
+     * Llamar cuando un enemigo está dentro del rango de visión, antes de la
+     * IA completa: si venía en un nivel reducido recupera el rastreo pendiente
+     * y desde ahí queda en CERCA.
+     */
+    public void enterRange(EnemyStore store, int handle, Player p, FlowField field, long tick) {
+        int i = store.indexOf(handle);
+        if (i < 0) {
+            return;
+        }
+        asegurarCapacidad(handle);
+        if (rastreo && nivel[handle] == NIVEL_MEDIO) {
+            recuperar(store, i, handle, p.getX(), p.getY(), field, tick, false);
+        }
+        nivel[handle] = NIVEL_CERCA;
+        ultimoAvance[handle] = tick;
+        ultimaEvaluacion[handle] = tick;
+    }
+
+    /**
+     * Reinicia los datos de un handle recién spawneado (los handles se reutilizan).
+     */
+    public void reset(int handle, long tick) {
+        asegurarCapacidad(handle);
+        nivel[handle] = NIVEL_LEJOS;
+        ultimoAvance[handle] = tick;
+        ultimaEvaluacion[handle] = Long.MIN_VALUE / 2;
+    }
+
+    /**
+     * Activa el rastreo lento de los enemigos de nivel MEDIO (apagado por defecto).
+     */
+    public void setRastreo(boolean rastreo) {
+        this.rastreo = rastreo;
+    }
+
+    public boolean isRastreo() {
+        return rastreo;
+    }
+
+    public byte getNivel(int handle) {
+        return handle < nivel.length ? nivel[handle] : NIVEL_CERCA;
+    }
+
+    private void asegurarCapacidad(int handle) {
+        if (handle >= nivel.length) {
+            int cap = Math.max(handle + 1, nivel.length * 2);
+            nivel = Arrays.copyOf(nivel, cap);
+            ultimoAvance = Arrays.copyOf(ultimoAvance, cap);
+            ultimaEvaluacion = Arrays.copyOf(ultimaEvaluacion, cap);
+        }
+    }
+
+    private static long dist2(int x, int y, int px, int py) {
+        long dx = x - px;
+        long dy = y - py;
+        return dx * dx + dy * dy;
+    }
+}
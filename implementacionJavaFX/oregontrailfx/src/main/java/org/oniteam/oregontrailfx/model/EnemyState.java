@@ -2,5 +2,7 @@ package org.oniteam.oregontrailfx.model;
 
 public enum EnemyState {
     IDLE,
-    PERSEGUIR
+    PERSEGUIR,
+    // Marcado para eliminar al final del tick; ya no actúa ni colisiona
+    MUERTO
 }
@@ -0,0 +1,283 @@
+package org.oniteam.oregontrailfx.model;
+
+import java.util.Arrays;
+
+/**
+ * Almacén denso de enemigos en arreglos paralelos de primitivos
+ * (struct-of-arrays): x, y, estado y tipo.
+ * Los enemigos vivos ocupan los índices [0, size()) sin huecos, así que
+ * recorrerlos es un barrido secuencial sin seguir punteros.
+ * Cada enemigo recibe además un handle entero estable: sigue siendo válido
+ * aunque el enemigo cambie de índice por un swap-remove.
+ * Agregar, eliminar y contar cuestan O(1).
+ * Los enemigos que mueren durante un tick se marcan con {@link #kill(int)}
+ * y se eliminan todos juntos con {@link #flushRemovals()} al final del tick,
+ * así los índices no cambian mientras otros sistemas recorren el almacén.
+ */
+public class EnemyStore {
+
+    public static final byte SIN_TIPO = -1;
+    private static final EnemyState[] ESTADOS = EnemyState.values();
+    private static final TypeEnemy[] TIPOS = TypeEnemy.values();
+    private static final byte MUERTO = (byte) EnemyState.MUERTO.ordinal();
+
+    // Datos por índice denso
+    private int[] x;
+    private int[] y;
+    private byte[] state;
+    private byte[] type;
+    private int[] indexToHandle;
+
+    // Mapeo handle -> índice (-1 si el handle está libre)
+    private int[] handleToIndex;
+    private int[] handlesLibres;
+    private int cantLibres;
+    private int siguienteHandle;
+
+    private int size;
+
+    // Handles muertos pendientes de eliminar al final del tick
+    private int[] pendientes;
+    private int cantPendientes;
+
+    // Índice espacial opcional, se mantiene al agregar, mover y eliminar
+    private SpatialGrid grid;
+
+    public EnemyStore() {
+        this(64);
+    }
+
+    /**
+     * @param capacidadInicial cantidad de enemigos antes de tener que crecer
+     */
+    public EnemyStore(int capacidadInicial) {
+        int cap = Math.max(1, capacidadInicial);
+        x = new int[cap];
+        y = new int[cap];
+        state = new byte[cap];
+        type = new byte[cap];
+        indexToHandle = new int[cap];
+        handleToIndex = new int[cap];
+        handlesLibres = new int[cap];
+        pendientes = new int[cap];
+        Arrays.fill(handleToIndex, -1);
+    }
+
+    /**
+     * Agrega un enemigo en estado IDLE.
+     *
+     * @param ex posición x (celda)
+     * @param ey posición y (celda)
+     * @param tipo tipo de enemigo (puede ser null)
+     * @return handle estable del enemigo
+     */
+    public int add(int ex, int ey, TypeEnemy tipo) {
+        if (size == x.length) {
+            crecer();
+        }
+
+        int handle = cantLibres > 0 ? handlesLibres[--cantLibres] : siguienteHandle++;
+        if (handle >= handleToIndex.length) {
+            int anterior = handleToIndex.length;
+            handleToIndex = Arrays.copyOf(handleToIndex, anterior * 2);
+            Arrays.fill(handleToIndex, anterior, handleToIndex.length, -1);
+        }
+
+        int i = size++;
+        x[i] = ex;
+        y[i] = ey;
+        state[i] = (byte) EnemyState.IDLE.ordinal();
+        type[i] = tipo == null ? SIN_TIPO : (byte) tipo.ordinal();
+        indexToHandle[i] = handle;
+        handleToIndex[handle] = i;
+        if (grid != null) {
+            grid.insert(handle, ex, ey);
+        }
+        return handle;
+    }
+
+    /**
+     * Elimina un enemigo moviendo el último a su lugar (swap-remove).
+     *
+     * @param handle handle del enemigo
+     * @return true si el handle estaba vivo
+     */
+    public boolean remove(int handle) {
+        if (!isAlive(handle)) {
+            return false;
+        }
+
+        int i = handleToIndex[handle];
+        int ultimo = --size;
+        if (i != ultimo) {
+            x[i] = x[ultimo];
+            y[i] = y[ultimo];
+            state[i] = state[ultimo];
+            type[i] = type[ultimo];
+            int handleMovido = indexToHandle[ultimo];
+            indexToHandle[i] = handleMovido;
+            handleToIndex[handleMovido] = i;
+        }
+
+        handleToIndex[handle] = -1;
+        if (grid != null) {
+            grid.remove(handle);
+        }
+        if (cantLibres == handlesLibres.length) {
+            handlesLibres = Arrays.copyOf(handlesLibres, cantLibres * 2);
+        }
+        handlesLibres[cantLibres++] = handle;
+        return true;
+    }
+
+    /**
+     * Marca un enemigo como MUERTO y lo saca del índice espacial (ya no
+     * colisiona); sigue ocupando su índice hasta {@link #flushRemovals()}.
+     *
+     * @return true si estaba vivo y no estaba ya marcado
+     */
+    public boolean kill(int handle) {
+        int i = indexOf(handle);
+        if (i < 0 || state[i] == MUERTO) {
+            return false;
+        }
+        state[i] = MUERTO;
+        if (grid != null) {
+            grid.remove(handle);
+        }
+        if (cantPendientes == pendientes.length) {
+            pendientes = Arrays.copyOf(pendientes, cantPendientes * 2);
+        }
+        pendientes[cantPendientes++] = handle;
+        return true;
+    }
+
+    /**
+     * Elimina en lote los enemigos marcados con {@link #kill(int)}.
+     *
+     * @return cantidad de enemigos eliminados
+     */
+    public int flushRemovals() {
+        int eliminados = cantPendientes;
+        for (int k = 0; k < cantPendientes; k++) {
+            remove(pendientes[k]);
+        }
+        cantPendientes = 0;
+        return eliminados;
+    }
+
+    public int getPendingRemovals() {
+        return cantPendientes;
+    }
+
+    /**
+     * Elimina todos los enemigos.
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            handleToIndex[indexToHandle[i]] = -1;
+        }
+        size = 0;
+        cantLibres = 0;
+        cantPendientes = 0;
+        siguienteHandle = 0;
+        if (grid != null) {
+            grid.clear();
+        }
+    }
+
+    /**
+     * Asocia un índice espacial (los ids del índice son los handles) y le
+     * carga los enemigos actuales.
+     *
+     * @param grid índice a mantener, o null para dejar de mantenerlo
+     */
+    public void setGrid(SpatialGrid grid) {
+        this.grid = grid;
+        if (grid != null) {
+            grid.clear();
+            for (int i = 0; i < size; i++) {
+                grid.insert(indexToHandle[i], x[i], y[i]);
+            }
+        }
+    }
+
+    public SpatialGrid getGrid() {
+        return grid;
+    }
+
+    private void crecer() {
+        int cap = x.length * 2;
+        x = Arrays.copyOf(x, cap);
+        y = Arrays.copyOf(y, cap);
+        state = Arrays.copyOf(state, cap);
+        type = Arrays.copyOf(type, cap);
+        indexToHandle = Arrays.copyOf(indexToHandle, cap);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean isAlive(int handle) {
+        return handle >= 0 && handle < handleToIndex.length && handleToIndex[handle] >= 0;
+    }
+
+    /**
+     * @return índice denso actual del handle, o -1 si no está vivo
+     */
+    public int indexOf(int handle) {
+        return isAlive(handle) ? handleToIndex[handle] : -1;
+    }
+
+    public int handleAt(int index) {
+        return indexToHandle[index];
+    }
+
+    // ========== ACCESO POR ÍNDICE DENSO ==========
+
+    public int getX(int index) {
+        return x[index];
+    }
+
+    public int getY(int index) {
+        return y[index];
+    }
+
+    public void setPosition(int index, int nx, int ny) {
+        x[index] = nx;
+        y[index] = ny;
+        if (grid != null) {
+            grid.move(indexToHandle[index], nx, ny);
+        }
+    }
+
+    public EnemyState getState(int index) {
+        return ESTADOS[state[index]];
+    }
+
+    public void setState(int index, EnemyState s) {
+        state[index] = (byte) s.ordinal();
+    }
+
+    public byte getStateOrdinal(int index) {
+        return state[index];
+    }
+
+    public void setStateOrdinal(int index, byte s) {
+        state[index] = s;
+    }
+
+    /**
+     * @return tipo del enemigo o null si no tiene
+     */
+    public TypeEnemy getType(int index) {
+        byte t = type[index];
+        return t == SIN_TIPO ? null : TIPOS[t];
+    }
+
+}
@@ -0,0 +1,162 @@
+package org.oniteam.oregontrailfx.model;
+
+import java.util.Arrays;
+
+/**
+ * Campo de flujo compartido hacia el jugador.
+ * Un solo BFS desde la celda del jugador sobre las celdas transitables del
+ * mapa guarda, para cada celda, la dirección del siguiente paso hacia él.
+ * Los enemigos solo leen su siguiente paso en O(1), así que el costo de
+ * perseguir se paga una vez por movimiento del jugador y no una vez por
+ * enemigo por tick. Respeta los obstáculos de {@link MapLoader#isBlocked}.
+ */
+public class FlowField {
+
+    public static final int SIN_CAMINO = -1;
+    private static final byte SIN_DIRECCION = -1;
+
+    // 8 vecinos: primero los ortogonales, luego las diagonales
+    private static final int[] DX = {1, -1, 0, 0, 1, 1, -1, -1};
+    private static final int[] DY = {0, 0, 1, -1, 1, -1, 1, -1};
+
+    private final MapLoader map;
+    private final int width;
+    private final int height;
+    private final int[] distancia;
+    private final byte[] direccion;
+    private final int[] cola;
+
+    private int objetivoX = Integer.MIN_VALUE;
+    private int objetivoY = Integer.MIN_VALUE;
+    private boolean sucio = true;
+    private int versionMapa;
+
+    public FlowField(MapLoader map, int width, int height) {
+        this.map = map;
+        this.width = width;
+        this.height = height;
+        int celdas = width * height;
+        this.distancia = new int[celdas];
+        this.direccion = new byte[celdas];
+        this.cola = new int[celdas];
+    }
+
+    /**
+     * Recalcula el campo si el objetivo cambió de celda, si cambió el bloqueo
+     * del mapa o si se invalidó.
+     *
+     * @return true si se recalculó
+     */
+    public boolean update(int tx, int ty) {
+        if (!sucio && tx == objetivoX && ty == objetivoY && versionMapa == map.getVersion()) {
+            return false;
+        }
+        objetivoX = tx;
+        objetivoY = ty;
+        versionMapa = map.getVersion();
+        sucio = false;
+        recalcular();
+        return true;
+    }
+
+    /**
+     * Fuerza el recálculo en el próximo update (por ejemplo, si cambió el mapa).
+     */
+    public void invalidate() {
+        sucio = true;
+    }
+
+    private void recalcular() {
+        Arrays.fill(distancia, SIN_CAMINO);
+        Arrays.fill(direccion, SIN_DIRECCION);
+        if (!dentro(objetivoX, objetivoY)) {
+            return;
+        }
+
+        int inicio = objetivoY * width + objetivoX;
+        distancia[inicio] = 0;
+        int cabeza = 0;
+        int fin = 0;
+        cola[fin++] = inicio;
+
+        while (cabeza < fin) {
+            int actual = cola[cabeza++];
+            int cx = actual % width;
+            int cy = actual / width;
+            int d = distancia[actual] + 1;
+
+            for (int k = 0; k < DX.length; k++) {
+                int nx = cx + DX[k];
+                int ny = cy + DY[k];
+                if (!transitable(nx, ny)) {
+                    continue;
+                }
+                // Sin cortar esquinas: la diagonal exige ambos ortogonales libres
+                if (k >= 4 && (!transitable(cx + DX[k], cy) || !transitable(cx, cy + DY[k]))) {
+                    continue;
+                }
+                int vecino = ny * width + nx;
+                if (distancia[vecino] != SIN_CAMINO) {
+                    continue;
+                }
+                distancia[vecino] = d;
+                // Desde el vecino, el paso hacia el jugador es la dirección opuesta
+                direccion[vecino] = (byte) opuesta(k);
+                cola[fin++] = vecino;
+            }
+        }
+    }
+
+    private static int opuesta(int k) {
+        switch (k) {
+            case 0: return 1;
+            case 1: return 0;
+            case 2: return 3;
+            case 3: return 2;
+            case 4: return 7;
+            case 5: return 6;
+            case 6: return 5;
+            default: return 4;
+        }
+    }
+
+    private boolean dentro(int x, int y) {
+        return x >= 0 && y >= 0 && x < width && y < height;
+    }
+
+    private boolean transitable(int x, int y) {
+        return dentro(x, y) && !map.isBlocked(x, y);
+    }
+
+    /**
+     * Siguiente celda hacia el objetivo desde (x, y).
+     *
+     * @return índice empaquetado y * width + x, o SIN_CAMINO si no hay camino
+     *         o (x, y) ya es el objetivo
+     */
+    public int nextStep(int x, int y) {
+        if (!dentro(x, y)) {
+            return SIN_CAMINO;
+        }
+        byte k = direccion[y * width + x];
+        if (k == SIN_DIRECCION) {
+            return SIN_CAMINO;
+        }
+        return (y + DY[k]) * width + (x + DX[k]);
+    }
+
+    /**
+     * Pasos hasta el objetivo desde (x, y), o SIN_CAMINO si no es alcanzable.
+     */
+    public int getDistance(int x, int y) {
+        return dentro(x, y) ? distancia[y * width + x] : SIN_CAMINO;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+}
@@ -0,0 +1,505 @@
+package org.oniteam.oregontrailfx.model;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Motor de simulación del juego, sin dependencias de JavaFX.
+ * Avanza la lógica (movimiento, disparo, spawn, IA de enemigos y daño por
+ * colisión) en pasos fijos de tiempo. El GameController solo le entrega la
+ * entrada del teclado y dibuja el estado; sin pantalla se puede llamar a
+ * {@link #run(long)} para simular mucho más rápido que el tiempo real.
+ */
+public class GameEngine {
+
+    public static final int TICKS_POR_SEGUNDO = 60;
+    public static final long TICK_NANOS = 1_000_000_000L / TICKS_POR_SEGUNDO;
+
+    // Máximo de ticks por llamada a advance(), evita la "espiral de la muerte"
+    // cuando el hilo de render se atrasa (pausas, ventanas modales, etc.)
+    private static final int MAX_TICKS_POR_AVANCE = 8;
+
+    // Bits de entrada por tick
+    public static final int INPUT_UP = 1;
+    public static final int INPUT_DOWN = 1 << 1;
+    public static final int INPUT_LEFT = 1 << 2;
+    public static final int INPUT_RIGHT = 1 << 3;
+    public static final int INPUT_SHOOT = 1 << 4;
+
+    // 150ms entre movimientos (Oregon Trail clásico) => 9 ticks a 60 Hz
+    private static final int MOVE_COOLDOWN_TICKS = 9;
+    private static final double RANGO_VISION = 5.0;
+    // LOD: nivel medio hasta 3 veces el rango de visión (rastreo opcional de
+    // un paso cada 0,5 s), y cada enemigo lejano se revisa una vez cada 8 ticks
+    // como máximo
+    private static final double RANGO_RASTREO = RANGO_VISION * 3;
+    private static final int TICKS_POR_PASO_RASTREO = 30;
+    private static final int TICKS_BARRIDO_LOD = 8;
+
+    // Cooldowns de la rueda de temporizadores
+    public static final int COOLDOWN_ATAQUE = 0;
+    public static final int COOLDOWN_RECARGA = 1;
+    public static final int COOLDOWN_REGENERACION = 2;
+    private static final int RANURAS_TIMER = 512;
+    // Un golpe por segundo de cada enemigo pegado al jugador
+    private static final int DANIO_CONTACTO = 1;
+    private static final int CADENCIA_CONTACTO_MS = 1000;
+    // Con la regeneración activada, un corazón cada 30 segundos de juego
+    public static final int TICKS_REGENERACION = 30 * TICKS_POR_SEGUNDO;
+    private static final int CAMINOS_EN_CACHE = 64;
+    // Desde cuántos enemigos conviene la pasada completa en paralelo
+    private static final int MIN_ENEMIGOS_PARALELO = 8192;
+
+    private final Player player;
+    private final Scenario scenario;
+    private final MovementController movementController;
+    private final AmmoManager ammoManager;
+    private final Spawner spawner;
+    private final EnemyStore enemies;
+    private final EnemyAISystem enemyAI;
+    private final LineOfSight vision;
+    private final EnemyLodSystem lod;
+    private final SpatialGrid grid;
+    private final FlowField flowField;
+    private final AStarPathfinder pathfinder;
+    private final SpawnCandidateIndex spawnIndex;
+    private InputRecorder recorder;
+    private ForkJoinPool poolIA;
+    private SpawnScheduler spawnScheduler = new SpawnScheduler();
+    private final TimerWheel cooldowns;
+    private final TimerWheel.Listener alVencer = this::alVencerCooldown;
+    private final EnemyAttack ataqueContacto = new EnemyAttack(DANIO_CONTACTO, CADENCIA_CONTACTO_MS);
+    private int[] enCeldaJugador = new int[16];
+    private Reloading reloading;
+
+    // Handles de enemigos cercanos al jugador en el tick actual y en el anterior
+    private int[] cercanos = new int[64];
+    private int cantCercanos;
+    private int[] persiguiendo = new int[64];
+    private int cantPersiguiendo;
+    // marcaCercano[handle] == marcaActual si el enemigo está cerca en este tick
+    private int[] marcaCercano = new int[64];
+    private int marcaActual;
+
+    private int input;
+    private long tick;
+    private long lastMoveTick;
+    private long acumuladoNanos;
+
+    public GameEngine(Player player, Scenario scenario, MapLoader map, AmmoManager ammoManager,
+                      Spawner spawner, int maxTilesX, int maxTilesY) {
+        this(player, scenario, map, ammoManager, spawner, new EnemyStore(), maxTilesX, maxTilesY);
+    }
+
+    public GameEngine(Player player, Scenario scenario, MapLoader map, AmmoManager ammoManager,
+                      Spawner spawner, EnemyStore enemies, int maxTilesX, int maxTilesY) {
+        this.player = player;
+        this.scenario = scenario;
+        this.ammoManager = ammoManager;
+        this.spawner = spawner;
+        this.enemies = enemies;
+        this.movementController = new MovementController(map, player, maxTilesX, maxTilesY);
+        this.enemyAI = new EnemyAISystem(RANGO_VISION);
+        this.lod = new EnemyLodSystem(RANGO_VISION, RANGO_RASTREO, TICKS_POR_PASO_RASTREO, TICKS_BARRIDO_LOD);
+
+        int gridWidth = Math.max(scenario.getWidth(), maxTilesX);
+        int gridHeight = Math.max(scenario.getHeight(), maxTilesY);
+        this.grid = new SpatialGrid(gridWidth, gridHeight);
+        // Los spawns solo caen dentro del escenario, aunque el canvas muestre más celdas
+        this.spawnIndex = new SpawnCandidateIndex(map, scenario.getWidth(), scenario.getHeight(),
+                spawner.getRadioSeguro());
+        grid.setCellListener(spawnIndex);
+        spawner.setCandidateIndex(spawnIndex);
+        enemies.setGrid(grid);
+        this.flowField = new FlowField(map, gridWidth, gridHeight);
+        this.pathfinder = new AStarPathfinder(map, gridWidth, gridHeight, CAMINOS_EN_CACHE);
+        this.vision = new LineOfSight(map, gridWidth, gridHeight, (int) Math.ceil(RANGO_VISION));
+        enemyAI.setLineOfSight(vision);
+        this.cooldowns = new TimerWheel(RANURAS_TIMER, 3);
+        this.tick = 0;
+        this.lastMoveTick = -MOVE_COOLDOWN_TICKS;
+        this.acumuladoNanos = 0;
+    }
+
+    /**
+     * Acumula tiempo real y ejecuta los ticks fijos que correspondan.
+     *
+     * @param elapsedNanos tiempo transcurrido desde la última llamada
+     * @return cantidad de ticks ejecutados
+     */
+    public int advance(long elapsedNanos) {
+        acumuladoNanos += Math.max(0, elapsedNanos);
+
+        int ejecutados = 0;
+        while (acumuladoNanos >= TICK_NANOS && ejecutados < MAX_TICKS_POR_AVANCE) {
+            step();
+            acumuladoNanos -= TICK_NANOS;
+            ejecutados++;
+        }
+
+        // Si quedó atraso, se descarta en lugar de intentar recuperarlo
+        if (acumuladoNanos >= TICK_NANOS) {
+            acumuladoNanos = 0;
+        }
+        return ejecutados;
+    }
+
+    /**
+     * Ejecuta ticks sin esperar tiempo real (simulación headless).
+     *
+     * @param ticks cantidad de ticks a simular
+     */
+    public void run(long ticks) {
+        for (long i = 0; i < ticks && !isPlayerDead(); i++) {
+            step();
+        }
+    }
+
+    /**
+     * Repite una entrada grabada lo más rápido posible, sin pantalla.
+     * Para que el resultado sea idéntico al original, el motor debe haberse
+     * creado desde una GameSession con la semilla de la grabación.
+     *
+     * @param replay entrada grabada
+     * @return ticks ejecutados
+     */
+    public long replay(InputReplay replay) {
+        long ejecutados = 0;
+        while (replay.hasNext() && !isPlayerDead()) {
+            input = replay.next();
+            step();
+            ejecutados++;
+        }
+        return ejecutados;
+    }
+
+    /**
+     * Avanza la simulación exactamente un tick.
+     */
+    public void step() {
+        if (isPlayerDead()) {
+            return;
+        }
+
+        if (recorder != null) {
+            recorder.record(input);
+        }
+
+        // Movimiento con cooldown
+        if (tick - lastMoveTick >= MOVE_COOLDOWN_TICKS) {
+            boolean moved = true;
+            if ((input & INPUT_UP) != 0) {
+                movementController.moveUp();
+            } else if ((input & INPUT_DOWN) != 0) {
+                movementController.moveDown();
+            } else if ((input & INPUT_LEFT) != 0) {
+                movementController.moveLeft();
+            } else if ((input & INPUT_RIGHT) != 0) {
+                movementController.moveRight();
+            } else {
+                moved = false;
+            }
+
+            if (moved) {
+                lastMoveTick = tick;
+            }
+        }
+
+        // Cooldowns vencidos en este tick (ataques, recarga, regeneración)
+        cooldowns.advanceTo(tick, alVencer);
+
+        // Disparo
+        if ((input & INPUT_SHOOT) != 0) {
+            disparar();
+        }
+
+        // Spawn de enemigos según el tiempo de juego, no los frames
+        int nuevos = spawner.tickSpawn(scenario, player, enemies, spawnScheduler, TICK_NANOS);
+        for (int i = enemies.size() - nuevos; i < enemies.size(); i++) {
+            int handle = enemies.handleAt(i);
+            lod.reset(handle, tick);
+            cooldowns.cancel(COOLDOWN_ATAQUE, handle); // los handles se reutilizan
+        }
+
+        // IA completa para los que están dentro del rango de visión
+        actualizarEnemigosCercanos();
+
+        // Nivel de detalle de los demás, a frecuencia reducida
+        lod.update(enemies, player, flowField, tick);
+
+        // Daño por contacto: solo se consulta la celda del jugador, y cada
+        // enemigo pega según su cadencia en lugar de en cada tick
+        int enCelda = grid.countAt(player.getX(), player.getY());
+        if (enCelda > enCeldaJugador.length) {
+            enCeldaJugador = new int[Math.max(enCelda, enCeldaJugador.length * 2)];
+        }
+        if (enCelda > 0) {
+            ataqueContacto.tryAttack(grid, player, cooldowns, COOLDOWN_ATAQUE, enCeldaJugador);
+        }
+
+        // Los enemigos muertos durante el tick se eliminan todos juntos
+        enemies.flushRemovals();
+
+        tick++;
+    }
+
+    /**
+     * Dispara el rifle; sin munición y con recarga automática, empieza a
+     * recargar y no vuelve a disparar hasta que venza el cooldown.
+     */
+    private void disparar() {
+        if (reloading != null && reloading.isReloading()) {
+            return;
+        }
+        if (ammoManager.hasAmmo("rifle")) {
+            ammoManager.shoot("rifle");
+        } else if (reloading != null && reloading.isAuto()) {
+            reloading.startReload("rifle");
+            cooldowns.startCooldown(COOLDOWN_RECARGA, 0, msATicks(reloading.getTRecargaMs()));
+        }
+    }
+
+    private void alVencerCooldown(int tipo, int entidad) {
+        if (tipo == COOLDOWN_RECARGA && reloading != null) {
+            reloading.finishReload(ammoManager);
+        } else if (tipo == COOLDOWN_REGENERACION) {
+            if (!isPlayerDead() && player.getVida() < Player.VIDA_MAXIMA) {
+                player.heal(1);
+            }
+            cooldowns.startCooldown(COOLDOWN_REGENERACION, 0, TICKS_REGENERACION);
+        }
+    }
+
+    /**
+     * Convierte milisegundos a ticks del motor, redondeando hacia arriba
+     * (un cooldown nunca termina antes de tiempo).
+     */
+    static long msATicks(long ms) {
+        return (ms * TICKS_POR_SEGUNDO + 999) / 1000;
+    }
+
+    /**
+     * Actualiza la IA de los enemigos dentro del rango de visión (consulta
+     * por radio al índice espacial) y pasa a IDLE a los que perseguían en el
+     * tick anterior pero ya no están cerca. Los demás enemigos ya están en
+     * IDLE y no se recorren.
+     */
+    private void actualizarEnemigosCercanos() {
+        int px = player.getX();
+        int py = player.getY();
+
+        // Un solo BFS por movimiento del jugador (no-op si no cambió de celda)
+        flowField.update(px, py);
+        // Visibilidad de todas las celdas de una vez (no-op si nada cambió)
+        vision.update(px, py);
+
+        cantCercanos = grid.queryRadius(px, py, RANGO_VISION, cercanos);
+        if (cantCercanos > cercanos.length) {
+            cercanos = new int[Math.max(cantCercanos, cercanos.length * 2)];
+            cantCercanos = grid.queryRadius(px, py, RANGO_VISION, cercanos);
+        }
+
+        // Se marca en los dos modos: el tick siguiente puede ser secuencial y
+        // leer las marcas de los handles que se persiguen ahora
+        marcaActual++;
+        for (int k = 0; k < cantCercanos; k++) {
+            int handle = cercanos[k];
+            if (handle >= marcaCercano.length) {
+                marcaCercano = Arrays.copyOf(marcaCercano, Math.max(handle + 1, marcaCercano.length * 2));
+            }
+            marcaCercano[handle] = marcaActual;
+        }
+
+        // Los que dejaron de estar en rango vuelven a IDLE
+        for (int k = 0; k < cantPersiguiendo; k++) {
+            int handle = persiguiendo[k];
+            int i = enemies.indexOf(handle);
+            if (i >= 0 && marcaCercano[handle] != marcaActual) {
+                enemyAI.apply(enemies, i, EnemyAISystem.EVENTO_FUERA_DE_RANGO);
+            }
+        }
+
+        // Los que vienen de un nivel de detalle reducido recuperan su rastreo
+        // pendiente (solo si el rastreo está activado)
+        for (int k = 0; k < cantCercanos; k++) {
+            lod.enterRange(enemies, cercanos[k], player, flowField, tick);
+        }
+
+        if (poolIA != null && enemies.size() >= MIN_ENEMIGOS_PARALELO) {
+            // Modo estrés: se recorren todos en paralelo; los que están fuera
+            // de rango quedan como estaban (IDLE o MUERTO) y no se mueven
+            enemyAI.updateParallel(enemies, player, flowField, poolIA);
+        } else {
+            enemyAI.update(enemies, cercanos, cantCercanos, player, flowField);
+        }
+        intercambiarCercanos();
+    }
+
+    /**
+     * Intercambia buffers: los cercanos de hoy son los perseguidores de mañana.
+     */
+    private void intercambiarCercanos() {
+        int[] tmp = persiguiendo;
+        persiguiendo = cercanos;
+        cercanos = tmp;
+        cantPersiguiendo = cantCercanos;
+    }
+
+    /**
+     * Mata a un enemigo; se elimina del almacén al final del tick.
+     *
+     * @return true si estaba vivo
+     */
+    public boolean killEnemy(int handle) {
+        cooldowns.cancel(COOLDOWN_ATAQUE, handle);
+        return enemies.kill(handle);
+    }
+
+    /**
+     * Construye la máscara de entrada a partir de las teclas presionadas.
+     */
+    public static int toInputMask(boolean up, boolean down, boolean left, boolean right, boolean shooting) {
+        int mask = 0;
+        if (up) mask |= INPUT_UP;
+        if (down) mask |= INPUT_DOWN;
+        if (left) mask |= INPUT_LEFT;
+        if (right) mask |= INPUT_RIGHT;
+        if (shooting) mask |= INPUT_SHOOT;
+        return mask;
+    }
+
+    public void setInput(int input) {
+        this.input = input;
+    }
+
+    public int getInput() {
+        return input;
+    }
+
+    /**
+     * Activa la grabación de la entrada de cada tick (null para desactivarla).
+     */
+    public void setRecorder(InputRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    public InputRecorder getRecorder() {
+        return recorder;
+    }
+
+    /**
+     * Activa la IA en paralelo sobre el pool indicado cuando hay muchos
+     * enemigos (null para volver al modo de un solo hilo). Solo cambia la
+     * pasada de IA: la recuperación del LOD y el paso a IDLE son los mismos
+     * en los dos modos, así que el resultado de la simulación no cambia.
+     */
+    public void setParallelPool(ForkJoinPool pool) {
+        this.poolIA = pool;
+    }
+
+    /**
+     * Suelta lo que el motor dejó registrado en objetos que viven más que él
+     * (listeners del mapa, índice de spawns del spawner). Llamar al
+     * descartar el motor.
+     */
+    public void close() {
+        spawnIndex.close();
+        pathfinder.close();
+        if (spawner.getCandidateIndex() == spawnIndex) {
+            spawner.setCandidateIndex(null);
+        }
+    }
+
+    public long getTick() {
+        return tick;
+    }
+
+    public boolean isPlayerDead() {
+        return player.getVida() <= 0;
+    }
+
+    public Player getPlayer() {
+        return player;
+    }
+
+    public Scenario getScenario() {
+        return scenario;
+    }
+
+    public AmmoManager getAmmoManager() {
+        return ammoManager;
+    }
+
+    public Spawner getSpawner() {
+        return spawner;
+    }
+
+    public EnemyStore getEnemies() {
+        return enemies;
+    }
+
+    public SpatialGrid getGrid() {
+        return grid;
+    }
+
+    public FlowField getFlowField() {
+        return flowField;
+    }
+
+    /**
+     * Cambia la tasa, el tope y el presupuesto por tick de los spawns.
+     */
+    public void setSpawnScheduler(SpawnScheduler spawnScheduler) {
+        this.spawnScheduler = spawnScheduler;
+    }
+
+    /**
+     * Usa una recarga para el rifle (null para disparar sin recargar).
+     */
+    public void setReloading(Reloading reloading) {
+        this.reloading = reloading;
+    }
+
+    /**
+     * Activa la regeneración de un corazón cada {@link #TICKS_REGENERACION}
+     * ticks (apagada por defecto), contando desde el tick actual.
+     */
+    public void setRegeneration(boolean activa) {
+        if (activa) {
+            cooldowns.startCooldown(COOLDOWN_REGENERACION, 0, TICKS_REGENERACION);
+        } else {
+            cooldowns.cancel(COOLDOWN_REGENERACION, 0);
+        }
+    }
+
+    public boolean isRegeneration() {
+        return cooldowns.isCooling(COOLDOWN_REGENERACION, 0);
+    }
+
+    public TimerWheel getCooldowns() {
+        return cooldowns;
+    }
+
+    public SpawnScheduler getSpawnScheduler() {
+        return spawnScheduler;
+    }
+
+    public EnemyLodSystem getLod() {
+        return lod;
+    }
+
+    public SpawnCandidateIndex getSpawnIndex() {
+        return spawnIndex;
+    }
+
+    /**
+     * Búsqueda A* para enemigos con objetivos distintos del jugador.
+     */
+    public AStarPathfinder getPathfinder() {
+        return pathfinder;
+    }
+
+    public LineOfSight getLineOfSight() {
+        return vision;
+    }
+}
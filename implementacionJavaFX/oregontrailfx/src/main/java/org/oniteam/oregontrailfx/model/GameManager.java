@@ -1,27 +1,28 @@
 package org.oniteam.oregontrailfx.model;
 
+/**
+ * Punto de acceso de la interfaz gráfica a la partida en curso.
+ * Todo el estado vive en una {@link GameSession}; este singleton solo guarda
+ * cuál es la sesión activa de la ventana. El código sin interfaz (simulaciones,
+ * pruebas, varios juegos en paralelo) debe crear sus propias GameSession.
+ */
 public class GameManager {
 
-    private static GameManager instance;
+    private static final int DISTANCIA_TOTAL = GameSession.DISTANCIA_TOTAL; // Millas hasta Oregon
 
-    // Estado del juego
-    private Player jugador;
-    private Caravana caravana;
-    private int diaActual;
-    private int distanciaRecorrida; // En millas
-    private static final int DISTANCIA_TOTAL = 2000; // Millas hasta Oregon
-    private boolean juegoEnCurso;
-    private boolean juegoGanado;
-    private Scenario currentScenario;
+    // Sesión activa de la interfaz
+    private volatile GameSession session;
 
     /**
      * Constructor privado para implementar el patrón Singleton.
      */
     private GameManager() {
-        this.diaActual = 0;
-        this.distanciaRecorrida = 0;
-        this.juegoEnCurso = false;
-        this.juegoGanado = false;
+        this.session = new GameSession();
+    }
+
+    // Inicialización perezosa thread-safe (holder idiom)
+    private static class Holder {
+        private static final GameManager INSTANCE = new GameManager();
     }
 
     /**
@@ -30,10 +31,25 @@ public class GameManager {
      * @return La instancia del GameManager
      */
     public static GameManager getInstance() {
-        if (instance == null) {
-            instance = new GameManager();
-        }
-        return instance;
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Obtiene la sesión activa.
+     *
+     * @return La sesión de juego actual
+     */
+    public GameSession getSession() {
+        return session;
+    }
+
+    /**
+     * Reemplaza la sesión activa (por ejemplo, al cargar otra partida).
+     *
+     * @param session La nueva sesión
+     */
+    public void setSession(GameSession session) {
+        this.session = session;
     }
 
     /**
@@ -43,21 +59,7 @@ public class GameManager {
      * @param profesion Profesión elegida
      */
     public void iniciarJuego(String nombreJugador, String profesion) {
-        // Crear el jugador
-        this.jugador = new Player(nombreJugador, profesion);
-
-        // Crear la caravana
-        this.caravana = new Caravana();
-
-        // Agregar al jugador como primer miembro de la caravana
-        Miembro miembroJugador = new Miembro(nombreJugador, 35);
-        caravana.agregarMiembro(miembroJugador);
-
-        // Reiniciar contadores
-        this.diaActual = 0;
-        this.distanciaRecorrida = 0;
-        this.juegoEnCurso = true;
-        this.juegoGanado = false;
+        session.iniciarJuego(nombreJugador, profesion);
     }
 
     /**
@@ -65,12 +67,7 @@ public class GameManager {
      * Útil para comenzar una nueva partida.
      */
     public void reiniciarJuego() {
-        this.jugador = null;
-        this.caravana = null;
-        this.diaActual = 0;
-        this.distanciaRecorrida = 0;
-        this.juegoEnCurso = false;
-        this.juegoGanado = false;
+        session.reiniciarJuego();
     }
 
     /**
@@ -80,29 +77,7 @@ public class GameManager {
      * @param millasRecorridas Millas recorridas en este día
      */
     public void avanzarDia(int millasRecorridas) {
-        if (!juegoEnCurso) {
-            return;
-        }
-
-        diaActual++;
-        distanciaRecorrida += millasRecorridas;
-
-        // Consumir comida diaria
-        if (caravana != null) {
-            caravana.consumirComida();
-        }
-
-        // Verificar condiciones de victoria
-        if (distanciaRecorrida >= DISTANCIA_TOTAL) {
-            juegoGanado = true;
-            juegoEnCurso = false;
-        }
-
-        // Verificar condiciones de derrota
-        if (caravana != null && caravana.todosMuertos()) {
-            juegoEnCurso = false;
-            juegoGanado = false;
-        }
+        session.avanzarDia(millasRecorridas);
     }
 
     // ========== GETTERS ==========
@@ -113,7 +88,7 @@ public class GameManager {
      * @return El jugador
      */
     public Player getJugador() {
-        return jugador;
+        return session.getJugador();
     }
 
     /**
@@ -122,7 +97,7 @@ public class GameManager {
      * @return La caravana
      */
     public Caravana getCaravana() {
-        return caravana;
+        return session.getCaravana();
     }
 
     /**
@@ -131,7 +106,7 @@ public class GameManager {
      * @return Día actual
      */
     public int getDiaActual() {
-        return diaActual;
+        return session.getDiaActual();
     }
 
     /**
@@ -140,7 +115,7 @@ public class GameManager {
      * @return Distancia en millas
      */
     public int getDistanciaRecorrida() {
-        return distanciaRecorrida;
+        return session.getDistanciaRecorrida();
     }
 
     /**
@@ -158,7 +133,7 @@ public class GameManager {
      * @return Distancia restante en millas
      */
     public int getDistanciaRestante() {
-        return Math.max(0, DISTANCIA_TOTAL - distanciaRecorrida);
+        return session.getDistanciaRestante();
     }
 
     /**
@@ -167,7 +142,7 @@ public class GameManager {
      * @return true si el juego está activo
      */
     public boolean isJuegoEnCurso() {
-        return juegoEnCurso;
+        return session.isJuegoEnCurso();
     }
 
     /**
@@ -176,7 +151,7 @@ public class GameManager {
      * @return true si llegaron a Oregon
      */
     public boolean isJuegoGanado() {
-        return juegoGanado;
+        return session.isJuegoGanado();
     }
 
     // ========== SETTERS ==========
@@ -187,7 +162,7 @@ public class GameManager {
      * @param jugador El jugador a establecer
      */
     public void setJugador(Player jugador) {
-        this.jugador = jugador;
+        session.setJugador(jugador);
     }
 
     /**
@@ -196,7 +171,7 @@ public class GameManager {
      * @param caravana La caravana a establecer
      */
     public void setCaravana(Caravana caravana) {
-        this.caravana = caravana;
+        session.setCaravana(caravana);
     }
 
     /**
@@ -205,7 +180,7 @@ public class GameManager {
      * @param dia El día a establecer
      */
     public void setDiaActual(int dia) {
-        this.diaActual = Math.max(0, dia);
+        session.setDiaActual(dia);
     }
 
     /**
@@ -214,7 +189,7 @@ public class GameManager {
      * @param distancia La distancia en millas
      */
     public void setDistanciaRecorrida(int distancia) {
-        this.distanciaRecorrida = Math.max(0, Math.min(DISTANCIA_TOTAL, distancia));
+        session.setDistanciaRecorrida(distancia);
     }
 
     /**
@@ -223,7 +198,7 @@ public class GameManager {
      * @param enCurso true para activar el juego
      */
     public void setJuegoEnCurso(boolean enCurso) {
-        this.juegoEnCurso = enCurso;
+        session.setJuegoEnCurso(enCurso);
     }
 
     /**
@@ -232,7 +207,7 @@ public class GameManager {
      * @param ganado true si ganó
      */
     public void setJuegoGanado(boolean ganado) {
-        this.juegoGanado = ganado;
+        session.setJuegoGanado(ganado);
     }
 
     // ========== MÉTODOS DE UTILIDAD ==========
@@ -243,7 +218,7 @@ public class GameManager {
      * @return Porcentaje de progreso (0-100)
      */
     public double getPorcentajeProgreso() {
-        return (distanciaRecorrida * 100.0) / DISTANCIA_TOTAL;
+        return session.getPorcentajeProgreso();
     }
 
     /**
@@ -252,27 +227,7 @@ public class GameManager {
      * @return String con el estado del juego
      */
     public String getEstadoJuego() {
-        if (jugador == null || caravana == null) {
-            return "Juego no iniciado";
-        }
-
-        StringBuilder sb = new StringBuilder();
-        sb.append("=== Oregon Trail - Estado del Juego ===\n");
-        sb.append("Jugador: ").append(jugador.getNombre()).append(" (").append(jugador.getProfesion()).append(")\n");
-        sb.append("Día: ").append(diaActual).append("\n");
-        sb.append("Distancia: ").append(distanciaRecorrida).append("/").append(DISTANCIA_TOTAL).append(" millas ");
-        sb.append("(").append(String.format("%.1f", getPorcentajeProgreso())).append("%)\n");
-        sb.append("Dinero: $").append(String.format("%.2f", jugador.getDinero())).append("\n");
-        sb.append("Miembros vivos: ").append(caravana.getMiembrosVivos()).append("\n");
-        sb.append("Comida: ").append(caravana.getComida()).append(" lbs\n");
-
-        if (juegoGanado) {
-            sb.append("\n¡VICTORIA! Has llegado a Oregon.\n");
-        } else if (!juegoEnCurso && caravana.todosMuertos()) {
-            sb.append("\nGame Over: Todos los miembros han muerto.\n");
-        }
-
-        return sb.toString();
+        return session.getEstadoJuego();
     }
 
     /**
@@ -281,30 +236,29 @@ public class GameManager {
      * @param ganado true si el jugador ganó
      */
     public void terminarJuego(boolean ganado) {
-        this.juegoEnCurso = false;
-        this.juegoGanado = ganado;
+        session.terminarJuego(ganado);
     }
 
     public Scenario getCurrentScenario(){
-        return currentScenario;
+        return session.getCurrentScenario();
     }
     public void setCurrentScenario(Scenario scenario){
-        this.currentScenario = scenario;
+        session.setCurrentScenario(scenario);
     }
 
     @Override
     public String toString() {
         return "GameManager{" +
-                "dia=" + diaActual +
-                ", distancia=" + distanciaRecorrida + "/" + DISTANCIA_TOTAL +
-                ", enCurso=" + juegoEnCurso +
-                ", ganado=" + juegoGanado +
+                "dia=" + session.getDiaActual() +
+                ", distancia=" + session.getDistanciaRecorrida() + "/" + DISTANCIA_TOTAL +
+                ", enCurso=" + session.isJuegoEnCurso() +
+                ", ganado=" + session.isJuegoGanado() +
                 '}';
     }
 
 
     public Player getPlayer() {
 
-        return jugador;
+        return session.getJugador();
     }
 }
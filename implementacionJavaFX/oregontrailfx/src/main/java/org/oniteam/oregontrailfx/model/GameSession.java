@@ -0,0 +1,292 @@
+package org.oniteam.oregontrailfx.model;
+
+import org.oniteam.oregontrailfx.util.ConfigManager;
+
+import java.util.SplittableRandom;
+
+/**
+ * Estado completo de una partida: jugador, caravana, escenario, spawner de
+ * enemigos y contadores de día/distancia.
+ * No tiene estado estático, así que varias sesiones pueden ejecutarse a la vez
+ * (cada una en su propio hilo) dentro de la misma JVM.
+ * Una sesión no es thread-safe: debe usarla un solo hilo a la vez.
+ * Toda la aleatoriedad de la sesión sale de una única fuente con semilla, de
+ * modo que dos sesiones con la misma semilla y la misma entrada son idénticas.
+ */
+public class GameSession {
+
+    public static final int DISTANCIA_TOTAL = 2000; // Millas hasta Oregon
+
+    private Player jugador;
+    private Caravana caravana;
+    private Scenario currentScenario;
+    private Spawner spawner;
+    private EnemyStore enemies;
+    private int diaActual;
+    private int distanciaRecorrida; // En millas
+    private boolean juegoEnCurso;
+    private boolean juegoGanado;
+    private final long semilla;
+    private SplittableRandom random;
+
+    /**
+     * Crea una sesión vacía, sin jugador ni caravana, con semilla aleatoria.
+     */
+    public GameSession() {
+        this(System.nanoTime() ^ Double.doubleToLongBits(Math.random()));
+    }
+
+    /**
+     * Crea una sesión vacía y reproducible.
+     *
+     * @param semilla semilla de todos los generadores aleatorios de la sesión
+     */
+    public GameSession(long semilla) {
+        this.semilla = semilla;
+        this.random = new SplittableRandom(semilla);
+        this.diaActual = 0;
+        this.distanciaRecorrida = 0;
+        this.juegoEnCurso = false;
+        this.juegoGanado = false;
+        this.spawner = new Spawner(5, 3, nuevoRandom());
+        this.enemies = new EnemyStore();
+    }
+
+    /**
+     * Entrega un generador independiente derivado de la fuente de la sesión.
+     * Cada consumidor (spawner, eventos, IA...) debe pedir el suyo en el mismo
+     * orden para que la partida sea reproducible.
+     *
+     * @return generador hijo de la sesión
+     */
+    public SplittableRandom nuevoRandom() {
+        return random.split();
+    }
+
+    /**
+     * Inicia un nuevo juego en esta sesión.
+     *
+     * @param nombreJugador Nombre del jugador principal
+     * @param profesion Profesión elegida
+     */
+    public void iniciarJuego(String nombreJugador, String profesion) {
+        // Crear el jugador
+        this.jugador = new Player(nombreJugador, profesion);
+
+        // Crear la caravana
+        this.caravana = new Caravana();
+
+        // Agregar al jugador como primer miembro de la caravana
+        Miembro miembroJugador = new Miembro(nombreJugador, 35);
+        caravana.agregarMiembro(miembroJugador);
+
+        // Reiniciar contadores
+        this.diaActual = 0;
+        this.distanciaRecorrida = 0;
+        this.juegoEnCurso = true;
+        this.juegoGanado = false;
+    }
+
+    /**
+     * Reinicia la sesión completamente.
+     */
+    public void reiniciarJuego() {
+        this.jugador = null;
+        this.caravana = null;
+        this.diaActual = 0;
+        this.distanciaRecorrida = 0;
+        this.juegoEnCurso = false;
+        this.juegoGanado = false;
+        this.random = new SplittableRandom(semilla);
+        this.spawner = new Spawner(5, 3, nuevoRandom());
+        this.enemies = new EnemyStore();
+    }
+
+    /**
+     * Avanza un día en el juego.
+     * Actualiza recursos, salud de miembros, etc.
+     *
+     * @param millasRecorridas Millas recorridas en este día
+     */
+    public void avanzarDia(int millasRecorridas) {
+        if (!juegoEnCurso) {
+            return;
+        }
+
+        diaActual++;
+        distanciaRecorrida += millasRecorridas;
+
+        // Consumir comida diaria
+        if (caravana != null) {
+            caravana.consumirComida();
+        }
+
+        // Verificar condiciones de victoria
+        if (distanciaRecorrida >= DISTANCIA_TOTAL) {
+            juegoGanado = true;
+            juegoEnCurso = false;
+        }
+
+        // Verificar condiciones de derrota
+        if (caravana != null && caravana.todosMuertos()) {
+            juegoEnCurso = false;
+            juegoGanado = false;
+        }
+    }
+
+    /**
+     * Termina el juego.
+     *
+     * @param ganado true si el jugador ganó
+     */
+    public void terminarJuego(boolean ganado) {
+        this.juegoEnCurso = false;
+        this.juegoGanado = ganado;
+    }
+
+    /**
+     * Crea el motor de simulación para el escenario actual de esta sesión.
+     *
+     * @param map mapa con los obstáculos del escenario
+     * @param ammoManager munición del jugador
+     * @param maxTilesX límite horizontal en celdas
+     * @param maxTilesY límite vertical en celdas
+     * @return motor listo para avanzar ticks
+     */
+    public GameEngine crearEngine(MapLoader map, AmmoManager ammoManager, int maxTilesX, int maxTilesY) {
+        GameEngine engine = new GameEngine(jugador, currentScenario, map, ammoManager, spawner, enemies, maxTilesX, maxTilesY);
+        engine.setSpawnScheduler(SpawnScheduler.fromConfig(ConfigManager.getInstance()));
+        engine.setReloading(Reloading.fromConfig(ConfigManager.getInstance()));
+        engine.setRegeneration(Boolean.parseBoolean(
+                ConfigManager.getInstance().getProperty("game.health_regen", "false").trim()));
+        return engine;
+    }
+
+    // ========== GETTERS ==========
+
+    public long getSemilla() {
+        return semilla;
+    }
+
+    public Player getJugador() {
+        return jugador;
+    }
+
+    public Caravana getCaravana() {
+        return caravana;
+    }
+
+    public Scenario getCurrentScenario() {
+        return currentScenario;
+    }
+
+    public Spawner getSpawner() {
+        return spawner;
+    }
+
+    public EnemyStore getEnemies() {
+        return enemies;
+    }
+
+    public int getDiaActual() {
+        return diaActual;
+    }
+
+    public int getDistanciaRecorrida() {
+        return distanciaRecorrida;
+    }
+
+    public int getDistanciaRestante() {
+        return Math.max(0, DISTANCIA_TOTAL - distanciaRecorrida);
+    }
+
+    public boolean isJuegoEnCurso() {
+        return juegoEnCurso;
+    }
+
+    public boolean isJuegoGanado() {
+        return juegoGanado;
+    }
+
+    // ========== SETTERS ==========
+
+    public void setJugador(Player jugador) {
+        this.jugador = jugador;
+    }
+
+    public void setCaravana(Caravana caravana) {
+        this.caravana = caravana;
+    }
+
+    public void setCurrentScenario(Scenario scenario) {
+        this.currentScenario = scenario;
+    }
+
+    public void setSpawner(Spawner spawner) {
+        this.spawner = spawner;
+    }
+
+    public void setDiaActual(int dia) {
+        this.diaActual = Math.max(0, dia);
+    }
+
+    public void setDistanciaRecorrida(int distancia) {
+        this.distanciaRecorrida = Math.max(0, Math.min(DISTANCIA_TOTAL, distancia));
+    }
+
+    public void setJuegoEnCurso(boolean enCurso) {
+        this.juegoEnCurso = enCurso;
+    }
+
+    public void setJuegoGanado(boolean ganado) {
+        this.juegoGanado = ganado;
+    }
+
+    /**
+     * Calcula el progreso del viaje en porcentaje.
+     *
+     * @return Porcentaje de progreso (0-100)
+     */
+    public double getPorcentajeProgreso() {
+        return (distanciaRecorrida * 100.0) / DISTANCIA_TOTAL;
+    }
+
+    /**
+     * Obtiene un resumen del estado del juego.
+     *
+     * @return String con el estado del juego
+     */
+    public String getEstadoJuego() {
+        if (jugador == null || caravana == null) {
+            return "Juego no iniciado";
+        }
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("=== Oregon Trail - Estado del Juego ===\n");
+        sb.append("Jugador: ").append(jugador.getNombre()).append(" (").append(jugador.getProfesion()).append(")\n");
+        sb.append("Día: ").append(diaActual).append("\n");
+        sb.append("Distancia: ").append(distanciaRecorrida).append("/").append(DISTANCIA_TOTAL).append(" millas ");
+        sb.append("(").append(String.format("%.1f", getPorcentajeProgreso())).append("%)\n");
+        sb.append("Dinero: $").append(String.format("%.2f", jugador.getDinero())).append("\n");
+        sb.append("Miembros vivos: ").append(caravana.getMiembrosVivos()).append("\n");
+        sb.append("Comida: ").append(caravana.getComida()).append(" lbs\n");
+
+        if (juegoGanado) {
+            sb.append("\n¡VICTORIA! Has llegado a Oregon.\n");
+        } else if (!juegoEnCurso && caravana.todosMuertos()) {
+            sb.append("\nGame Over: Todos los miembros han muerto.\n");
+        }
+
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        return "GameSession{" +
+                "dia=" + diaActual +
+                ", distancia=" + distanciaRecorrida + "/" + DISTANCIA_TOTAL +
+                ", enCurso=" + juegoEnCurso +
+                ", ganado=" + juegoGanado +
+                '}';
+    }
+}
@@ -5,12 +5,24 @@ public class Gateway {
     private final MapLoader target;
     private final int portalX;
     private final int portalY;
+    private final int millas; // Costo del tramo para las rutas de GatewayRegistry
 
     public Gateway(MapLoader source, MapLoader target, int portalX, int portalY){
+        this(source, target, portalX, portalY, 1);
+    }
+
+    /**
+     * @param millas distancia del sendero que cubre este paso entre mapas
+     */
+    public Gateway(MapLoader source, MapLoader target, int portalX, int portalY, int millas){
+        if (millas < 0) {
+            throw new IllegalArgumentException("Las millas no pueden ser negativas: " + millas);
+        }
         this.source = source;
         this.target = target;
         this.portalX = portalX;
         this.portalY = portalY;
+        this.millas = millas;
     }
 
     public boolean transferIfCollides(Player player, SceneState state){
@@ -20,4 +32,24 @@ public class Gateway {
         }
         return false;
     }
+
+    public MapLoader getSource(){
+        return source;
+    }
+
+    public MapLoader getTarget(){
+        return target;
+    }
+
+    public int getPortalX(){
+        return portalX;
+    }
+
+    public int getPortalY(){
+        return portalY;
+    }
+
+    public int getMillas(){
+        return millas;
+    }
 }
@@ -0,0 +1,202 @@
+package org.oniteam.oregontrailfx.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Registro de todos los gateways del sendero.
+ * <ul>
+ *   <li>Índice por (mapa, celda): saber si el jugador pisó un portal cuesta
+ *       O(1), sin recorrer los gateways del mapa.</li>
+ *   <li>Grafo de mapas unidos por gateways con todas las rutas más cortas
+ *       precalculadas (Floyd–Warshall con siguiente salto): "cuántas millas
+ *       hasta Oregon y por qué mapas" se responde sin buscar.</li>
+ * </ul>
+ * Las rutas se recalculan solo la primera vez que se consultan después de
+ * registrar un gateway.
+ */
+public class GatewayRegistry {
+
+    public static final int SIN_RUTA = -1;
+    private static final int INFINITO = Integer.MAX_VALUE / 2;
+
+    private final Map<String, Integer> indiceMapa = new HashMap<>();
+    private final List<String> nombres = new ArrayList<>();
+    private final List<Map<Long, Gateway>> portales = new ArrayList<>();
+    private final List<Gateway> gateways = new ArrayList<>();
+
+    // Rutas: distancia[i][j] en millas, siguiente[i][j] = mapa del primer salto,
+    // paso[i][j] = gateway más corto entre dos mapas vecinos
+    private int[][] distancia = new int[0][0];
+    private int[][] siguiente = new int[0][0];
+    private Gateway[][] paso = new Gateway[0][0];
+    private boolean rutasVigentes = true;
+
+    /**
+     * Registra un gateway. Si ya había otro en la misma celda del mismo mapa,
+     * lo reemplaza.
+     */
+    public void register(Gateway g) {
+        int origen = indiceDe(g.getSource().getName());
+        indiceDe(g.getTarget().getName());
+        Gateway anterior = portales.get(origen).put(clave(g.getPortalX(), g.getPortalY()), g);
+        if (anterior != null) {
+            gateways.remove(anterior);
+        }
+        gateways.add(g);
+        rutasVigentes = false;
+    }
+
+    private int indiceDe(String mapa) {
+        Integer i = indiceMapa.get(mapa);
+        if (i == null) {
+            i = nombres.size();
+            indiceMapa.put(mapa, i);
+            nombres.add(mapa);
+            portales.add(new HashMap<>());
+        }
+        return i;
+    }
+
+    /**
+     * Gateway en la celda (x, y) del mapa, o null si no hay.
+     */
+    public Gateway findAt(String mapa, int x, int y) {
+        Integer i = indiceMapa.get(mapa);
+        return i == null ? null : portales.get(i).get(clave(x, y));
+    }
+
+    /**
+     * Si el jugador está sobre un portal del mapa actual, cambia de mapa.
+     *
+     * @return true si hubo transición
+     */
+    public boolean transferIfCollides(Player player, SceneState state) {
+        Gateway g = findAt(state.getCurrentMap(), player.getPosX(), player.getPosY());
+        return g != null && g.transferIfCollides(player, state);
+    }
+
+    // ========== RUTAS ==========
+
+    private void recalcularRutas() {
+        int n = nombres.size();
+        distancia = new int[n][n];
+        siguiente = new int[n][n];
+        paso = new Gateway[n][n];
+        for (int i = 0; i < n; i++) {
+            Arrays.fill(distancia[i], INFINITO);
+            Arrays.fill(siguiente[i], SIN_RUTA);
+            distancia[i][i] = 0;
+            siguiente[i][i] = i;
+        }
+        for (Gateway g : gateways) {
+            int i = indiceMapa.get(g.getSource().getName());
+            int j = indiceMapa.get(g.getTarget().getName());
+            if (i != j && g.getMillas() < distancia[i][j]) {
+                distancia[i][j] = g.getMillas();
+                siguiente[i][j] = j;
+                paso[i][j] = g;
+            }
+        }
+        for (int k = 0; k < n; k++) {
+            int[] filaK = distancia[k];
+            for (int i = 0; i < n; i++) {
+                int ik = distancia[i][k];
+                if (ik == INFINITO) {
+                    continue;
+                }
+                int[] filaI = distancia[i];
+                int[] sigI = siguiente[i];
+                for (int j = 0; j < n; j++) {
+                    int nueva = ik + filaK[j];
+                    if (nueva < filaI[j]) {
+                        filaI[j] = nueva;
+                        sigI[j] = sigI[k];
+                    }
+                }
+            }
+        }
+        rutasVigentes = true;
+    }
+
+    private void asegurarRutas() {
+        if (!rutasVigentes) {
+            recalcularRutas();
+        }
+    }
+
+    /**
+     * Millas de la ruta más corta entre dos mapas.
+     *
+     * @return distancia o SIN_RUTA si no están conectados
+     */
+    public int distance(String desde, String hasta) {
+        asegurarRutas();
+        Integer i = indiceMapa.get(desde);
+        Integer j = indiceMapa.get(hasta);
+        if (i == null || j == null) {
+            return desde.equals(hasta) ? 0 : SIN_RUTA;
+        }
+        int d = distancia[i][j];
+        return d == INFINITO ? SIN_RUTA : d;
+    }
+
+    /**
+     * Gateway que hay que tomar desde {@code desde} para seguir la ruta más
+     * corta hacia {@code hasta}.
+     *
+     * @return gateway o null si ya se llegó o no hay ruta
+     */
+    public Gateway nextGateway(String desde, String hasta) {
+        asegurarRutas();
+        Integer i = indiceMapa.get(desde);
+        Integer j = indiceMapa.get(hasta);
+        if (i == null || j == null || i.equals(j) || siguiente[i][j] == SIN_RUTA) {
+            return null;
+        }
+        return paso[i][siguiente[i][j]];
+    }
+
+    /**
+     * Mapas de la ruta más corta, incluyendo origen y destino.
+     *
+     * @return lista vacía si no hay ruta
+     */
+    public List<String> route(String desde, String hasta) {
+        asegurarRutas();
+        List<String> ruta = new ArrayList<>();
+        Integer i = indiceMapa.get(desde);
+        Integer j = indiceMapa.get(hasta);
+        if (i == null || j == null) {
+            if (desde.equals(hasta)) {
+                ruta.add(desde);
+            }
+            return ruta;
+        }
+        if (siguiente[i][j] == SIN_RUTA) {
+            return ruta;
+        }
+        int actual = i;
+        ruta.add(nombres.get(actual));
+        while (actual != j) {
+            actual = siguiente[actual][j];
+            ruta.add(nombres.get(actual));
+        }
+        return ruta;
+    }
+
+    public int getCantMapas() {
+        return nombres.size();
+    }
+
+    public int getCantGateways() {
+        return gateways.size();
+    }
+
+    private static long clave(int x, int y) {
+        return ((long) x << 32) | (y & 0xFFFFFFFFL);
+    }
+}
@@ -15,7 +15,6 @@ import java.nio.charset.StandardCharsets;
  */
 public class GeminiService {
 
-    private static GeminiService instance;
     private final ConfigManager config;
     private String apiKey;
     private String apiUrl;
@@ -26,11 +25,13 @@ public class GeminiService {
         this.apiUrl = config.getGeminiApiUrl();
     }
 
+    // Inicialización perezosa thread-safe (holder idiom)
+    private static class Holder {
+        private static final GeminiService INSTANCE = new GeminiService();
+    }
+
     public static GeminiService getInstance() {
-        if (instance == null) {
-            instance = new GeminiService();
-        }
-        return instance;
+        return Holder.INSTANCE;
     }
 
     /**
@@ -0,0 +1,640 @@
+package org.oniteam.oregontrailfx.model;
+
+import java.util.Arrays;
+
+/**
+ * Búsqueda jerárquica de caminos (HPA*) para mapas grandes.
+ * El tablero se corta en clusters cuadrados; en cada borde entre dos clusters
+ * vecinos se eligen entradas (una por tramo libre corto, dos en los extremos
+ * si el tramo es largo) y se precalcula, dentro de cada cluster, el costo
+ * entre todas sus entradas. Buscar un camino recorre solo ese grafo
+ * abstracto, que tiene unas pocas entradas por cluster, y después se refina
+ * tramo a tramo con búsquedas locales acotadas al cluster.
+ * <p>
+ * Usa los mismos bloqueos que {@link MapLoader#isBlocked(int, int)} y escucha
+ * sus cambios: un cambio en el interior de un cluster solo recalcula ese
+ * cluster; uno en un borde recalcula además las entradas de ese borde y el
+ * cluster vecino. Los cambios se aplican en la siguiente búsqueda.
+ * Costos: 10 ortogonal, 14 diagonal, sin cortar esquinas.
+ */
+public class HierarchicalPathfinder implements MapLoader.BlockListener {
+
+    private static final int COSTO_RECTO = 10;
+    private static final int COSTO_DIAGONAL = 14;
+    private static final int[] DX = {1, -1, 0, 0, 1, 1, -1, -1};
+    private static final int[] DY = {0, 0, 1, -1, 1, -1, 1, -1};
+    private static final int INFINITO = Integer.MAX_VALUE;
+    private static final int NINGUNO = -1;
+
+    // Tramos libres de al menos este largo llevan dos entradas (una en cada extremo)
+    private static final int LARGO_DOS_ENTRADAS = 6;
+
+    private final MapLoader map;
+    private final int width;
+    private final int height;
+    private final int tamCluster;
+    private final int clustersX;
+    private final int clustersY;
+
+    // Entradas por borde: pares (celda de este lado, celda del vecino)
+    private final int[][] entradasDerecha; // borde con el cluster de la derecha
+    private final int[][] entradasAbajo;   // borde con el cluster de abajo
+    private final boolean[] bordeDerechaSucio;
+    private final boolean[] bordeAbajoSucio;
+
+    // Grafo abstracto por cluster
+    private final int[][] nodos;      // celdas de las entradas del cluster
+    private final int[][][] socios;   // por nodo, celdas vecinas del otro lado del borde
+    private final int[][] costos;     // costos[c][j * k + m] entre nodos j y m del cluster
+    private final boolean[] clusterSucio;
+    private final int[] indiceNodo;   // celda -> índice dentro de su cluster, o NINGUNO
+    private boolean haySuciedad;
+    private int reconstrucciones;
+
+    // Búsqueda local (dentro de un cluster)
+    private final int[] gLocal;
+    private final int[] padreLocal;
+    private final int[] marcaLocal;
+    private int generacionLocal;
+
+    // Búsqueda abstracta
+    private final int[] gAbs;
+    private final int[] padreAbs;
+    private final int[] marcaAbs;
+    private final int[] cerradoAbs;
+    private int generacionAbs;
+
+    private long[] heap = new long[256];
+    private int heapSize;
+
+    /**
+     * @param map mapa con los bloqueos (se registra como listener)
+     * @param width ancho del tablero en celdas
+     * @param height alto del tablero en celdas
+     * @param tamCluster lado de cada cluster en celdas
+     */
+    public HierarchicalPathfinder(MapLoader map, int width, int height, int tamCluster) {
+        this.map = map;
+        this.width = width;
+        this.height = height;
+        this.tamCluster = Math.max(2, tamCluster);
+        this.clustersX = (width + this.tamCluster - 1) / this.tamCluster;
+        this.clustersY = (height + this.tamCluster - 1) / this.tamCluster;
+
+        int clusters = clustersX * clustersY;
+        this.entradasDerecha = new int[clusters][];
+        this.entradasAbajo = new int[clusters][];
+        this.bordeDerechaSucio = new boolean[clusters];
+        this.bordeAbajoSucio = new boolean[clusters];
+        this.nodos = new int[clusters][];
+        this.socios = new int[clusters][][];
+        this.costos = new int[clusters][];
+        this.clusterSucio = new boolean[clusters];
+
+        int celdas = width * height;
+        this.indiceNodo = new int[celdas];
+        Arrays.fill(indiceNodo, NINGUNO);
+        this.gLocal = new int[celdas];
+        this.padreLocal = new int[celdas];
+        this.marcaLocal = new int[celdas];
+        this.gAbs = new int[celdas];
+        this.padreAbs = new int[celdas];
+        this.marcaAbs = new int[celdas];
+        this.cerradoAbs = new int[celdas];
+
+        Arrays.fill(bordeDerechaSucio, true);
+        Arrays.fill(bordeAbajoSucio, true);
+        Arrays.fill(clusterSucio, true);
+        haySuciedad = true;
+        reconstruir();
+        reconstrucciones = 0;
+
+        map.addBlockListener(this);
+    }
+
+    /**
+     * Atajo para cortar en clusters el tablero de un escenario.
+     */
+    public HierarchicalPathfinder(MapLoader map, Scenario scenario, int tamCluster) {
+        this(map, scenario.getWidth(), scenario.getHeight(), tamCluster);
+    }
+
+    // ========== CONSTRUCCIÓN DEL GRAFO ABSTRACTO ==========
+
+    private int clusterDe(int celda) {
+        return (celda / width / tamCluster) * clustersX + (celda % width) / tamCluster;
+    }
+
+    /**
+     * Recalcula los bordes y clusters marcados como sucios.
+     */
+    private void reconstruir() {
+        if (!haySuciedad) {
+            return;
+        }
+        for (int c = 0; c < clustersX * clustersY; c++) {
+            int cx = c % clustersX;
+            int cy = c / clustersX;
+            if (bordeDerechaSucio[c]) {
+                bordeDerechaSucio[c] = false;
+                entradasDerecha[c] = cx + 1 < clustersX ? calcularBordeDerecha(cx, cy) : new int[0];
+                clusterSucio[c] = true;
+                if (cx + 1 < clustersX) {
+                    clusterSucio[c + 1] = true;
+                }
+            }
+            if (bordeAbajoSucio[c]) {
+                bordeAbajoSucio[c] = false;
+                entradasAbajo[c] = cy + 1 < clustersY ? calcularBordeAbajo(cx, cy) : new int[0];
+                clusterSucio[c] = true;
+                if (cy + 1 < clustersY) {
+                    clusterSucio[c + clustersX] = true;
+                }
+            }
+        }
+        for (int c = 0; c < clustersX * clustersY; c++) {
+            if (clusterSucio[c]) {
+                clusterSucio[c] = false;
+                reconstruirCluster(c);
+                reconstrucciones++;
+            }
+        }
+        haySuciedad = false;
+    }
+
+    private int[] calcularBordeDerecha(int cx, int cy) {
+        int x = (cx + 1) * tamCluster - 1;
+        int y0 = cy * tamCluster;
+        int y1 = Math.min(height, y0 + tamCluster) - 1;
+        int[] pares = new int[4 * tamCluster];
+        int cant = 0;
+        int inicio = NINGUNO;
+        for (int y = y0; y <= y1 + 1; y++) {
+            boolean libre = y <= y1 && transitable(x, y) && transitable(x + 1, y);
+            if (libre && inicio == NINGUNO) {
+                inicio = y;
+            } else if (!libre && inicio != NINGUNO) {
+                int fin = y - 1;
+                if (fin - inicio + 1 >= LARGO_DOS_ENTRADAS) {
+                    pares[cant++] = inicio * width + x;
+                    pares[cant++] = inicio * width + x + 1;
+                    pares[cant++] = fin * width + x;
+                    pares[cant++] = fin * width + x + 1;
+                } else {
+                    int medio = (inicio + fin) >>> 1;
+                    pares[cant++] = medio * width + x;
+                    pares[cant++] = medio * width + x + 1;
+                }
+                inicio = NINGUNO;
+            }
+        }
+        return Arrays.copyOf(pares, cant);
+    }
+
+    private int[] calcularBordeAbajo(int cx, int cy) {
+        int y = (cy + 1) * tamCluster - 1;
+        int x0 = cx * tamCluster;
+        int x1 = Math.min(width, x0 + tamCluster) - 1;
+        int[] pares = new int[4 * tamCluster];
+        int cant = 0;
+        int inicio = NINGUNO;
+        for (int x = x0; x <= x1 + 1; x++) {
+            boolean libre = x <= x1 && transitable(x, y) && transitable(x, y + 1);
+            if (libre && inicio == NINGUNO) {
+                inicio = x;
+            } else if (!libre && inicio != NINGUNO) {
+                int fin = x - 1;
+                if (fin - inicio + 1 >= LARGO_DOS_ENTRADAS) {
+                    pares[cant++] = y * width + inicio;
+                    pares[cant++] = (y + 1) * width + inicio;
+                    pares[cant++] = y * width + fin;
+                    pares[cant++] = (y + 1) * width + fin;
+                } else {
+                    int medio = (inicio + fin) >>> 1;
+                    pares[cant++] = y * width + medio;
+                    pares[cant++] = (y + 1) * width + medio;
+                }
+                inicio = NINGUNO;
+            }
+        }
+        return Arrays.copyOf(pares, cant);
+    }
+
+    /**
+     * Junta las entradas de los cuatro bordes del cluster y calcula el costo
+     * entre cada par con una búsqueda local por nodo.
+     */
+    private void reconstruirCluster(int c) {
+        int cx = c % clustersX;
+        int cy = c / clustersX;
+
+        // Limpiar los nodos anteriores
+        if (nodos[c] != null) {
+            for (int celda : nodos[c]) {
+                indiceNodo[celda] = NINGUNO;
+            }
+        }
+
+        int[] tmpNodos = new int[8 * tamCluster];
+        int[][] tmpSocios = new int[8 * tamCluster][];
+        int k = 0;
+        // Propias (este lado en índices pares) y de los vecinos izquierdo/arriba (impares)
+        int[][] bordes = {
+                entradasDerecha[c],
+                entradasAbajo[c],
+                cx > 0 ? entradasDerecha[c - 1] : null,
+                cy > 0 ? entradasAbajo[c - clustersX] : null
+        };
+        for (int b = 0; b < bordes.length; b++) {
+            int[] pares = bordes[b];
+            if (pares == null) {
+                continue;
+            }
+            boolean propio = b < 2;
+            for (int p = 0; p < pares.length; p += 2) {
+                int celda = propio ? pares[p] : pares[p + 1];
+                int socio = propio ? pares[p + 1] : pares[p];
+                int j = indiceNodo[celda];
+                if (j == NINGUNO) {
+                    j = k++;
+                    indiceNodo[celda] = j;
+                    tmpNodos[j] = celda;
+                    tmpSocios[j] = new int[]{socio};
+                } else {
+                    int[] s = Arrays.copyOf(tmpSocios[j], tmpSocios[j].length + 1);
+                    s[s.length - 1] = socio;
+                    tmpSocios[j] = s;
+                }
+            }
+        }
+
+        nodos[c] = Arrays.copyOf(tmpNodos, k);
+        socios[c] = Arrays.copyOf(tmpSocios, k);
+        int[] matriz = new int[k * k];
+        for (int j = 0; j < k; j++) {
+            dijkstraLocal(nodos[c][j], c, NINGUNO);
+            for (int m = 0; m < k; m++) {
+                matriz[j * k + m] = costoLocal(nodos[c][m]);
+            }
+        }
+        costos[c] = matriz;
+    }
+
+    // ========== BÚSQUEDA ==========
+
+    /**
+     * Camino abstracto: origen, entradas por las que pasa y destino.
+     * Solo recorre el grafo de entradas, por eso es muy barato.
+     *
+     * @return celdas empaquetadas (y * width + x) o null si no hay camino
+     */
+    public int[] findAbstractPath(int sx, int sy, int tx, int ty) {
+        reconstruir();
+        if (!transitable(sx, sy) || !transitable(tx, ty)) {
+            return null;
+        }
+
+        int inicio = sy * width + sx;
+        int meta = ty * width + tx;
+        if (inicio == meta) {
+            return new int[]{inicio};
+        }
+        int clusterInicio = clusterDe(inicio);
+        int clusterMeta = clusterDe(meta);
+
+        // Costos desde el origen a las entradas de su cluster (y a la meta si comparten cluster)
+        dijkstraLocal(inicio, clusterInicio, NINGUNO);
+        int[] desdeInicio = new int[nodos[clusterInicio].length];
+        for (int j = 0; j < desdeInicio.length; j++) {
+            desdeInicio[j] = costoLocal(nodos[clusterInicio][j]);
+        }
+
+        // Si los clusters son vecinos se prueba también el camino directo por
+        // ambos clusters: en trayectos cortos pasar por las entradas desvía mucho
+        int directo = INFINITO;
+        if (vecinos(clusterInicio, clusterMeta)) {
+            dijkstraEntre(inicio, clusterInicio, clusterMeta, meta);
+            directo = costoLocal(meta);
+        }
+
+        // Costos de las entradas del cluster de la meta hasta la meta (costos simétricos)
+        dijkstraLocal(meta, clusterMeta, NINGUNO);
+        int[] hastaMeta = new int[nodos[clusterMeta].length];
+        for (int j = 0; j < hastaMeta.length; j++) {
+            hastaMeta[j] = costoLocal(nodos[clusterMeta][j]);
+        }
+
+        nuevaGeneracionAbs();
+        heapSize = 0;
+        gAbs[inicio] = 0;
+        padreAbs[inicio] = NINGUNO;
+        marcaAbs[inicio] = generacionAbs;
+        push(heuristica(inicio, meta), inicio);
+
+        while (heapSize > 0) {
+            int actual = (int) pop();
+            if (cerradoAbs[actual] == generacionAbs) {
+                continue;
+            }
+            cerradoAbs[actual] = generacionAbs;
+            if (actual == meta) {
+                return reconstruirAbs(meta);
+            }
+            int g = gAbs[actual];
+
+            if (actual == inicio) {
+                int[] ns = nodos[clusterInicio];
+                for (int j = 0; j < ns.length; j++) {
+                    relajar(actual, ns[j], g, desdeInicio[j], meta);
+                }
+                relajar(actual, meta, g, directo, meta);
+            }
+
+            int j = indiceNodo[actual];
+            if (j != NINGUNO) {
+                int c = clusterDe(actual);
+                int[] ns = nodos[c];
+                int k = ns.length;
+                for (int m = 0; m < k; m++) {
+                    if (m != j) {
+                        relajar(actual, ns[m], g, costos[c][j * k + m], meta);
+                    }
+                }
+                for (int socio : socios[c][j]) {
+                    relajar(actual, socio, g, COSTO_RECTO, meta);
+                }
+                if (c == clusterMeta) {
+                    relajar(actual, meta, g, hastaMeta[j], meta);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Camino completo celda por celda: el abstracto refinado con búsquedas
+     * locales dentro de cada cluster.
+     *
+     * @return celdas empaquetadas (y * width + x) desde el origen hasta el
+     *         destino, ambos incluidos; o null si no hay camino
+     */
+    public int[] findPath(int sx, int sy, int tx, int ty) {
+        int[] abstracto = findAbstractPath(sx, sy, tx, ty);
+        if (abstracto == null) {
+            return null;
+        }
+
+        int[] camino = new int[64];
+        int largo = 0;
+        camino[largo++] = abstracto[0];
+        for (int i = 1; i < abstracto.length; i++) {
+            int a = abstracto[i - 1];
+            int b = abstracto[i];
+            if ((Math.abs(a - b) == 1 && a / width == b / width) || Math.abs(a - b) == width) {
+                // Cruce de borde: celdas vecinas
+                if (largo == camino.length) {
+                    camino = Arrays.copyOf(camino, largo * 2);
+                }
+                camino[largo++] = b;
+                continue;
+            }
+            dijkstraEntre(a, clusterDe(a), clusterDe(b), b);
+            int pasos = 0;
+            for (int c = b; c != a; c = padreLocal[c]) {
+                pasos++;
+            }
+            if (largo + pasos > camino.length) {
+                camino = Arrays.copyOf(camino, Math.max(camino.length * 2, largo + pasos));
+            }
+            int pos = largo + pasos - 1;
+            for (int c = b; c != a; c = padreLocal[c]) {
+                camino[pos--] = c;
+            }
+            largo += pasos;
+        }
+        return Arrays.copyOf(camino, largo);
+    }
+
+    private void relajar(int desde, int hasta, int g, int costo, int meta) {
+        if (costo == INFINITO || cerradoAbs[hasta] == generacionAbs) {
+            return;
+        }
+        int nuevo = g + costo;
+        if (marcaAbs[hasta] != generacionAbs || nuevo < gAbs[hasta]) {
+            marcaAbs[hasta] = generacionAbs;
+            gAbs[hasta] = nuevo;
+            padreAbs[hasta] = desde;
+            push(nuevo + heuristica(hasta, meta), hasta);
+        }
+    }
+
+    private int[] reconstruirAbs(int meta) {
+        int largo = 0;
+        for (int c = meta; c != NINGUNO; c = padreAbs[c]) {
+            largo++;
+        }
+        int[] camino = new int[largo];
+        int i = largo - 1;
+        for (int c = meta; c != NINGUNO; c = padreAbs[c]) {
+            camino[i--] = c;
+        }
+        return camino;
+    }
+
+    /**
+     * Dijkstra desde una celda sin salir del cluster indicado.
+     *
+     * @param parada celda donde cortar la búsqueda, o NINGUNO para recorrer todo el cluster
+     */
+    private void dijkstraLocal(int origen, int cluster, int parada) {
+        dijkstraEntre(origen, cluster, cluster, parada);
+    }
+
+    /**
+     * Dijkstra desde una celda dentro del rectángulo que cubre dos clusters.
+     */
+    private void dijkstraEntre(int origen, int clusterA, int clusterB, int parada) {
+        generacionLocal++;
+        if (generacionLocal == Integer.MAX_VALUE) {
+            Arrays.fill(marcaLocal, 0);
+            generacionLocal = 1;
+        }
+        int x0 = Math.min(clusterA % clustersX, clusterB % clustersX) * tamCluster;
+        int y0 = Math.min(clusterA / clustersX, clusterB / clustersX) * tamCluster;
+        int x1 = Math.min(width, (Math.max(clusterA % clustersX, clusterB % clustersX) + 1) * tamCluster) - 1;
+        int y1 = Math.min(height, (Math.max(clusterA / clustersX, clusterB / clustersX) + 1) * tamCluster) - 1;
+
+        heapSize = 0;
+        gLocal[origen] = 0;
+        padreLocal[origen] = NINGUNO;
+        marcaLocal[origen] = generacionLocal;
+        push(0, origen);
+
+        while (heapSize > 0) {
+            long top = heap[0];
+            int actual = (int) pop();
+            int g = (int) (top >>> 32);
+            if (g > gLocal[actual]) {
+                continue; // entrada vieja del montículo
+            }
+            if (actual == parada) {
+                return;
+            }
+            int cx = actual % width;
+            int cy = actual / width;
+            for (int d = 0; d < DX.length; d++) {
+                int nx = cx + DX[d];
+                int ny = cy + DY[d];
+                if (nx < x0 || ny < y0 || nx > x1 || ny > y1 || !transitable(nx, ny)) {
+                    continue;
+                }
+                if (d >= 4 && (!transitable(nx, cy) || !transitable(cx, ny))) {
+                    continue;
+                }
+                int vecino = ny * width + nx;
+                int costo = g + (d < 4 ? COSTO_RECTO : COSTO_DIAGONAL);
+                if (marcaLocal[vecino] != generacionLocal || costo < gLocal[vecino]) {
+                    marcaLocal[vecino] = generacionLocal;
+                    gLocal[vecino] = costo;
+                    padreLocal[vecino] = actual;
+                    push(costo, vecino);
+                }
+            }
+        }
+    }
+
+    private boolean vecinos(int clusterA, int clusterB) {
+        return Math.abs(clusterA % clustersX - clusterB % clustersX) <= 1
+                && Math.abs(clusterA / clustersX - clusterB / clustersX) <= 1;
+    }
+
+    private int costoLocal(int celda) {
+        return marcaLocal[celda] == generacionLocal ? gLocal[celda] : INFINITO;
+    }
+
+    private void nuevaGeneracionAbs() {
+        generacionAbs++;
+        if (generacionAbs == Integer.MAX_VALUE) {
+            Arrays.fill(marcaAbs, 0);
+            Arrays.fill(cerradoAbs, 0);
+            generacionAbs = 1;
+        }
+    }
+
+    private int heuristica(int celda, int meta) {
+        int dx = Math.abs(celda % width - meta % width);
+        int dy = Math.abs(celda / width - meta / width);
+        return COSTO_RECTO * (dx + dy) + (COSTO_DIAGONAL - 2 * COSTO_RECTO) * Math.min(dx, dy);
+    }
+
+    private boolean transitable(int x, int y) {
+        return x >= 0 && y >= 0 && x < width && y < height && !map.isBlocked(x, y);
+    }
+
+    // ========== MONTÍCULO BINARIO ==========
+
+    private void push(int f, int celda) {
+        if (heapSize == heap.length) {
+            heap = Arrays.copyOf(heap, heapSize * 2);
+        }
+        long v = ((long) f << 32) | celda;
+        int i = heapSize++;
+        while (i > 0) {
+            int p = (i - 1) >>> 1;
+            if (heap[p] <= v) {
+                break;
+            }
+            heap[i] = heap[p];
+            i = p;
+        }
+        heap[i] = v;
+    }
+
+    private long pop() {
+        long top = heap[0];
+        long ultimo = heap[--heapSize];
+        int i = 0;
+        int mitad = heapSize >>> 1;
+        while (i < mitad) {
+            int hijo = 2 * i + 1;
+            if (hijo + 1 < heapSize && heap[hijo + 1] < heap[hijo]) {
+                hijo++;
+            }
+            if (ultimo <= heap[hijo]) {
+                break;
+            }
+            heap[i] = heap[hijo];
+            i = hijo;
+        }
+        heap[i] = ultimo;
+        return top & 0xFFFFFFFFL;
+    }
+
+    // ========== CAMBIOS DE BLOQUEO ==========
+
+    /**
+     * Marca para recalcular solo lo que toca la celda: su cluster y, si está
+     * en un borde, las entradas de ese borde (que arrastran al cluster vecino).
+     */
+    @Override
+    public void onBlockChanged(int x, int y, boolean blocked) {
+        if (x < 0 || y < 0 || x >= width || y >= height) {
+            return;
+        }
+        int cx = x / tamCluster;
+        int cy = y / tamCluster;
+        int c = cy * clustersX + cx;
+        int lx = x % tamCluster;
+        int ly = y % tamCluster;
+
+        clusterSucio[c] = true;
+        if (lx == tamCluster - 1 && cx + 1 < clustersX) {
+            bordeDerechaSucio[c] = true;
+        }
+        if (lx == 0 && cx > 0) {
+            bordeDerechaSucio[c - 1] = true;
+        }
+        if (ly == tamCluster - 1 && cy + 1 < clustersY) {
+            bordeAbajoSucio[c] = true;
+        }
+        if (ly == 0 && cy > 0) {
+            bordeAbajoSucio[c - clustersX] = true;
+        }
+        haySuciedad = true;
+    }
+
+    /**
+     * Deja de escuchar los bloqueos del mapa (el grafo abstracto ya no se
+     * actualiza). Llamar al descartar el servicio.
+     */
+    public void close() {
+        map.removeBlockListener(this);
+    }
+
+    /**
+     * Clusters recalculados por cambios de bloqueo desde que se creó el servicio.
+     */
+    public int getReconstrucciones() {
+        return reconstrucciones;
+    }
+
+    public int getTamCluster() {
+        return tamCluster;
+    }
+
+    public int getClustersX() {
+        return clustersX;
+    }
+
+    public int getClustersY() {
+        return clustersY;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+}
@@ -0,0 +1,144 @@
+package org.oniteam.oregontrailfx.model;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Grabador compacto de la entrada por tick (máscara de GameEngine.INPUT_*).
+ * La entrada casi nunca cambia entre ticks, así que se guarda como corridas
+ * (máscara, cantidad de ticks): una partida de varios minutos ocupa pocos KB.
+ * Junto con la semilla de la GameSession permite repetir la partida exacta.
+ */
+public class InputRecorder {
+
+    private static final int MAGIC = 0x4F544952; // "OTIR"
+    private static final byte VERSION = 1;
+
+    private final long semilla;
+    private byte[] mascaras = new byte[64];
+    private int[] largos = new int[64];
+    private int corridas;
+    private long ticks;
+
+    /**
+     * @param semilla semilla de la sesión grabada
+     */
+    public InputRecorder(long semilla) {
+        this.semilla = semilla;
+    }
+
+    /**
+     * Registra la entrada de un tick.
+     *
+     * @param mascara bits de entrada del tick
+     */
+    public void record(int mascara) {
+        byte m = (byte) mascara;
+        if (corridas > 0 && mascaras[corridas - 1] == m) {
+            largos[corridas - 1]++;
+        } else {
+            if (corridas == mascaras.length) {
+                mascaras = Arrays.copyOf(mascaras, corridas * 2);
+                largos = Arrays.copyOf(largos, corridas * 2);
+            }
+            mascaras[corridas] = m;
+            largos[corridas] = 1;
+            corridas++;
+        }
+        ticks++;
+    }
+
+    /**
+     * Crea un reproductor sobre lo grabado hasta ahora.
+     *
+     * @return reproductor posicionado en el primer tick
+     */
+    public InputReplay toReplay() {
+        return new InputReplay(semilla, Arrays.copyOf(mascaras, corridas), Arrays.copyOf(largos, corridas));
+    }
+
+    /**
+     * Escribe la grabación en formato binario.
+     *
+     * @param out destino (no se cierra)
+     * @throws IOException si falla la escritura
+     */
+    public void write(OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeByte(VERSION);
+        data.writeLong(semilla);
+        data.writeInt(corridas);
+        for (int i = 0; i < corridas; i++) {
+            data.writeByte(mascaras[i]);
+            writeVarInt(data, largos[i]);
+        }
+        data.flush();
+    }
+
+    /**
+     * Lee una grabación escrita con {@link #write(OutputStream)}.
+     *
+     * @param in origen (no se cierra)
+     * @return reproductor de la grabación
+     * @throws IOException si el formato no es válido
+     */
+    public static InputReplay read(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(in);
+        if (data.readInt() != MAGIC) {
+            throw new IOException("No es una grabación de entrada de Oregon Trail");
+        }
+        byte version = data.readByte();
+        if (version != VERSION) {
+            throw new IOException("Versión de grabación no soportada: " + version);
+        }
+        long semilla = data.readLong();
+        int corridas = data.readInt();
+        if (corridas < 0) {
+            throw new IOException("Cantidad de corridas inválida: " + corridas);
+        }
+        byte[] mascaras = new byte[corridas];
+        int[] largos = new int[corridas];
+        for (int i = 0; i < corridas; i++) {
+            mascaras[i] = data.readByte();
+            largos[i] = readVarInt(data);
+        }
+        return new InputReplay(semilla, mascaras, largos);
+    }
+
+    private static void writeVarInt(DataOutputStream out, int valor) throws IOException {
+        while ((valor & ~0x7F) != 0) {
+            out.writeByte((valor & 0x7F) | 0x80);
+            valor >>>= 7;
+        }
+        out.writeByte(valor);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int valor = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.readUnsignedByte();
+            valor |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return valor;
+            }
+        }
+        throw new IOException("VarInt demasiado largo");
+    }
+
+    public long getSemilla() {
+        return semilla;
+    }
+
+    public long getTicks() {
+        return ticks;
+    }
+
+    public int getCorridas() {
+        return corridas;
+    }
+}
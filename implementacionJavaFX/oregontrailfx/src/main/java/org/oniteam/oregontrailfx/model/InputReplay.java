@@ -0,0 +1,66 @@
+package org.oniteam.oregontrailfx.model;
+
+/**
+ * Reproduce tick a tick una entrada grabada con {@link InputRecorder}.
+ */
+public class InputReplay {
+
+    private final long semilla;
+    private final byte[] mascaras;
+    private final int[] largos;
+    private final long totalTicks;
+    private int corrida;
+    private int restantesEnCorrida;
+
+    InputReplay(long semilla, byte[] mascaras, int[] largos) {
+        this.semilla = semilla;
+        this.mascaras = mascaras;
+        this.largos = largos;
+        long total = 0;
+        for (int largo : largos) {
+            total += largo;
+        }
+        this.totalTicks = total;
+        this.corrida = 0;
+        this.restantesEnCorrida = largos.length > 0 ? largos[0] : 0;
+    }
+
+    public boolean hasNext() {
+        return corrida < largos.length;
+    }
+
+    /**
+     * Entrega la máscara de entrada del siguiente tick.
+     *
+     * @return bits de entrada (GameEngine.INPUT_*)
+     */
+    public int next() {
+        if (!hasNext()) {
+            throw new IllegalStateException("La grabación no tiene más ticks");
+        }
+        int mascara = mascaras[corrida] & 0xFF;
+        if (--restantesEnCorrida == 0) {
+            corrida++;
+            if (corrida < largos.length) {
+                restantesEnCorrida = largos[corrida];
+            }
+        }
+        return mascara;
+    }
+
+    /**
+     * Vuelve al primer tick de la grabación.
+     */
+    public void rewind() {
+        corrida = 0;
+        restantesEnCorrida = largos.length > 0 ? largos[0] : 0;
+    }
+
+    public long getSemilla() {
+        return semilla;
+    }
+
+    public long getTotalTicks() {
+        return totalTicks;
+    }
+}
@@ -0,0 +1,222 @@
+package org.oniteam.oregontrailfx.model;
+
+import java.util.Arrays;
+
+/**
+ * Línea de visión sobre las celdas bloqueadas del mapa.
+ * <ul>
+ *   <li>{@link #hasLineOfSight(int, int, int, int)}: rayo de Bresenham entre
+ *       dos celdas, con caché por (celda origen, celda destino).</li>
+ *   <li>{@link #update(int, int)} + {@link #isVisibleFromPlayer(int, int)}:
+ *       visibilidad de todas las celdas alrededor del jugador calculada de una
+ *       vez con shadowcasting recursivo; cada enemigo la consulta en O(1) en
+ *       lugar de lanzar su propio rayo.</li>
+ * </ul>
+ * Ambos resultados se invalidan solo cuando el jugador cambia de celda o
+ * cambia el bloqueo del mapa ({@link MapLoader#getVersion()}); invalidar es
+ * subir un contador, no limpiar arreglos.
+ */
+public class LineOfSight {
+
+    // Multiplicadores de coordenadas para los 8 octantes
+    private static final int[][] OCTANTES = {
+            {1, 0, 0, -1, -1, 0, 0, 1},
+            {0, 1, -1, 0, 0, -1, 1, 0},
+            {0, 1, 1, 0, 0, -1, -1, 0},
+            {1, 0, 0, 1, -1, 0, 0, -1}
+    };
+    private static final int TAM_CACHE = 4096; // potencia de 2
+    private static final long SIN_CLAVE = -1L;
+
+    private final MapLoader map;
+    private final int width;
+    private final int height;
+    private final int radio;
+
+    // Visibilidad desde el jugador: visible[c] == generacion si se ve
+    private final int[] visible;
+    private int generacion;
+    private int jugadorX = Integer.MIN_VALUE;
+    private int jugadorY = Integer.MIN_VALUE;
+    private int versionMapa = -1;
+
+    // Caché de rayos de asignación directa, válida para generacionRayos
+    private final long[] claves = new long[TAM_CACHE];
+    private final boolean[] resultados = new boolean[TAM_CACHE];
+    private final int[] generacionEntrada = new int[TAM_CACHE];
+    private int generacionRayos = 1;
+    private int aciertos;
+
+    /**
+     * @param map mapa con los bloqueos
+     * @param width ancho del tablero en celdas
+     * @param height alto del tablero en celdas
+     * @param radio alcance de la visibilidad desde el jugador
+     */
+    public LineOfSight(MapLoader map, int width, int height, int radio) {
+        this.map = map;
+        this.width = width;
+        this.height = height;
+        this.radio = radio;
+        this.visible = new int[width * height];
+        Arrays.fill(claves, SIN_CLAVE);
+    }
+
+    /**
+     * Recalcula la visibilidad si el jugador cambió de celda o si cambió el
+     * bloqueo del mapa; si no, no hace nada.
+     *
+     * @return true si se recalculó
+     */
+    public boolean update(int px, int py) {
+        if (px == jugadorX && py == jugadorY && versionMapa == map.getVersion()) {
+            return false;
+        }
+        jugadorX = px;
+        jugadorY = py;
+        versionMapa = map.getVersion();
+        generacionRayos++;
+
+        generacion++;
+        if (generacion == Integer.MAX_VALUE) {
+            Arrays.fill(visible, 0);
+            generacion = 1;
+        }
+        if (dentro(px, py)) {
+            visible[py * width + px] = generacion;
+        }
+        for (int o = 0; o < 8; o++) {
+            proyectar(1, 1.0, 0.0, OCTANTES[0][o], OCTANTES[1][o], OCTANTES[2][o], OCTANTES[3][o]);
+        }
+        return true;
+    }
+
+    /**
+     * Shadowcasting recursivo de un octante (fila a fila, recortando el
+     * intervalo de pendientes con cada obstáculo).
+     */
+    private void proyectar(int fila, double inicio, double fin, int xx, int xy, int yx, int yy) {
+        if (inicio < fin) {
+            return;
+        }
+        int r2 = radio * radio;
+        double nuevoInicio = 0;
+        for (int j = fila; j <= radio; j++) {
+            int dy = -j;
+            boolean bloqueado = false;
+            for (int dx = -j; dx <= 0; dx++) {
+                double pendienteIzq = (dx - 0.5) / (dy + 0.5);
+                double pendienteDer = (dx + 0.5) / (dy - 0.5);
+                if (inicio < pendienteDer) {
+                    continue;
+                } else if (fin > pendienteIzq) {
+                    break;
+                }
+
+                int x = jugadorX + dx * xx + dy * xy;
+                int y = jugadorY + dx * yx + dy * yy;
+                if (dx * dx + dy * dy <= r2 && dentro(x, y)) {
+                    visible[y * width + x] = generacion;
+                }
+
+                boolean opaca = opaca(x, y);
+                if (bloqueado) {
+                    if (opaca) {
+                        nuevoInicio = pendienteDer;
+                    } else {
+                        bloqueado = false;
+                        inicio = nuevoInicio;
+                    }
+                } else if (opaca && j < radio) {
+                    bloqueado = true;
+                    proyectar(j + 1, inicio, pendienteIzq, xx, xy, yx, yy);
+                    nuevoInicio = pendienteDer;
+                }
+            }
+            if (bloqueado) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * @return true si la celda se ve desde la posición del último {@link #update}
+     */
+    public boolean isVisibleFromPlayer(int x, int y) {
+        return dentro(x, y) && visible[y * width + x] == generacion;
+    }
+
+    /**
+     * Rayo de Bresenham entre dos celdas: hay visión si ninguna celda
+     * intermedia está bloqueada (los extremos no cuentan).
+     */
+    public boolean hasLineOfSight(int x0, int y0, int x1, int y1) {
+        if (versionMapa != map.getVersion()) {
+            versionMapa = map.getVersion();
+            generacionRayos++;
+            jugadorX = Integer.MIN_VALUE; // la visibilidad también quedó vieja
+        }
+        long clave = ((long) celda(x0, y0) << 32) | (celda(x1, y1) & 0xFFFFFFFFL);
+        int i = (int) (Mezcla.splitMix64(clave) & (TAM_CACHE - 1));
+        if (claves[i] == clave && generacionEntrada[i] == generacionRayos) {
+            aciertos++;
+            return resultados[i];
+        }
+
+        boolean hay = trazar(x0, y0, x1, y1);
+        claves[i] = clave;
+        resultados[i] = hay;
+        generacionEntrada[i] = generacionRayos;
+        return hay;
+    }
+
+    private boolean trazar(int x0, int y0, int x1, int y1) {
+        int dx = Math.abs(x1 - x0);
+        int dy = -Math.abs(y1 - y0);
+        int sx = x0 < x1 ? 1 : -1;
+        int sy = y0 < y1 ? 1 : -1;
+        int err = dx + dy;
+        int x = x0;
+        int y = y0;
+        while (true) {
+            if ((x != x0 || y != y0) && (x != x1 || y != y1) && opaca(x, y)) {
+                return false;
+            }
+            if (x == x1 && y == y1) {
+                return true;
+            }
+            int e2 = 2 * err;
+            if (e2 >= dy) {
+                err += dy;
+                x += sx;
+            }
+            if (e2 <= dx) {
+                err += dx;
+                y += sy;
+            }
+        }
+    }
+
+    private int celda(int x, int y) {
+        return y * width + x;
+    }
+
+    private boolean opaca(int x, int y) {
+        return !dentro(x, y) || map.isBlocked(x, y);
+    }
+
+    private boolean dentro(int x, int y) {
+        return x >= 0 && y >= 0 && x < width && y < height;
+    }
+
+    /**
+     * Consultas de rayos resueltas desde la caché.
+     */
+    public int getAciertos() {
+        return aciertos;
+    }
+
+    public int getRadio() {
+        return radio;
+    }
+}
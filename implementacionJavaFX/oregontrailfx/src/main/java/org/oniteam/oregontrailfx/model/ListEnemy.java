@@ -3,14 +3,18 @@ package org.oniteam.oregontrailfx.model;
 public class ListEnemy {
 
     private NodeEnemy first;
+    private NodeEnemy last;
+    private int size;
 
     /**
      * Método: ListEnemy()
      * inicializa la lista de enemigos vacía
-     * Poscondición: la referencia 'first' queda en null
+     * Poscondición: las referencias 'first' y 'last' quedan en null
      */
     public ListEnemy() {
         first = null;
+        last = null;
+        size = 0;
     }
 
     public NodeEnemy getFirst() {
@@ -38,17 +42,11 @@ public class ListEnemy {
         if (first == null) {
             first = node;
         } else {
-            // caso: ya hay al menos un nodo
-            if (first.getNext() == null) {
-                first.setNext(node);
-            } else {
-                NodeEnemy current = first.getNext();
-                while (current.getNext() != null) {
-                    current = current.getNext();
-                }
-                current.setNext(node);
-            }
+            // caso: ya hay al menos un nodo, se engancha después del último
+            last.setNext(node);
         }
+        last = node;
+        size++;
     }
 
 
@@ -71,6 +69,9 @@ public class ListEnemy {
         }
         // caso base: eliminar el primero
         else if (first.getData().equals(goal)) {
+            if (last == first) {
+                last = null;
+            }
             first = first.getNext();
             deleted = true;
         }
@@ -79,6 +80,9 @@ public class ListEnemy {
             deleted = delete(first, first.getNext(), goal);
         }
 
+        if (deleted) {
+            size--;
+        }
         return deleted;
     }
 
@@ -90,6 +94,9 @@ public class ListEnemy {
         boolean deleted = false;
 
         if (current != null && current.getData().equals(goal)) {
+            if (last == current) {
+                last = previous;
+            }
             previous.setNext(current.getNext());
             current.setNext(null);
             deleted = true;
@@ -118,18 +125,12 @@ public class ListEnemy {
         }
         return msj;
     }
+    /**
+     * Método: contEnemies
+     * cantidad de enemigos en la lista, mantenida al agregar y borrar (O(1)).
+     */
     public int contEnemies() {
-        int cont = 0;
-        if (first != null) {
-            NodeEnemy current = first;
-            while (current != null) {
-                current = current.getNext();
-                cont ++;
-            }
-        }else{
-            cont = 0;
-        }
-        return  cont;
+        return size;
     }
 
 
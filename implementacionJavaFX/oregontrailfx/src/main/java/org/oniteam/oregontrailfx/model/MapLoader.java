@@ -1,34 +1,353 @@
 package org.oniteam.oregontrailfx.model;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mapa de celdas en formato binario compacto:
+ * <pre>
+ * int   MAGIC ("OTMP")
+ * short VERSION
+ * short reservado
+ * int   ancho
+ * int   alto
+ * short tiles[ancho * alto]        (fila por fila, rellenado a múltiplo de 8 bytes)
+ * long  colision[(ancho * alto + 63) / 64]  (bit i = celda i bloqueada)
+ * </pre>
+ * El archivo se abre con un {@link FileChannel} mapeado en memoria: la capa
+ * de tiles no se copia al heap y sus páginas se leen recién cuando se usan,
+ * así que cargar mapas al cambiar de escenario es casi instantáneo. La capa
+ * de colisión se copia de una vez a un {@link CollisionLayer} (un bit por
+ * celda, 2 MB para 4096x4096) que {@link #isBlocked} consulta directamente.
+ */
 public class MapLoader {
+
+    private static final int MAGIC = 0x4F544D50; // "OTMP"
+    private static final short VERSION = 1;
+    private static final int TAM_CABECERA = 16;
+
+    // Carpeta donde se buscan los .map compilados
+    private static final String PROPIEDAD_CARPETA = "oregontrail.maps.dir";
+    private static final String CARPETA_POR_DEFECTO = "maps";
+
     private final String name;
+    private final ByteBuffer datos;
+    private final int width;
+    private final int height;
+    private final CollisionLayer colision;
 
-    private MapLoader(String name){
+    // Cambios de bloqueo fuera de los límites del mapa (puertas, rocas que caen, etc.)
+    private final Map<Long, Boolean> cambios = new HashMap<>();
+    private final List<BlockListener> listeners = new ArrayList<>();
+    private int version;
+
+    /**
+     * Recibe un aviso cada vez que una celda cambia de bloqueada a libre o al revés.
+     */
+    public interface BlockListener {
+        void onBlockChanged(int x, int y, boolean blocked);
+    }
+
+    private MapLoader(String name, ByteBuffer datos){
         this.name = name;
+        this.datos = datos;
+        this.width = datos.getInt(8);
+        this.height = datos.getInt(12);
+        // La capa de tiles se lee del mapeo; la de colisión (un bit por celda)
+        // se copia una vez para que movimiento, pathfinding y spawn la compartan
+        int inicioColision = TAM_CABECERA + bytesTiles(width, height);
+        this.colision = CollisionLayer.read(width, height,
+                datos.slice(inicioColision, CollisionLayer.palabras(width, height) * Long.BYTES).asLongBuffer());
     }
 
+    /**
+     * Abre un mapa por nombre, en este orden:
+     * <ol>
+     *   <li>archivo en la carpeta de mapas (propiedad {@code oregontrail.maps.dir},
+     *       por defecto "maps"), mapeado en memoria;</li>
+     *   <li>mapa compilado en el build ({@code /maps/} del classpath), mapeado
+     *       si está en una carpeta o leído de una vez si está dentro del jar;</li>
+     *   <li>mapa integrado.</li>
+     * </ol>
+     */
     public static MapLoader of(String name){
-        return new MapLoader(name);
+        Path archivo = Paths.get(System.getProperty(PROPIEDAD_CARPETA, CARPETA_POR_DEFECTO), name);
+        if (Files.isRegularFile(archivo)) {
+            try {
+                return load(archivo);
+            } catch (IOException e) {
+                System.err.println("❌ Error cargando mapa " + archivo + ": " + e.getMessage());
+            }
+        }
+        URL recurso = MapLoader.class.getResource("/maps/" + name);
+        if (recurso != null) {
+            try {
+                if ("file".equals(recurso.getProtocol())) {
+                    return load(Paths.get(recurso.toURI()));
+                }
+                try (InputStream in = recurso.openStream()) {
+                    ByteBuffer datos = ByteBuffer.wrap(in.readAllBytes());
+                    validar(datos);
+                    return new MapLoader(name, datos);
+                }
+            } catch (IOException | URISyntaxException e) {
+                System.err.println("❌ Error cargando mapa " + recurso + ": " + e.getMessage());
+            }
+        }
+        return new MapLoader(name, integrado(name));
+    }
+
+    /**
+     * Mapea en memoria un archivo de mapa (solo lectura): los cambios de
+     * {@link #setBlocked} se aplican sobre la capa de colisión y no llegan
+     * al archivo.
+     *
+     * @throws IOException si no se puede leer o el formato no es válido
+     */
+    public static MapLoader load(Path archivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            long tam = canal.size();
+            if (tam < TAM_CABECERA) {
+                throw new IOException("Archivo de mapa demasiado corto: " + tam + " bytes");
+            }
+            ByteBuffer datos = canal.map(FileChannel.MapMode.READ_ONLY, 0, tam);
+            validar(datos);
+            return new MapLoader(archivo.getFileName().toString(), datos);
+        }
+    }
+
+    /**
+     * Crea un mapa en memoria a partir de sus capas (por ejemplo, recién generado).
+     */
+    public static MapLoader fromLayers(String name, TileGrid tiles, CollisionLayer colision) {
+        return new MapLoader(name, encode(tiles, colision));
+    }
+
+    /**
+     * Escribe un mapa en el formato binario.
+     *
+     * @param tiles tipo de cada celda, fila por fila (ancho * alto)
+     * @param blocked celdas bloqueadas, fila por fila (ancho * alto)
+     * @throws IOException si falla la escritura
+     */
+    public static void write(Path archivo, int width, int height, short[] tiles, boolean[] blocked) throws IOException {
+        write(archivo, new TileGrid(width, height, tiles), capaDe(width, height, blocked));
+    }
+
+    /**
+     * Escribe un mapa en el formato binario a partir de sus capas.
+     *
+     * @throws IOException si falla la escritura
+     */
+    public static void write(Path archivo, TileGrid tiles, CollisionLayer colision) throws IOException {
+        ByteBuffer datos = encode(tiles, colision);
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (datos.hasRemaining()) {
+                canal.write(datos);
+            }
+        }
+    }
+
+    private static CollisionLayer capaDe(int width, int height, boolean[] blocked) {
+        if (blocked.length != width * height) {
+            throw new IllegalArgumentException("Las capas deben tener " + width * height + " celdas");
+        }
+        CollisionLayer capa = new CollisionLayer(width, height);
+        for (int i = 0; i < blocked.length; i++) {
+            if (blocked[i]) {
+                capa.set(i % width, i / width, true);
+            }
+        }
+        return capa;
+    }
+
+    /**
+     * Codifica un mapa en el formato binario (buffer en el heap, listo para leer).
+     */
+    static ByteBuffer encode(TileGrid tiles, CollisionLayer colision) {
+        int width = tiles.getWidth();
+        int height = tiles.getHeight();
+        if (colision.getWidth() != width || colision.getHeight() != height) {
+            throw new IllegalArgumentException("Las capas deben tener el mismo tamaño");
+        }
+        int bytesColision = CollisionLayer.palabras(width, height) * Long.BYTES;
+        ByteBuffer datos = ByteBuffer.allocate(TAM_CABECERA + bytesTiles(width, height) + bytesColision);
+        datos.putInt(MAGIC).putShort(VERSION).putShort((short) 0).putInt(width).putInt(height);
+        datos.asShortBuffer().put(tiles.getTiles());
+        datos.position(TAM_CABECERA + bytesTiles(width, height));
+        colision.write(datos.asLongBuffer());
+        datos.clear();
+        return datos;
+    }
+
+    private static void validar(ByteBuffer datos) throws IOException {
+        if (datos.getInt(0) != MAGIC) {
+            throw new IOException("No es un mapa de Oregon Trail");
+        }
+        short version = datos.getShort(4);
+        if (version != VERSION) {
+            throw new IOException("Versión de mapa no soportada: " + version);
+        }
+        int width = datos.getInt(8);
+        int height = datos.getInt(12);
+        if (width < 0 || height < 0) {
+            throw new IOException("Dimensiones de mapa inválidas: " + width + "x" + height);
+        }
+        long esperado = TAM_CABECERA + bytesTiles(width, height) + (long) CollisionLayer.palabras(width, height) * Long.BYTES;
+        if (datos.capacity() < esperado) {
+            throw new IOException("Mapa truncado: se esperaban " + esperado + " bytes");
+        }
+    }
+
+    private static int bytesTiles(int width, int height) {
+        return (width * height * Short.BYTES + 7) & ~7;
+    }
+
+    /**
+     * Mapas integrados para cuando no hay archivo compilado.
+     */
+    private static ByteBuffer integrado(String name) {
+        if ("llanuras.map".equals(name)) {
+            int w = 20;
+            int h = 20;
+            boolean[] blocked = new boolean[w * h];
+            blocked[1 * w + 2] = true;  // Roca
+            blocked[5 * w + 7] = true;  // Árbol
+            blocked[3 * w + 10] = true; // Arbusto
+            return encode(new TileGrid(w, h), capaDe(w, h, blocked));
+        }
+        return encode(new TileGrid(0, 0), new CollisionLayer(0, 0)); // Todo transitable
     }
 
     public String getName(){
         return name;
     }
 
+    public int getWidth(){
+        return width;
+    }
+
+    public int getHeight(){
+        return height;
+    }
+
+    /**
+     * Tipo de tile de una celda (0 fuera del mapa).
+     */
+    public int getTile(int x, int y){
+        if (!dentro(x, y)) {
+            return 0;
+        }
+        return datos.getShort(TAM_CABECERA + (y * width + x) * Short.BYTES);
+    }
+
+    /**
+     * Copia la capa de tiles a un {@link TileGrid} (por ejemplo, para armar
+     * el {@link Scenario} del mapa).
+     */
+    public TileGrid toTileGrid(){
+        TileGrid grid = new TileGrid(width, height);
+        datos.slice(TAM_CABECERA, width * height * Short.BYTES).asShortBuffer().get(grid.getTiles());
+        return grid;
+    }
+
     /**
      * Verifica si una celda está bloqueada.
      * NOTA: Los límites del canvas se verifican en MovementController,
      * aquí solo verificamos obstáculos internos del mapa.
      */
     public boolean isBlocked(int x, int y){
-        // Ejemplo de celdas bloqueadas en llanuras
-        if ("llanuras.map".equals(name)) {
-            // Agregar algunos obstáculos
-            return (x == 2 && y == 1) ||  // Roca
-                    (x == 7 && y == 5) ||  // Árbol
-                    (x == 10 && y == 3);   // Arbusto
+        if (dentro(x, y)) {
+            return colision.isBlocked(x, y);
+        }
+        if (!cambios.isEmpty()) {
+            Boolean cambio = cambios.get(clave(x, y));
+            return cambio != null && cambio;
+        }
+        return false;
+    }
+
+    /**
+     * Cambia el estado de bloqueo de una celda y avisa a los listeners.
+     *
+     * @return true si el estado cambió
+     */
+    public boolean setBlocked(int x, int y, boolean blocked){
+        if (isBlocked(x, y) == blocked) {
+            return false;
+        }
+        if (dentro(x, y)) {
+            colision.set(x, y, blocked);
+        } else if (blocked) {
+            cambios.put(clave(x, y), true);
+        } else {
+            cambios.remove(clave(x, y));
+        }
+        version++;
+        for (BlockListener l : listeners) {
+            l.onBlockChanged(x, y, blocked);
+        }
+        return true;
+    }
+
+    /**
+     * ¿Hay alguna celda bloqueada en el rectángulo [x0, x1] x [y0, y1]?
+     * Dentro del mapa consulta la capa de colisión de a 64 celdas.
+     */
+    public boolean anyBlocked(int x0, int y0, int x1, int y1){
+        if (colision.anyBlocked(x0, y0, x1, y1)) {
+            return true;
+        }
+        for (Map.Entry<Long, Boolean> e : cambios.entrySet()) {
+            int x = (int) (e.getKey() >> 32);
+            int y = (int) (long) e.getKey();
+            if (e.getValue() && x >= x0 && x <= x1 && y >= y0 && y <= y1) {
+                return true;
+            }
         }
+        return false;
+    }
+
+    /**
+     * Capa de colisión compartida (solo la parte dentro de los límites del mapa).
+     */
+    public CollisionLayer getCollisionLayer(){
+        return colision;
+    }
+
+    public void addBlockListener(BlockListener listener){
+        listeners.add(listener);
+    }
+
+    public void removeBlockListener(BlockListener listener){
+        listeners.remove(listener);
+    }
+
+    /**
+     * Contador que aumenta con cada cambio de bloqueo; sirve para invalidar cachés.
+     */
+    public int getVersion(){
+        return version;
+    }
+
+    private boolean dentro(int x, int y){
+        return x >= 0 && y >= 0 && x < width && y < height;
+    }
 
-        return false; // Resto del mapa es transitable
+    private static long clave(int x, int y){
+        return ((long) x << 32) | (y & 0xFFFFFFFFL);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,21 @@
+package org.oniteam.oregontrailfx.model;
+
+/**
+ * Finalizador de SplitMix64, compartido por las semillas derivadas de la
+ * simulación y del generador de mapas y por el hash de la caché de visión.
+ */
+final class Mezcla {
+
+    private Mezcla() {
+    }
+
+    /**
+     * Mezcla los 64 bits de {@code z}: entradas consecutivas dan salidas sin
+     * relación aparente.
+     */
+    static long splitMix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -2,6 +2,9 @@ package org.oniteam.oregontrailfx.model;
 
 public class Player extends Thread {
 
+    // Límite máximo de vida
+    public static final int VIDA_MAXIMA = 3;
+
     private int x;
     private int y;
     private int vida;
@@ -60,7 +63,7 @@ public class Player extends Thread {
             try {
                 if (!pausado) {
                     // Regeneración muy lenta de salud (1 punto cada 30 segundos)
-                    if (hearts < vida && hearts < 3) {
+                    if (hearts < vida && hearts < VIDA_MAXIMA) {
                         hearts += 0.01; // Regeneración gradual
                         if (hearts > vida) {
                             hearts = vida;
@@ -147,8 +150,8 @@ public class Player extends Thread {
     public void heal(double h){
         hearts += Math.max(0, h);
         vida = (int)Math.round(hearts);
-        if (vida > 3) vida = 3; // Límite máximo de vida
-        if (hearts > 3) hearts = 3.0;
+        if (vida > VIDA_MAXIMA) vida = VIDA_MAXIMA;
+        if (hearts > VIDA_MAXIMA) hearts = VIDA_MAXIMA;
     }
 
     public int getCurrentAmmo() {
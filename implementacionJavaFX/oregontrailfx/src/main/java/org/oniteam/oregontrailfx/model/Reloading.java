@@ -1,14 +1,53 @@
 package org.oniteam.oregontrailfx.model;
 
+import org.oniteam.oregontrailfx.util.ConfigManager;
+
 public class Reloading {
+    public static final int T_RECARGA_POR_DEFECTO = 2000;
+    public static final int CARGADOR_POR_DEFECTO = 10;
+
     private final boolean auto;
     private final int tRecargaMs;
+    // Balas que repone cada recarga
+    private final int cargador;
     private boolean reloading = false;
+    private String weapon;
 
     public Reloading(boolean auto, int tRecargaMs){
+        this(auto, tRecargaMs, 0);
+    }
+
+    /**
+     * @param auto recargar solo al quedarse sin munición
+     * @param tRecargaMs duración de la recarga
+     * @param cargador balas que se reponen al terminar la recarga
+     */
+    public Reloading(boolean auto, int tRecargaMs, int cargador){
         this.auto = auto;
         this.tRecargaMs = tRecargaMs;
+        this.cargador = Math.max(0, cargador);
     }
+
+    /**
+     * Recarga automática con {@code game.reload_ms} y {@code game.rifle_magazine}
+     * de config.properties; usa los valores por defecto si faltan o no son números.
+     */
+    public static Reloading fromConfig(ConfigManager config) {
+        int ms = T_RECARGA_POR_DEFECTO;
+        int cargador = CARGADOR_POR_DEFECTO;
+        try {
+            ms = Integer.parseInt(config.getProperty("game.reload_ms", String.valueOf(T_RECARGA_POR_DEFECTO)).trim());
+        } catch (NumberFormatException e) {
+            System.err.println("⚠️ game.reload_ms inválido, se usa " + T_RECARGA_POR_DEFECTO);
+        }
+        try {
+            cargador = Integer.parseInt(config.getProperty("game.rifle_magazine", String.valueOf(CARGADOR_POR_DEFECTO)).trim());
+        } catch (NumberFormatException e) {
+            System.err.println("⚠️ game.rifle_magazine inválido, se usa " + CARGADOR_POR_DEFECTO);
+        }
+        return new Reloading(true, ms, cargador);
+    }
+
     public boolean isAuto(){
         return auto;
     }
@@ -17,15 +56,38 @@ public class Reloading {
         return tRecargaMs;
     }
 
+    public int getCargador(){
+        return cargador;
+    }
+
     public boolean isReloading(){
         return reloading;
     }
 
+    /**
+     * Arma que se está recargando (null si no hay recarga en curso).
+     */
+    public String getWeapon(){
+        return weapon;
+    }
+
     public void startReload(String weapon){
         reloading = true;
+        this.weapon = weapon;
+    }
+
+    /**
+     * Termina la recarga y repone el cargador del arma en la munición.
+     */
+    public void finishReload(AmmoManager ammo){
+        if (reloading && ammo != null && weapon != null) {
+            ammo.reload(weapon, cargador);
+        }
+        finishReload();
     }
 
     public void finishReload(){
         reloading = false;
+        weapon = null;
     }
 }
@@ -1,14 +1,22 @@
 package org.oniteam.oregontrailfx.model;
 
+/**
+ * Escenario de juego. El tablero vive en un {@link TileGrid} plano; la API
+ * {@code int[][]} ({@code board[x][y]}) se mantiene como adaptador.
+ */
 public class Scenario {
 
-    private int[][] board;
+    private TileGrid tiles;
     private TypeScenarios type;
     private int cantMaxRespawnEnemies;
     private int cantResources;
 
     public Scenario(int[][] board, TypeScenarios type) {
-        this.board = board;
+        this(TileGrid.fromBoard(board), type);
+    }
+
+    public Scenario(TileGrid tiles, TypeScenarios type) {
+        this.tiles = tiles;
         this.type = type;
         this.cantMaxRespawnEnemies = 0;
         this.cantResources = 0;
@@ -18,12 +26,33 @@ public class Scenario {
         this(new int[10][10], TypeScenarios.START);
     }
 
+    /**
+     * Copia del tablero en formato {@code board[x][y]}. Los cambios sobre la
+     * copia no afectan al escenario; para leer o editar sin copiar usar
+     * {@link #getTiles()}.
+     */
     public int[][] getBoard() {
-        return board;
+        return tiles.toBoard();
     }
 
     public void setBoard(int[][] board) {
-        this.board = board;
+        this.tiles = TileGrid.fromBoard(board);
+    }
+
+    public TileGrid getTiles() {
+        return tiles;
+    }
+
+    public void setTiles(TileGrid tiles) {
+        this.tiles = tiles;
+    }
+
+    public int getWidth() {
+        return tiles.getWidth();
+    }
+
+    public int getHeight() {
+        return tiles.getHeight();
     }
 
     public TypeScenarios getType() {
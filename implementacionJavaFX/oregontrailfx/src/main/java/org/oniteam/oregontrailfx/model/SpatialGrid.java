@@ -0,0 +1,246 @@
+package org.oniteam.oregontrailfx.model;
+
+import java.util.Arrays;
+
+/**
+ * Índice espacial por celdas sobre el tablero del escenario.
+ * Cada celda guarda una lista doblemente enlazada intrusiva (arreglos de
+ * enteros, sin nodos) con los ids de las entidades que están en ella, así que
+ * insertar, mover y eliminar cuestan O(1).
+ * Las consultas "quién está en esta celda" y "quién está a distancia r"
+ * recorren solo las celdas vecinas: su costo depende de la densidad local,
+ * no del total de enemigos.
+ */
+public class SpatialGrid {
+
+    private static final int NINGUNO = -1;
+
+    private final int width;
+    private final int height;
+    private final int[] cabeza; // primer id de cada celda
+
+    // Datos por id
+    private int[] siguiente;
+    private int[] anterior;
+    private int[] celda;
+    private int[] posX;
+    private int[] posY;
+
+    private CellListener cellListener;
+
+    /**
+     * Recibe un aviso cuando una celda pasa de vacía a ocupada o al revés.
+     */
+    public interface CellListener {
+        void onCellOccupied(int x, int y);
+
+        void onCellEmptied(int x, int y);
+    }
+
+    public SpatialGrid(int width, int height) {
+        this.width = Math.max(1, width);
+        this.height = Math.max(1, height);
+        this.cabeza = new int[this.width * this.height];
+        Arrays.fill(cabeza, NINGUNO);
+        asegurarCapacidad(64);
+    }
+
+    private void asegurarCapacidad(int ids) {
+        int anteriorCap = celda == null ? 0 : celda.length;
+        if (ids <= anteriorCap) {
+            return;
+        }
+        int cap = Math.max(ids, anteriorCap * 2);
+        siguiente = anteriorCap == 0 ? new int[cap] : Arrays.copyOf(siguiente, cap);
+        anterior = anteriorCap == 0 ? new int[cap] : Arrays.copyOf(anterior, cap);
+        posX = anteriorCap == 0 ? new int[cap] : Arrays.copyOf(posX, cap);
+        posY = anteriorCap == 0 ? new int[cap] : Arrays.copyOf(posY, cap);
+        celda = anteriorCap == 0 ? new int[cap] : Arrays.copyOf(celda, cap);
+        Arrays.fill(celda, anteriorCap, cap, NINGUNO);
+    }
+
+    /**
+     * Celda donde se guarda una posición; las posiciones fuera del tablero se
+     * agrupan en el borde más cercano (las consultas comparan la posición exacta).
+     */
+    private int celdaDe(int x, int y) {
+        int cx = Math.min(width - 1, Math.max(0, x));
+        int cy = Math.min(height - 1, Math.max(0, y));
+        return cy * width + cx;
+    }
+
+    /**
+     * Inserta una entidad en el índice.
+     *
+     * @param id identificador no negativo (por ejemplo, el handle de EnemyStore)
+     */
+    public void insert(int id, int x, int y) {
+        asegurarCapacidad(id + 1);
+        if (celda[id] != NINGUNO) {
+            remove(id);
+        }
+        posX[id] = x;
+        posY[id] = y;
+        enlazar(id, celdaDe(x, y));
+    }
+
+    /**
+     * Quita una entidad del índice.
+     *
+     * @return true si estaba indexada
+     */
+    public boolean remove(int id) {
+        if (!contains(id)) {
+            return false;
+        }
+        desenlazar(id);
+        return true;
+    }
+
+    /**
+     * Actualiza la posición de una entidad; solo cambia de lista si cambia de celda.
+     */
+    public void move(int id, int nx, int ny) {
+        if (!contains(id)) {
+            insert(id, nx, ny);
+            return;
+        }
+        posX[id] = nx;
+        posY[id] = ny;
+        int nueva = celdaDe(nx, ny);
+        if (nueva != celda[id]) {
+            desenlazar(id);
+            enlazar(id, nueva);
+        }
+    }
+
+    public boolean contains(int id) {
+        return id >= 0 && id < celda.length && celda[id] != NINGUNO;
+    }
+
+    private void enlazar(int id, int c) {
+        int primero = cabeza[c];
+        siguiente[id] = primero;
+        anterior[id] = NINGUNO;
+        if (primero != NINGUNO) {
+            anterior[primero] = id;
+        }
+        cabeza[c] = id;
+        celda[id] = c;
+        if (primero == NINGUNO && cellListener != null) {
+            cellListener.onCellOccupied(c % width, c / width);
+        }
+    }
+
+    private void desenlazar(int id) {
+        int c = celda[id];
+        int sig = siguiente[id];
+        int ant = anterior[id];
+        if (ant != NINGUNO) {
+            siguiente[ant] = sig;
+        } else {
+            cabeza[c] = sig;
+        }
+        if (sig != NINGUNO) {
+            anterior[sig] = ant;
+        }
+        celda[id] = NINGUNO;
+        if (cabeza[c] == NINGUNO && cellListener != null) {
+            cellListener.onCellEmptied(c % width, c / width);
+        }
+    }
+
+    /**
+     * Elimina todas las entidades.
+     */
+    public void clear() {
+        if (cellListener != null) {
+            for (int c = 0; c < cabeza.length; c++) {
+                if (cabeza[c] != NINGUNO) {
+                    cellListener.onCellEmptied(c % width, c / width);
+                }
+            }
+        }
+        Arrays.fill(cabeza, NINGUNO);
+        Arrays.fill(celda, NINGUNO);
+    }
+
+    /**
+     * Cuenta las entidades ubicadas exactamente en una celda.
+     */
+    public int countAt(int x, int y) {
+        int cont = 0;
+        for (int id = cabeza[celdaDe(x, y)]; id != NINGUNO; id = siguiente[id]) {
+            if (posX[id] == x && posY[id] == y) {
+                cont++;
+            }
+        }
+        return cont;
+    }
+
+    /**
+     * Copia en {@code out} los ids de las entidades ubicadas en una celda.
+     *
+     * @return cantidad encontrada (puede superar out.length; solo se copian las que caben)
+     */
+    public int queryCell(int x, int y, int[] out) {
+        int cont = 0;
+        for (int id = cabeza[celdaDe(x, y)]; id != NINGUNO; id = siguiente[id]) {
+            if (posX[id] == x && posY[id] == y) {
+                if (cont < out.length) {
+                    out[cont] = id;
+                }
+                cont++;
+            }
+        }
+        return cont;
+    }
+
+    /**
+     * Copia en {@code out} los ids de las entidades a distancia euclidiana
+     * menor o igual a {@code radio} de (x, y). No crea objetos.
+     *
+     * @return cantidad encontrada (puede superar out.length; solo se copian las que caben)
+     */
+    public int queryRadius(int x, int y, double radio, int[] out) {
+        int r = (int) Math.ceil(radio);
+        double radio2 = radio * radio;
+        int minX = Math.max(0, x - r);
+        int maxX = Math.min(width - 1, x + r);
+        int minY = Math.max(0, y - r);
+        int maxY = Math.min(height - 1, y + r);
+
+        int cont = 0;
+        for (int cy = minY; cy <= maxY; cy++) {
+            int fila = cy * width;
+            for (int cx = minX; cx <= maxX; cx++) {
+                for (int id = cabeza[fila + cx]; id != NINGUNO; id = siguiente[id]) {
+                    long dx = posX[id] - x;
+                    long dy = posY[id] - y;
+                    if (dx * dx + dy * dy <= radio2) {
+                        if (cont < out.length) {
+                            out[cont] = id;
+                        }
+                        cont++;
+                    }
+                }
+            }
+        }
+        return cont;
+    }
+
+    /**
+     * Registra quién recibe los cambios de ocupación de celdas (null para ninguno).
+     */
+    public void setCellListener(CellListener listener) {
+        this.cellListener = listener;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+}
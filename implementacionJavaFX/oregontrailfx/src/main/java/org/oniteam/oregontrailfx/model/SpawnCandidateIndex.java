@@ -0,0 +1,246 @@
+package org.oniteam.oregontrailfx.model;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Índice de celdas candidatas para spawnear enemigos.
+ * Mantiene una lista compacta con las celdas transitables, libres y fuera del
+ * radio seguro del jugador, más el slot de cada celda dentro de la lista, así
+ * que agregar o quitar una celda cuesta O(1) (swap-remove) y elegir una
+ * posición es un solo sorteo, sin reintentos.
+ * <ul>
+ *   <li>Bloqueos: se entera por {@link MapLoader.BlockListener}.</li>
+ *   <li>Ocupación: se entera por {@link SpatialGrid.CellListener}.</li>
+ *   <li>Radio seguro: al moverse el jugador solo se actualiza la diferencia
+ *       entre el disco anterior y el nuevo.</li>
+ * </ul>
+ * Con separación mayor a 0 funciona en modo Poisson-disk: cada celda ocupada
+ * cubre además las celdas a esa distancia, así los spawns quedan repartidos
+ * sin acercarse a otros enemigos.
+ */
+public class SpawnCandidateIndex implements MapLoader.BlockListener, SpatialGrid.CellListener {
+
+    public static final int NINGUNA = -1;
+
+    // Motivos por los que una celda no es candidata
+    private static final byte BLOQUEADA = 1;
+    private static final byte CUBIERTA = 1 << 1;
+    private static final byte ZONA_SEGURA = 1 << 2;
+
+    private final MapLoader map;
+    private final int width;
+    private final int height;
+    private final int radioSeguro;
+    private final int separacion;
+
+    private final byte[] motivos;
+    private final int[] cobertura;   // celdas ocupadas a distancia <= separacion
+    private final int[] candidatas;  // celdas empaquetadas (y * width + x)
+    private final int[] slot;        // posición de cada celda en candidatas, o NINGUNA
+    private int cantCandidatas;
+
+    private int jugadorX = NINGUNA;
+    private int jugadorY = NINGUNA;
+
+    /**
+     * Índice sin separación entre enemigos (solo excluye celdas ocupadas).
+     */
+    public SpawnCandidateIndex(MapLoader map, int width, int height, int radioSeguro) {
+        this(map, width, height, radioSeguro, 0);
+    }
+
+    /**
+     * @param map mapa con los bloqueos (se registra como listener)
+     * @param width ancho del tablero en celdas
+     * @param height alto del tablero en celdas
+     * @param radioSeguro distancia mínima al jugador
+     * @param separacion distancia mínima a cualquier enemigo (modo Poisson-disk si es mayor a 0)
+     */
+    public SpawnCandidateIndex(MapLoader map, int width, int height, int radioSeguro, int separacion) {
+        this.map = map;
+        this.width = width;
+        this.height = height;
+        this.radioSeguro = radioSeguro;
+        this.separacion = Math.max(0, separacion);
+        int celdas = width * height;
+        this.motivos = new byte[celdas];
+        this.cobertura = new int[celdas];
+        this.candidatas = new int[celdas];
+        this.slot = new int[celdas];
+        Arrays.fill(slot, NINGUNA);
+
+        for (int y = 0; y < height; y++) {
+            // Las filas sin obstáculos se resuelven de a 64 celdas por palabra
+            boolean filaLibre = !map.anyBlocked(0, y, width - 1, y);
+            for (int x = 0; x < width; x++) {
+                int c = y * width + x;
+                if (!filaLibre && map.isBlocked(x, y)) {
+                    motivos[c] = BLOQUEADA;
+                } else {
+                    agregar(c);
+                }
+            }
+        }
+        map.addBlockListener(this);
+    }
+
+    /**
+     * Sortea una celda candidata.
+     *
+     * @return celda empaquetada (y * width + x) o NINGUNA si no hay candidatas
+     */
+    public int pick(RandomGenerator random) {
+        if (cantCandidatas == 0) {
+            return NINGUNA;
+        }
+        return candidatas[random.nextInt(cantCandidatas)];
+    }
+
+    /**
+     * Mueve el disco del radio seguro a la posición del jugador. Solo recorre
+     * las celdas que entran o salen del disco, no todo el tablero.
+     */
+    public void setPlayer(int px, int py) {
+        if (px == jugadorX && py == jugadorY) {
+            return;
+        }
+        int ax = jugadorX;
+        int ay = jugadorY;
+        jugadorX = px;
+        jugadorY = py;
+        if (radioSeguro <= 0) {
+            return;
+        }
+
+        int r = radioSeguro;
+        int r2 = r * r;
+        if (ax != NINGUNA) {
+            // Celdas que salen del disco
+            for (int y = Math.max(0, ay - r); y <= Math.min(height - 1, ay + r); y++) {
+                for (int x = Math.max(0, ax - r); x <= Math.min(width - 1, ax + r); x++) {
+                    if (dist2(x, y, ax, ay) < r2 && dist2(x, y, px, py) >= r2) {
+                        quitarMotivo(y * width + x, ZONA_SEGURA);
+                    }
+                }
+            }
+        }
+        // Celdas que entran al disco
+        for (int y = Math.max(0, py - r); y <= Math.min(height - 1, py + r); y++) {
+            for (int x = Math.max(0, px - r); x <= Math.min(width - 1, px + r); x++) {
+                if (dist2(x, y, px, py) < r2 && (ax == NINGUNA || dist2(x, y, ax, ay) >= r2)) {
+                    ponerMotivo(y * width + x, ZONA_SEGURA);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void onBlockChanged(int x, int y, boolean blocked) {
+        if (!dentro(x, y)) {
+            return;
+        }
+        if (blocked) {
+            ponerMotivo(y * width + x, BLOQUEADA);
+        } else {
+            quitarMotivo(y * width + x, BLOQUEADA);
+        }
+    }
+
+    @Override
+    public void onCellOccupied(int x, int y) {
+        cubrir(x, y, 1);
+    }
+
+    @Override
+    public void onCellEmptied(int x, int y) {
+        cubrir(x, y, -1);
+    }
+
+    /**
+     * Suma (o resta) cobertura a las celdas a distancia <= separacion de (cx, cy).
+     */
+    private void cubrir(int cx, int cy, int delta) {
+        int s = separacion;
+        int s2 = s * s;
+        for (int y = Math.max(0, cy - s); y <= Math.min(height - 1, cy + s); y++) {
+            for (int x = Math.max(0, cx - s); x <= Math.min(width - 1, cx + s); x++) {
+                if (dist2(x, y, cx, cy) > s2) {
+                    continue;
+                }
+                int c = y * width + x;
+                int antes = cobertura[c];
+                cobertura[c] = antes + delta;
+                if (antes == 0 && delta > 0) {
+                    ponerMotivo(c, CUBIERTA);
+                } else if (antes + delta == 0) {
+                    quitarMotivo(c, CUBIERTA);
+                }
+            }
+        }
+    }
+
+    private void ponerMotivo(int c, byte motivo) {
+        if (motivos[c] == 0) {
+            quitar(c);
+        }
+        motivos[c] |= motivo;
+    }
+
+    private void quitarMotivo(int c, byte motivo) {
+        if (motivos[c] == 0) {
+            return;
+        }
+        motivos[c] &= ~motivo;
+        if (motivos[c] == 0) {
+            agregar(c);
+        }
+    }
+
+    private void agregar(int c) {
+        slot[c] = cantCandidatas;
+        candidatas[cantCandidatas++] = c;
+    }
+
+    private void quitar(int c) {
+        int s = slot[c];
+        int ultima = candidatas[--cantCandidatas];
+        candidatas[s] = ultima;
+        slot[ultima] = s;
+        slot[c] = NINGUNA;
+    }
+
+    private static int dist2(int x, int y, int ox, int oy) {
+        int dx = x - ox;
+        int dy = y - oy;
+        return dx * dx + dy * dy;
+    }
+
+    /**
+     * Deja de escuchar los bloqueos del mapa. Llamar al descartar el índice;
+     * si no, el mapa lo sigue reteniendo y avisándole cada bloqueo.
+     */
+    public void close() {
+        map.removeBlockListener(this);
+    }
+
+    private boolean dentro(int x, int y) {
+        return x >= 0 && y >= 0 && x < width && y < height;
+    }
+
+    public boolean isCandidate(int x, int y) {
+        return dentro(x, y) && slot[y * width + x] != NINGUNA;
+    }
+
+    public int size() {
+        return cantCandidatas;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getSeparacion() {
+        return separacion;
+    }
+}
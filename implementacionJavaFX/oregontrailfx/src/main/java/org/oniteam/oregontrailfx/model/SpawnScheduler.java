@@ -0,0 +1,120 @@
+package org.oniteam.oregontrailfx.model;
+
+import org.oniteam.oregontrailfx.util.ConfigManager;
+
+/**
+ * Decide cuántos enemigos pueden aparecer en cada tick según el tiempo de
+ * juego transcurrido, no según los frames dibujados.
+ * <ul>
+ *   <li>Tasa: cubeta de tokens que se llena a {@code game.spawn_rate}
+ *       enemigos por segundo, con capacidad para un segundo de ráfaga.</li>
+ *   <li>Tope: el menor entre el del escenario
+ *       ({@link Scenario#getCantMaxRespawnEnemies()}) y {@code game.max_enemies}.</li>
+ *   <li>Presupuesto: nunca más de N spawns en un mismo tick.</li>
+ * </ul>
+ */
+public class SpawnScheduler {
+
+    public static final double TASA_POR_DEFECTO = 5.0;
+    public static final int MAX_ENEMIGOS_POR_DEFECTO = 10;
+    public static final int PRESUPUESTO_POR_DEFECTO = 1;
+
+    // Un token equivale a esta cantidad de crédito; se lleva en enteros para
+    // que sumar muchos intervalos cortos no acumule error de redondeo
+    private static final long CREDITO_POR_TOKEN = 1_000_000_000L;
+
+    private final double spawnsPorSegundo;
+    private final int maxEnemigos;
+    private final int presupuestoPorTick;
+    private final long capacidad;
+    private long credito;
+
+    public SpawnScheduler() {
+        this(TASA_POR_DEFECTO, MAX_ENEMIGOS_POR_DEFECTO, PRESUPUESTO_POR_DEFECTO);
+    }
+
+    /**
+     * @param spawnsPorSegundo enemigos por segundo de juego
+     * @param maxEnemigos tope global de enemigos vivos
+     * @param presupuestoPorTick máximo de spawns en un solo tick
+     */
+    public SpawnScheduler(double spawnsPorSegundo, int maxEnemigos, int presupuestoPorTick) {
+        this.spawnsPorSegundo = Math.max(0, spawnsPorSegundo);
+        this.maxEnemigos = Math.max(0, maxEnemigos);
+        this.presupuestoPorTick = Math.max(0, presupuestoPorTick);
+        this.capacidad = (long) (Math.max(1.0, this.spawnsPorSegundo) * CREDITO_POR_TOKEN);
+        this.credito = 0;
+    }
+
+    /**
+     * Crea el planificador con {@code game.spawn_rate} y {@code game.max_enemies}
+     * de config.properties; usa los valores por defecto si faltan o no son números.
+     */
+    public static SpawnScheduler fromConfig(ConfigManager config) {
+        double tasa = TASA_POR_DEFECTO;
+        int max = MAX_ENEMIGOS_POR_DEFECTO;
+        try {
+            tasa = Double.parseDouble(config.getProperty("game.spawn_rate", String.valueOf(TASA_POR_DEFECTO)).trim());
+        } catch (NumberFormatException e) {
+            System.err.println("⚠️ game.spawn_rate inválido, se usa " + TASA_POR_DEFECTO);
+        }
+        try {
+            max = Integer.parseInt(config.getProperty("game.max_enemies", String.valueOf(MAX_ENEMIGOS_POR_DEFECTO)).trim());
+        } catch (NumberFormatException e) {
+            System.err.println("⚠️ game.max_enemies inválido, se usa " + MAX_ENEMIGOS_POR_DEFECTO);
+        }
+        return new SpawnScheduler(tasa, max, PRESUPUESTO_POR_DEFECTO);
+    }
+
+    /**
+     * Suma a la cubeta los tokens correspondientes al tiempo de juego.
+     *
+     * @param elapsedNanos tiempo de juego transcurrido
+     */
+    public void advance(long elapsedNanos) {
+        long ganado = Math.round(Math.max(0, elapsedNanos) * spawnsPorSegundo);
+        credito = Math.min(capacidad, credito + ganado);
+    }
+
+    /**
+     * Cantidad de enemigos que se pueden spawnear ahora mismo.
+     *
+     * @param vivos enemigos vivos
+     * @param scenario escenario actual (aporta su propio tope)
+     */
+    public int budget(int vivos, Scenario scenario) {
+        int libres = getCap(scenario) - vivos;
+        int tokens = (int) (credito / CREDITO_POR_TOKEN);
+        return Math.max(0, Math.min(Math.min(tokens, presupuestoPorTick), libres));
+    }
+
+    /**
+     * Descuenta de la cubeta los enemigos que efectivamente aparecieron.
+     */
+    public void consume(int spawneados) {
+        credito = Math.max(0, credito - spawneados * CREDITO_POR_TOKEN);
+    }
+
+    /**
+     * Tope efectivo de enemigos vivos en el escenario.
+     */
+    public int getCap(Scenario scenario) {
+        return Math.min(scenario.getCantMaxRespawnEnemies(), maxEnemigos);
+    }
+
+    public double getTokens() {
+        return (double) credito / CREDITO_POR_TOKEN;
+    }
+
+    public double getSpawnsPorSegundo() {
+        return spawnsPorSegundo;
+    }
+
+    public int getMaxEnemigos() {
+        return maxEnemigos;
+    }
+
+    public int getPresupuestoPorTick() {
+        return presupuestoPorTick;
+    }
+}
@@ -1,19 +1,33 @@
 package org.oniteam.oregontrailfx.model;
 import java.util.Random;
+import java.util.random.RandomGenerator;
 
 public class Spawner {
+    // Resultado de findValidPosition cuando no hay posición libre
+    private static final long SIN_POSICION = -1L;
+
     private ListEnemy enemies;
     private int densidadMax;
     private int radioSeguro;
-    private Random random;
+    private RandomGenerator random;
+    // Índice de celdas candidatas; si es null se usan intentos al azar
+    private SpawnCandidateIndex candidatas;
 
     /**
      * Constructor corregido: inicializa enemies para evitar NullPointerException
      */
     public Spawner(int densidadMax, int radioSeguro) {
+        this(densidadMax, radioSeguro, new Random());
+    }
+
+    /**
+     * Constructor con fuente aleatoria explícita (por ejemplo, la de la GameSession)
+     * para que los spawns sean reproducibles.
+     */
+    public Spawner(int densidadMax, int radioSeguro, RandomGenerator random) {
         this.densidadMax = densidadMax;
         this.radioSeguro = radioSeguro;
-        this.random = new Random();
+        this.random = random;
         this.enemies = new ListEnemy();
     }
 
@@ -54,26 +68,79 @@ public class Spawner {
             return;
         }
 
-        SpawnPos pos = findValidPosition(map, p);
-        if (pos == null) {
+        long pos = findValidPosition(map, p);
+        if (pos == SIN_POSICION) {
             return;
         }
 
-        Enemy e = new Enemy(pos.getPosX(), pos.getPosY());
+        Enemy e = new Enemy(posX(pos), posY(pos));
         enemies.addEnemy(e);
     }
 
     /**
-     * Busca una posición válida fuera del radio seguro del jugador.
+     * Usa un índice de celdas candidatas para elegir la posición de spawn en
+     * un solo sorteo (null para volver a los intentos al azar).
+     */
+    public void setCandidateIndex(SpawnCandidateIndex candidatas) {
+        this.candidatas = candidatas;
+    }
+
+    public SpawnCandidateIndex getCandidateIndex() {
+        return candidatas;
+    }
+
+    /**
+     * Spawnea en el almacén los enemigos que permita el planificador para el
+     * tiempo de juego transcurrido (tasa, tope del escenario y presupuesto
+     * por tick), sin importar cada cuánto se llame.
+     *
+     * @param map el escenario actual
+     * @param p el jugador
+     * @param store almacén donde se agregan los enemigos
+     * @param scheduler planificador de spawns
+     * @param elapsedNanos tiempo de juego desde la llamada anterior
+     * @return enemigos agregados
+     */
+    public int tickSpawn(Scenario map, Player p, EnemyStore store, SpawnScheduler scheduler, long elapsedNanos){
+        scheduler.advance(elapsedNanos);
+        int cupo = scheduler.budget(store.size(), map);
+
+        int agregados = 0;
+        while (agregados < cupo) {
+            long pos = findValidPosition(map, p);
+            if (pos == SIN_POSICION) {
+                break;
+            }
+            store.add(posX(pos), posY(pos), null);
+            agregados++;
+        }
+
+        scheduler.consume(agregados);
+        return agregados;
+    }
+
+    /**
+     * Busca una posición válida fuera del radio seguro del jugador: un sorteo
+     * sobre el índice de candidatas si hay uno, o hasta 30 intentos al azar.
      *
      * @param map escenario actual
      * @param player jugador
-     * @return posición válida o null si no encuentra en 30 intentos
+     * @return posición empaquetada (x en los 32 bits altos, y en los bajos)
+     *         o SIN_POSICION si no encuentra en 30 intentos
      */
-    private SpawnPos findValidPosition(Scenario map, Player player) {
+    private long findValidPosition(Scenario map, Player player) {
+        if (candidatas != null) {
+            candidatas.setPlayer(player.getX(), player.getY());
+            int celda = candidatas.pick(random);
+            if (celda == SpawnCandidateIndex.NINGUNA) {
+                return SIN_POSICION;
+            }
+            return ((long) (celda % candidatas.getWidth()) << 32) | (celda / candidatas.getWidth());
+        }
+
         int intentos = 30;
-        int width = map.getBoard().length;
-        int height = map.getBoard()[0].length;
+        int width = map.getWidth();
+        int height = map.getHeight();
 
         for (int i = 0; i < intentos; i++) {
             int x = random.nextInt(width);
@@ -83,10 +150,18 @@ public class Spawner {
                 continue;
             }
 
-            return new SpawnPos(x, y);
+            return ((long) x << 32) | y;
         }
 
-        return null;
+        return SIN_POSICION;
+    }
+
+    private static int posX(long pos) {
+        return (int) (pos >>> 32);
+    }
+
+    private static int posY(long pos) {
+        return (int) pos;
     }
 
     /**
@@ -0,0 +1,151 @@
+package org.oniteam.oregontrailfx.model;
+
+import java.nio.ShortBuffer;
+import java.util.Arrays;
+
+/**
+ * Tablero de tiles en un solo {@code short[]} plano, fila por fila
+ * (índice y * width + x). Frente a un {@code int[][]} ocupa la mitad de
+ * memoria, no tiene un objeto por fila y cada acceso es un solo arreglo,
+ * así que los recorridos completos aprovechan mucho mejor la caché.
+ */
+public class TileGrid {
+
+    private final int width;
+    private final int height;
+    private final short[] tiles;
+
+    public TileGrid(int width, int height) {
+        if (width < 0 || height < 0) {
+            throw new IllegalArgumentException("Dimensiones inválidas: " + width + "x" + height);
+        }
+        this.width = width;
+        this.height = height;
+        this.tiles = new short[width * height];
+    }
+
+    /**
+     * @param tiles tipo de cada celda, fila por fila; se usa sin copiar
+     */
+    public TileGrid(int width, int height, short[] tiles) {
+        if (width < 0 || height < 0 || tiles.length != width * height) {
+            throw new IllegalArgumentException("Tablero inválido para " + width + "x" + height);
+        }
+        this.width = width;
+        this.height = height;
+        this.tiles = tiles;
+    }
+
+    /**
+     * Convierte un tablero con el formato de {@link Scenario} ({@code board[x][y]}).
+     *
+     * @throws IllegalArgumentException si las columnas no tienen todas el
+     *         mismo largo o algún valor no entra en un short
+     */
+    public static TileGrid fromBoard(int[][] board) {
+        int w = board.length;
+        int h = w > 0 ? board[0].length : 0;
+        TileGrid grid = new TileGrid(w, h);
+        for (int x = 0; x < w; x++) {
+            int[] columna = board[x];
+            if (columna.length != h) {
+                throw new IllegalArgumentException("La columna " + x + " tiene " + columna.length
+                        + " celdas y se esperaban " + h);
+            }
+            for (int y = 0; y < h; y++) {
+                int valor = columna[y];
+                if (valor < Short.MIN_VALUE || valor > Short.MAX_VALUE) {
+                    throw new IllegalArgumentException("Tile fuera de rango en (" + x + "," + y + "): " + valor);
+                }
+                grid.tiles[y * w + x] = (short) valor;
+            }
+        }
+        return grid;
+    }
+
+    /**
+     * Copia el tablero al formato {@code board[x][y]} de {@link Scenario}.
+     */
+    public int[][] toBoard() {
+        int[][] board = new int[width][height];
+        for (int y = 0; y < height; y++) {
+            int fila = y * width;
+            for (int x = 0; x < width; x++) {
+                board[x][y] = tiles[fila + x];
+            }
+        }
+        return board;
+    }
+
+    public int get(int x, int y) {
+        return tiles[y * width + x];
+    }
+
+    public void set(int x, int y, int tile) {
+        tiles[y * width + x] = (short) tile;
+    }
+
+    /**
+     * Vista de una fila sin copiar: escribir en ella modifica el tablero.
+     */
+    public ShortBuffer row(int y) {
+        if (y < 0 || y >= height) {
+            throw new IndexOutOfBoundsException("Fila fuera del tablero: " + y);
+        }
+        return ShortBuffer.wrap(tiles, y * width, width).slice();
+    }
+
+    public void fill(int tile) {
+        Arrays.fill(tiles, (short) tile);
+    }
+
+    /**
+     * Rellena el rectángulo [x0, x1] x [y0, y1] (recortado al tablero).
+     */
+    public void fill(int x0, int y0, int x1, int y1, int tile) {
+        x0 = Math.max(0, x0);
+        y0 = Math.max(0, y0);
+        x1 = Math.min(width - 1, x1);
+        y1 = Math.min(height - 1, y1);
+        for (int y = y0; y <= y1 && x0 <= x1; y++) {
+            Arrays.fill(tiles, y * width + x0, y * width + x1 + 1, (short) tile);
+        }
+    }
+
+    /**
+     * Copia un rectángulo de {@code origen} a este tablero, fila por fila
+     * con {@link System#arraycopy}.
+     *
+     * @param sx esquina del rectángulo en el origen
+     * @param sy esquina del rectángulo en el origen
+     * @param dx esquina de destino
+     * @param dy esquina de destino
+     * @param w ancho del rectángulo
+     * @param h alto del rectángulo
+     */
+    public void copyFrom(TileGrid origen, int sx, int sy, int dx, int dy, int w, int h) {
+        if (sx < 0 || sy < 0 || dx < 0 || dy < 0 || w < 0 || h < 0
+                || sx + w > origen.width || sy + h > origen.height
+                || dx + w > width || dy + h > height) {
+            throw new IndexOutOfBoundsException("Rectángulo de copia fuera de los tableros");
+        }
+        for (int f = 0; f < h; f++) {
+            System.arraycopy(origen.tiles, (sy + f) * origen.width + sx, tiles, (dy + f) * width + dx, w);
+        }
+    }
+
+    /**
+     * Arreglo interno, fila por fila (sin copiar).
+     */
+    public short[] getTiles() {
+        return tiles;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+}
@@ -0,0 +1,202 @@
+package org.oniteam.oregontrailfx.model;
+
+import java.util.Arrays;
+
+/**
+ * Rueda de temporizadores (hashed timer wheel) medida en ticks de juego.
+ * Cada temporizador es un cooldown identificado por (tipo, entidad): por
+ * ejemplo, el ataque del enemigo con handle 7 o la recarga del jugador.
+ * <ul>
+ *   <li>Programar y cancelar: O(1), se enlaza en la ranura de su vencimiento.</li>
+ *   <li>Avanzar un tick: solo se recorre la ranura de ese tick; los
+ *       temporizadores de vueltas futuras se saltean comparando el vencimiento.</li>
+ *   <li>Consultar si una entidad está en cooldown: O(1).</li>
+ * </ul>
+ * Los datos están en arreglos de primitivos con ids reciclados, así que
+ * programar y vencer temporizadores no crea objetos.
+ */
+public class TimerWheel {
+
+    public static final int NINGUNO = -1;
+
+    /**
+     * Recibe los temporizadores vencidos. Puede volver a programar el mismo
+     * (tipo, entidad) desde el aviso, pero no cancelar otros temporizadores.
+     */
+    public interface Listener {
+        void onExpire(int tipo, int entidad);
+    }
+
+    private final int mascara;
+    private final int[] cabeza;      // primer temporizador de cada ranura
+
+    // Datos por id de temporizador
+    private int[] tipo;
+    private int[] entidad;
+    private long[] vence;
+    private int[] siguiente;
+    private int[] anterior;
+    private int[] ranura;
+    private int[] libres;
+    private int cantLibres;
+    private int siguienteId;
+
+    // porEntidad[tipo][entidad] = id del temporizador activo, o NINGUNO
+    private final int[][] porEntidad;
+
+    private long tickActual;
+    private int activos;
+
+    /**
+     * @param ranuras cantidad de ranuras (se redondea a potencia de 2)
+     * @param tipos cantidad de tipos de cooldown distintos
+     */
+    public TimerWheel(int ranuras, int tipos) {
+        int n = Integer.highestOneBit(Math.max(2, ranuras - 1)) << 1;
+        this.mascara = n - 1;
+        this.cabeza = new int[n];
+        Arrays.fill(cabeza, NINGUNO);
+        this.porEntidad = new int[tipos][];
+        for (int t = 0; t < tipos; t++) {
+            porEntidad[t] = new int[16];
+            Arrays.fill(porEntidad[t], NINGUNO);
+        }
+        int cap = 64;
+        tipo = new int[cap];
+        entidad = new int[cap];
+        vence = new long[cap];
+        siguiente = new int[cap];
+        anterior = new int[cap];
+        ranura = new int[cap];
+        libres = new int[cap];
+    }
+
+    /**
+     * Inicia un cooldown que vence dentro de {@code ticks} ticks.
+     *
+     * @return false si esa entidad ya tenía ese cooldown corriendo
+     */
+    public boolean startCooldown(int t, int ent, long ticks) {
+        asegurarEntidad(t, ent);
+        if (porEntidad[t][ent] != NINGUNO) {
+            return false;
+        }
+        int id = nuevoId();
+        tipo[id] = t;
+        entidad[id] = ent;
+        vence[id] = tickActual + Math.max(1, ticks);
+        enlazar(id, (int) (vence[id] & mascara));
+        porEntidad[t][ent] = id;
+        activos++;
+        return true;
+    }
+
+    public boolean isCooling(int t, int ent) {
+        return ent >= 0 && ent < porEntidad[t].length && porEntidad[t][ent] != NINGUNO;
+    }
+
+    /**
+     * Ticks que faltan para que venza el cooldown, o 0 si no está corriendo.
+     */
+    public long remaining(int t, int ent) {
+        return isCooling(t, ent) ? vence[porEntidad[t][ent]] - tickActual : 0;
+    }
+
+    /**
+     * Cancela un cooldown sin avisar al listener.
+     *
+     * @return true si estaba corriendo
+     */
+    public boolean cancel(int t, int ent) {
+        if (!isCooling(t, ent)) {
+            return false;
+        }
+        liberar(porEntidad[t][ent]);
+        return true;
+    }
+
+    /**
+     * Avanza la rueda hasta el tick indicado y avisa los cooldowns vencidos.
+     */
+    public void advanceTo(long tick, Listener listener) {
+        while (tickActual < tick) {
+            tickActual++;
+            int r = (int) (tickActual & mascara);
+            int id = cabeza[r];
+            while (id != NINGUNO) {
+                int sig = siguiente[id];
+                if (vence[id] <= tickActual) {
+                    int t = tipo[id];
+                    int ent = entidad[id];
+                    liberar(id);
+                    listener.onExpire(t, ent);
+                }
+                id = sig;
+            }
+        }
+    }
+
+    private void liberar(int id) {
+        desenlazar(id);
+        porEntidad[tipo[id]][entidad[id]] = NINGUNO;
+        libres[cantLibres++] = id;
+        activos--;
+    }
+
+    private int nuevoId() {
+        if (cantLibres > 0) {
+            return libres[--cantLibres];
+        }
+        if (siguienteId == tipo.length) {
+            int cap = tipo.length * 2;
+            tipo = Arrays.copyOf(tipo, cap);
+            entidad = Arrays.copyOf(entidad, cap);
+            vence = Arrays.copyOf(vence, cap);
+            siguiente = Arrays.copyOf(siguiente, cap);
+            anterior = Arrays.copyOf(anterior, cap);
+            ranura = Arrays.copyOf(ranura, cap);
+            libres = Arrays.copyOf(libres, cap);
+        }
+        return siguienteId++;
+    }
+
+    private void asegurarEntidad(int t, int ent) {
+        if (ent >= porEntidad[t].length) {
+            int anteriorCap = porEntidad[t].length;
+            porEntidad[t] = Arrays.copyOf(porEntidad[t], Math.max(ent + 1, anteriorCap * 2));
+            Arrays.fill(porEntidad[t], anteriorCap, porEntidad[t].length, NINGUNO);
+        }
+    }
+
+    private void enlazar(int id, int r) {
+        int primero = cabeza[r];
+        siguiente[id] = primero;
+        anterior[id] = NINGUNO;
+        if (primero != NINGUNO) {
+            anterior[primero] = id;
+        }
+        cabeza[r] = id;
+        ranura[id] = r;
+    }
+
+    private void desenlazar(int id) {
+        int sig = siguiente[id];
+        int ant = anterior[id];
+        if (ant != NINGUNO) {
+            siguiente[ant] = sig;
+        } else {
+            cabeza[ranura[id]] = sig;
+        }
+        if (sig != NINGUNO) {
+            anterior[sig] = ant;
+        }
+    }
+
+    public long getTick() {
+        return tickActual;
+    }
+
+    public int size() {
+        return activos;
+    }
+}
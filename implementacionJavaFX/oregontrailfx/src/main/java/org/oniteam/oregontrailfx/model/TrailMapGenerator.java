@@ -0,0 +1,249 @@
+package org.oniteam.oregontrailfx.model;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Generador procedural de terreno y obstáculos para cada bioma del sendero
+ * ({@link TypeScenarios}): llanuras en START, montañas en ROAD y un río con
+ * vados en RIVER.
+ * <ul>
+ *   <li>Cada celda depende solo de la semilla, el bioma y sus coordenadas de
+ *       mundo (ruido de valor sobre una red con hash), así que los chunks se
+ *       generan por separado, en paralelo y en cualquier orden.</li>
+ *   <li>La misma semilla produce el mismo mapa byte por byte, sin importar
+ *       el tamaño de chunk ni la cantidad de hilos; por eso el resultado se
+ *       puede guardar en disco y reutilizar.</li>
+ * </ul>
+ * También sirve como {@link ChunkSource} de un {@link ChunkedWorld}.
+ */
+public class TrailMapGenerator implements ChunkSource {
+
+    // Tipos de tile generados
+    public static final int TILE_PASTO = 0;
+    public static final int TILE_PASTO_ALTO = 1;
+    public static final int TILE_TIERRA = 2;
+    public static final int TILE_ROCA = 3;
+    public static final int TILE_ARBOL = 4;
+    public static final int TILE_AGUA = 5;
+    public static final int TILE_VADO = 6;
+
+    private static final int TAM_CHUNK = 32;
+
+    // El río corre a lo largo del eje x, serpenteando alrededor de esta fila
+    private static final int FILA_RIO = 10;
+    private static final int AMPLITUD_RIO = 6;
+    private static final int MEDIO_ANCHO_RIO = 1;
+
+    private final long seed;
+    private final TypeScenarios bioma;
+    private final long semillaTerreno;
+    private final long semillaDetalle;
+
+    public TrailMapGenerator(long seed, TypeScenarios bioma) {
+        this.seed = seed;
+        this.bioma = bioma;
+        long base = Mezcla.splitMix64(seed ^ (bioma.ordinal() + 1) * 0x9E3779B97F4A7C15L);
+        this.semillaTerreno = base;
+        this.semillaDetalle = Mezcla.splitMix64(base + 0x632BE59BD9B4E019L);
+    }
+
+    // ========== CHUNKS ==========
+
+    @Override
+    public Chunk load(int cx, int cy, int size) {
+        short[] tiles = new short[size * size];
+        long[] palabras = new long[CollisionLayer.palabras(size, size)];
+        CollisionLayer colision = new CollisionLayer(size, size, palabras);
+        int x0 = cx * size;
+        int y0 = cy * size;
+        for (int ly = 0; ly < size; ly++) {
+            for (int lx = 0; lx < size; lx++) {
+                int tile = tileEn(x0 + lx, y0 + ly);
+                tiles[ly * size + lx] = (short) tile;
+                if (bloquea(tile)) {
+                    colision.set(lx, ly, true);
+                }
+            }
+        }
+        return new Chunk(cx, cy, size, tiles, palabras);
+    }
+
+    // ========== MAPAS COMPLETOS ==========
+
+    /**
+     * Genera un mapa de width x height celdas desde el origen del mundo,
+     * repartiendo los chunks entre los hilos del ejecutor.
+     *
+     * @param hilos ejecutor para los chunks (null para generar en este hilo)
+     */
+    public MapLoader generate(int width, int height, Executor hilos) {
+        TileGrid tiles = new TileGrid(width, height);
+        CollisionLayer colision = new CollisionLayer(width, height);
+
+        int chunksX = (width + TAM_CHUNK - 1) / TAM_CHUNK;
+        int chunksY = (height + TAM_CHUNK - 1) / TAM_CHUNK;
+        List<CompletableFuture<Chunk>> pendientes = new ArrayList<>(chunksX * chunksY);
+        for (int cy = 0; cy < chunksY; cy++) {
+            for (int cx = 0; cx < chunksX; cx++) {
+                int fx = cx;
+                int fy = cy;
+                pendientes.add(hilos == null
+                        ? CompletableFuture.completedFuture(load(fx, fy, TAM_CHUNK))
+                        : CompletableFuture.supplyAsync(() -> load(fx, fy, TAM_CHUNK), hilos));
+            }
+        }
+
+        // Se arma en este hilo: los chunks no comparten palabras de la capa de colisión
+        for (CompletableFuture<Chunk> pendiente : pendientes) {
+            Chunk chunk = pendiente.join();
+            int x0 = chunk.getCx() * TAM_CHUNK;
+            int y0 = chunk.getCy() * TAM_CHUNK;
+            int w = Math.min(TAM_CHUNK, width - x0);
+            int h = Math.min(TAM_CHUNK, height - y0);
+            tiles.copyFrom(chunk.getTiles(), 0, 0, x0, y0, w, h);
+            CollisionLayer capa = chunk.getCollisionLayer();
+            for (int i = capa.nextBlocked(0); i >= 0; i = capa.nextBlocked(i + 1)) {
+                int lx = i % TAM_CHUNK;
+                int ly = i / TAM_CHUNK;
+                if (lx < w && ly < h) {
+                    colision.set(x0 + lx, y0 + ly, true);
+                }
+            }
+        }
+        return MapLoader.fromLayers(nombreArchivo(width, height), tiles, colision);
+    }
+
+    /**
+     * Como {@link #generate}, pero guarda el resultado en {@code carpeta} y
+     * la próxima vez lo mapea desde el disco sin volver a generarlo.
+     *
+     * @throws IOException si falla la lectura o escritura de la caché
+     */
+    public MapLoader generateCached(Path carpeta, int width, int height, Executor hilos) throws IOException {
+        Path archivo = carpeta.resolve(nombreArchivo(width, height));
+        if (!Files.isRegularFile(archivo)) {
+            MapLoader map = generate(width, height, hilos);
+            Files.createDirectories(carpeta);
+            // Se escribe aparte y se renombra para no dejar archivos a medias
+            Path temporal = Files.createTempFile(carpeta, "gen", ".tmp");
+            MapLoader.write(temporal, map.toTileGrid(), map.getCollisionLayer());
+            Files.move(temporal, archivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        return MapLoader.load(archivo);
+    }
+
+    /**
+     * Nombre del archivo de caché: bioma, semilla y tamaño.
+     */
+    public String nombreArchivo(int width, int height) {
+        return String.format(Locale.ROOT, "%s-%016x-%dx%d.map",
+                bioma.name().toLowerCase(Locale.ROOT), seed, width, height);
+    }
+
+    // ========== TERRENO ==========
+
+    /**
+     * Tipo de tile de una celda de mundo.
+     */
+    public int tileEn(int x, int y) {
+        double terreno = fbm(semillaTerreno, x, y);
+        double detalle = ruido(semillaDetalle, x, y, 4);
+        switch (bioma) {
+            case ROAD:
+                return montania(terreno, detalle);
+            case RIVER:
+                return rio(x, y, terreno, detalle);
+            default:
+                return llanura(terreno, detalle);
+        }
+    }
+
+    private static int llanura(double terreno, double detalle) {
+        if (terreno > 0.68 && detalle > 0.6) {
+            return TILE_ARBOL;
+        }
+        if (detalle < 0.04) {
+            return TILE_ROCA;
+        }
+        return terreno > 0.55 ? TILE_PASTO_ALTO : TILE_PASTO;
+    }
+
+    private static int montania(double terreno, double detalle) {
+        if (terreno > 0.62 || (terreno > 0.52 && detalle > 0.8)) {
+            return TILE_ROCA;
+        }
+        return terreno > 0.45 ? TILE_TIERRA : TILE_PASTO;
+    }
+
+    private int rio(int x, int y, double terreno, double detalle) {
+        double centro = FILA_RIO + (ruido(semillaDetalle, x, 0, 32) - 0.5) * 2 * AMPLITUD_RIO;
+        double distancia = Math.abs(y - centro);
+        if (distancia <= MEDIO_ANCHO_RIO + 0.5) {
+            // Vados cada tanto para poder cruzar
+            return ruido(semillaTerreno, x, 0, 8) > 0.72 ? TILE_VADO : TILE_AGUA;
+        }
+        if (distancia <= MEDIO_ANCHO_RIO + 1.5) {
+            return TILE_TIERRA;
+        }
+        return llanura(terreno, detalle);
+    }
+
+    /**
+     * @return true si el tipo de tile bloquea el paso
+     */
+    public static boolean bloquea(int tile) {
+        return tile == TILE_ROCA || tile == TILE_ARBOL || tile == TILE_AGUA;
+    }
+
+    /**
+     * Ruido fractal de tres octavas en [0, 1).
+     */
+    private static double fbm(long semilla, int x, int y) {
+        return ruido(semilla, x, y, 16) * 0.6
+                + ruido(semilla + 1, x, y, 8) * 0.3
+                + ruido(semilla + 2, x, y, 4) * 0.1;
+    }
+
+    /**
+     * Ruido de valor: interpola suavemente los valores pseudoaleatorios de
+     * las esquinas de la red de lado {@code escala} que contiene a (x, y).
+     */
+    private static double ruido(long semilla, int x, int y, int escala) {
+        int gx = Math.floorDiv(x, escala);
+        int gy = Math.floorDiv(y, escala);
+        double fx = suavizar(Math.floorMod(x, escala) / (double) escala);
+        double fy = suavizar(Math.floorMod(y, escala) / (double) escala);
+        double arriba = interpolar(valor(semilla, gx, gy), valor(semilla, gx + 1, gy), fx);
+        double abajo = interpolar(valor(semilla, gx, gy + 1), valor(semilla, gx + 1, gy + 1), fx);
+        return interpolar(arriba, abajo, fy);
+    }
+
+    private static double valor(long semilla, int gx, int gy) {
+        long h = Mezcla.splitMix64(semilla ^ gx * 0x9E3779B97F4A7C15L ^ gy * 0xC2B2AE3D27D4EB4FL);
+        return (h >>> 11) * 0x1.0p-53;
+    }
+
+    private static double suavizar(double t) {
+        return t * t * (3 - 2 * t);
+    }
+
+    private static double interpolar(double a, double b, double t) {
+        return a + (b - a) * t;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public TypeScenarios getBioma() {
+        return bioma;
+    }
+}
@@ -0,0 +1,122 @@
+package org.oniteam.oregontrailfx.model;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Simulador por lotes del viaje completo de 2000 millas.
+ * Juega N viajes hasta el final en paralelo sobre un ForkJoinPool; cada viaje
+ * usa su propia {@link GameSession} y el ciclo normal de avanzarDia (consumo de
+ * comida, daño por hambre y muerte de miembros).
+ * El resultado es determinista para una misma semilla sin importar cuántos
+ * hilos se usen: la semilla de la sesión de cada viaje depende solo de su índice.
+ */
+public class TrailSimulator {
+
+    // Viajes por tarea hoja antes de dejar de dividir
+    private static final int UMBRAL_VIAJES = 512;
+    private static final int VARIACION_MILLAS = 3;
+
+    private final ForkJoinPool pool;
+
+    public TrailSimulator() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public TrailSimulator(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Simula un lote de viajes con la misma estrategia.
+     *
+     * @param estrategia ritmo, raciones, comida y tamaño de la caravana
+     * @param viajes cantidad de viajes a simular
+     * @param semilla semilla base del lote
+     * @return estadísticas agregadas
+     */
+    public TrailStats simular(TrailStrategy estrategia, int viajes, long semilla) {
+        if (viajes <= 0) {
+            return new TrailStats();
+        }
+        return pool.invoke(new LoteViajes(estrategia, semilla, 0, viajes));
+    }
+
+    /**
+     * Juega un viaje completo hasta llegar a Oregon o que mueran todos.
+     *
+     * @param estrategia estrategia de viaje
+     * @param semilla semilla de la sesión del viaje
+     * @param stats acumulador donde se registra el resultado
+     */
+    static void jugarViaje(TrailStrategy estrategia, long semilla, TrailStats stats) {
+        GameSession session = new GameSession(semilla);
+        session.iniciarJuego("Viajero", "Carpintero");
+        SplittableRandom random = session.nuevoRandom();
+
+        Caravana caravana = session.getCaravana();
+        for (int i = 1; i < estrategia.getMiembros(); i++) {
+            caravana.agregarMiembro(new Miembro("Miembro " + i, 20 + i));
+        }
+        caravana.setComida(estrategia.getComidaInicial());
+        caravana.setRitmoViaje(estrategia.getRitmoViaje());
+        caravana.setRacionesComida(estrategia.getRacionesComida());
+
+        int base = estrategia.getMillasBasePorDia();
+        while (session.isJuegoEnCurso()) {
+            int millas = base - VARIACION_MILLAS + random.nextInt(2 * VARIACION_MILLAS + 1);
+            session.avanzarDia(millas);
+        }
+
+        int sumaSalud = 0;
+        for (Miembro m : caravana.getMiembros()) {
+            sumaSalud += m.getSalud();
+        }
+        int saludPromedio = sumaSalud / caravana.getTotalMiembros();
+
+        stats.registrar(session.isJuegoGanado(), session.getDiaActual(), caravana.getComida(), saludPromedio);
+    }
+
+    /**
+     * Semilla independiente para cada viaje (mezcla tipo SplitMix64).
+     */
+    static long semillaViaje(long semilla, long indice) {
+        return Mezcla.splitMix64(semilla + (indice + 1) * 0x9E3779B97F4A7C15L);
+    }
+
+    /**
+     * Divide el rango de viajes [desde, hasta) hasta llegar al umbral.
+     */
+    private static class LoteViajes extends RecursiveTask<TrailStats> {
+        private final TrailStrategy estrategia;
+        private final long semilla;
+        private final int desde;
+        private final int hasta;
+
+        LoteViajes(TrailStrategy estrategia, long semilla, int desde, int hasta) {
+            this.estrategia = estrategia;
+            this.semilla = semilla;
+            this.desde = desde;
+            this.hasta = hasta;
+        }
+
+        @Override
+        protected TrailStats compute() {
+            if (hasta - desde <= UMBRAL_VIAJES) {
+                TrailStats stats = new TrailStats();
+                for (int i = desde; i < hasta; i++) {
+                    jugarViaje(estrategia, semillaViaje(semilla, i), stats);
+                }
+                return stats;
+            }
+
+            int medio = (desde + hasta) >>> 1;
+            LoteViajes izquierda = new LoteViajes(estrategia, semilla, desde, medio);
+            LoteViajes derecha = new LoteViajes(estrategia, semilla, medio, hasta);
+            izquierda.fork();
+            TrailStats resultado = derecha.compute();
+            return resultado.merge(izquierda.join());
+        }
+    }
+}
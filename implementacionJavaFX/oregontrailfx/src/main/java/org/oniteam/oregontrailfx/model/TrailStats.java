@@ -0,0 +1,133 @@
+package org.oniteam.oregontrailfx.model;
+
+import java.util.Arrays;
+
+/**
+ * Estadísticas agregadas de un lote de viajes simulados.
+ * Se acumula por partes en cada hilo y luego se combina con {@link #merge}.
+ */
+public class TrailStats {
+
+    public static final int ANCHO_CUBETA_COMIDA = 50; // lbs por cubeta
+    public static final int ANCHO_CUBETA_SALUD = 10;  // puntos de salud por cubeta
+    public static final int ANCHO_CUBETA_DIAS = 10;   // días por cubeta
+
+    private long viajes;
+    private long victorias;
+    private long sumaDiasVictoria;
+    private int minDias = Integer.MAX_VALUE;
+    private int maxDias;
+    private long sumaComidaFinal;
+    private long sumaSaludFinal;
+
+    // La última cubeta de cada histograma acumula todo lo que se pasa del rango
+    private final long[] histogramaComida = new long[20];
+    private final long[] histogramaSalud = new long[11];
+    private final long[] histogramaDias = new long[30];
+
+    /**
+     * Registra el resultado de un viaje terminado.
+     *
+     * @param ganado true si la caravana llegó a Oregon
+     * @param dias días que duró el viaje
+     * @param comidaFinal comida restante al terminar
+     * @param saludPromedio salud promedio de los miembros al terminar (0-100)
+     */
+    public void registrar(boolean ganado, int dias, int comidaFinal, int saludPromedio) {
+        viajes++;
+        if (ganado) {
+            victorias++;
+            sumaDiasVictoria += dias;
+            minDias = Math.min(minDias, dias);
+            maxDias = Math.max(maxDias, dias);
+            histogramaDias[cubeta(dias, ANCHO_CUBETA_DIAS, histogramaDias.length)]++;
+        }
+        sumaComidaFinal += comidaFinal;
+        sumaSaludFinal += saludPromedio;
+        histogramaComida[cubeta(comidaFinal, ANCHO_CUBETA_COMIDA, histogramaComida.length)]++;
+        histogramaSalud[cubeta(saludPromedio, ANCHO_CUBETA_SALUD, histogramaSalud.length)]++;
+    }
+
+    private static int cubeta(int valor, int ancho, int cubetas) {
+        return Math.min(cubetas - 1, Math.max(0, valor) / ancho);
+    }
+
+    /**
+     * Suma las estadísticas de otro lote a este.
+     *
+     * @param otro estadísticas parciales
+     * @return este mismo objeto, para encadenar
+     */
+    public TrailStats merge(TrailStats otro) {
+        viajes += otro.viajes;
+        victorias += otro.victorias;
+        sumaDiasVictoria += otro.sumaDiasVictoria;
+        minDias = Math.min(minDias, otro.minDias);
+        maxDias = Math.max(maxDias, otro.maxDias);
+        sumaComidaFinal += otro.sumaComidaFinal;
+        sumaSaludFinal += otro.sumaSaludFinal;
+        for (int i = 0; i < histogramaComida.length; i++) histogramaComida[i] += otro.histogramaComida[i];
+        for (int i = 0; i < histogramaSalud.length; i++) histogramaSalud[i] += otro.histogramaSalud[i];
+        for (int i = 0; i < histogramaDias.length; i++) histogramaDias[i] += otro.histogramaDias[i];
+        return this;
+    }
+
+    public long getViajes() {
+        return viajes;
+    }
+
+    public long getVictorias() {
+        return victorias;
+    }
+
+    public double getTasaVictoria() {
+        return viajes == 0 ? 0.0 : (double) victorias / viajes;
+    }
+
+    /**
+     * Días promedio hasta Oregon, contando solo los viajes ganados.
+     */
+    public double getDiasPromedio() {
+        return victorias == 0 ? 0.0 : (double) sumaDiasVictoria / victorias;
+    }
+
+    public int getMinDias() {
+        return victorias == 0 ? 0 : minDias;
+    }
+
+    public int getMaxDias() {
+        return maxDias;
+    }
+
+    public double getComidaFinalPromedio() {
+        return viajes == 0 ? 0.0 : (double) sumaComidaFinal / viajes;
+    }
+
+    public double getSaludFinalPromedio() {
+        return viajes == 0 ? 0.0 : (double) sumaSaludFinal / viajes;
+    }
+
+    public long[] getHistogramaComida() {
+        return histogramaComida.clone();
+    }
+
+    public long[] getHistogramaSalud() {
+        return histogramaSalud.clone();
+    }
+
+    public long[] getHistogramaDias() {
+        return histogramaDias.clone();
+    }
+
+    @Override
+    public String toString() {
+        return "TrailStats{" +
+                "viajes=" + viajes +
+                ", tasaVictoria=" + String.format("%.3f", getTasaVictoria()) +
+                ", diasPromedio=" + String.format("%.1f", getDiasPromedio()) +
+                ", comidaFinal=" + String.format("%.1f", getComidaFinalPromedio()) +
+                ", saludFinal=" + String.format("%.1f", getSaludFinalPromedio()) +
+                ", salud=" + Arrays.toString(histogramaSalud) +
+                '}';
+    }
+}
@@ -0,0 +1,68 @@
+package org.oniteam.oregontrailfx.model;
+
+/**
+ * Estrategia de viaje usada por el simulador por lotes: ritmo, raciones,
+ * comida inicial y tamaño de la caravana.
+ */
+public class TrailStrategy {
+
+    private final int ritmoViaje;      // 1=constante, 2=moderado, 3=descansado
+    private final int racionesComida;  // 1=escasa, 2=moderada, 3=abundante
+    private final int comidaInicial;   // En libras
+    private final int miembros;        // Incluye al jugador (máximo 5)
+
+    public TrailStrategy(int ritmoViaje, int racionesComida, int comidaInicial, int miembros) {
+        if (ritmoViaje < 1 || ritmoViaje > 3) {
+            throw new IllegalArgumentException("El ritmo debe estar entre 1 y 3");
+        }
+        if (racionesComida < 1 || racionesComida > 3) {
+            throw new IllegalArgumentException("Las raciones deben estar entre 1 y 3");
+        }
+        if (miembros < 1 || miembros > 5) {
+            throw new IllegalArgumentException("La caravana debe tener entre 1 y 5 miembros");
+        }
+        this.ritmoViaje = ritmoViaje;
+        this.racionesComida = racionesComida;
+        this.comidaInicial = Math.max(0, comidaInicial);
+        this.miembros = miembros;
+    }
+
+    /**
+     * Millas base recorridas por día según el ritmo.
+     *
+     * @return millas por día antes de la variación aleatoria
+     */
+    public int getMillasBasePorDia() {
+        switch (ritmoViaje) {
+            case 1: return 20; // Constante
+            case 3: return 10; // Descansado
+            default: return 15; // Moderado
+        }
+    }
+
+    public int getRitmoViaje() {
+        return ritmoViaje;
+    }
+
+    public int getRacionesComida() {
+        return racionesComida;
+    }
+
+    public int getComidaInicial() {
+        return comidaInicial;
+    }
+
+    public int getMiembros() {
+        return miembros;
+    }
+
+    @Override
+    public String toString() {
+        return "TrailStrategy{" +
+                "ritmo=" + ritmoViaje +
+                ", raciones=" + racionesComida +
+                ", comida=" + comidaInicial +
+                ", miembros=" + miembros +
+                '}';
+    }
+}
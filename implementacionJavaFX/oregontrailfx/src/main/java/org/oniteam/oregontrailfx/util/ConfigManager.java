@@ -10,7 +10,6 @@ import java.util.Properties;
  */
 public class ConfigManager {
 
-    private static ConfigManager instance;
     private Properties properties;
 
     private ConfigManager() {
@@ -18,11 +17,13 @@ public class ConfigManager {
         cargarConfiguracion();
     }
 
+    // Inicialización perezosa thread-safe (holder idiom)
+    private static class Holder {
+        private static final ConfigManager INSTANCE = new ConfigManager();
+    }
+
     public static ConfigManager getInstance() {
-        if (instance == null) {
-            instance = new ConfigManager();
-        }
-        return instance;
+        return Holder.INSTANCE;
     }
 
     /**
@@ -0,0 +1,104 @@
+package org.oniteam.oregontrailfx.util;
+
+import javafx.scene.image.Image;
+import javafx.scene.image.WritableImage;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Atlas de sprites generado en el build por el compilador de assets
+ * ({@code /atlas/index.txt} + {@code /atlas/sprites.png}).
+ * Se decodifica un solo PNG en lugar de uno por sprite; cada sprite se
+ * recorta del atlas por la misma ruta con la que antes se cargaba suelto.
+ */
+public class SpriteAtlas {
+
+    private static final String INDICE = "/atlas/index.txt";
+
+    private final Map<String, Region> regiones = new HashMap<>();
+    private final Map<String, Image> atlas = new HashMap<>();
+
+    private static class Region {
+        final String atlas;
+        final int x;
+        final int y;
+        final int ancho;
+        final int alto;
+
+        Region(String atlas, int x, int y, int ancho, int alto) {
+            this.atlas = atlas;
+            this.x = x;
+            this.y = y;
+            this.ancho = ancho;
+            this.alto = alto;
+        }
+    }
+
+    private SpriteAtlas() {
+    }
+
+    /**
+     * Carga el atlas del classpath.
+     *
+     * @return el atlas, o null si el build no lo generó
+     */
+    public static SpriteAtlas load() {
+        try (InputStream in = SpriteAtlas.class.getResourceAsStream(INDICE)) {
+            if (in == null) {
+                return null;
+            }
+            SpriteAtlas sa = new SpriteAtlas();
+            BufferedReader lector = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            String linea;
+            while ((linea = lector.readLine()) != null) {
+                if (linea.isBlank() || linea.startsWith("#")) {
+                    continue;
+                }
+                String[] campos = linea.split("\t");
+                if (campos.length != 6) {
+                    throw new IOException("Línea de índice inválida: " + linea);
+                }
+                sa.regiones.put(campos[0], new Region(campos[1], Integer.parseInt(campos[2]),
+                        Integer.parseInt(campos[3]), Integer.parseInt(campos[4]), Integer.parseInt(campos[5])));
+            }
+            return sa;
+        } catch (IOException | NumberFormatException e) {
+            System.err.println("❌ Error cargando atlas de sprites: " + e.getMessage());
+            return null;
+        }
+    }
+
+    public boolean contains(String ruta) {
+        return regiones.containsKey(ruta);
+    }
+
+    /**
+     * Sprite por su ruta original (por ejemplo "/images/hero/idle/hero-idle-00.png").
+     *
+     * @return la imagen, o null si no está en el atlas
+     */
+    public Image get(String ruta) {
+        Region r = regiones.get(ruta);
+        if (r == null) {
+            return null;
+        }
+        Image img = atlas.computeIfAbsent(r.atlas, nombre -> {
+            InputStream in = SpriteAtlas.class.getResourceAsStream("/atlas/" + nombre);
+            return in == null ? null : new Image(in);
+        });
+        if (img == null || img.isError()) {
+            return null;
+        }
+        return new WritableImage(img.getPixelReader(), r.x, r.y, r.ancho, r.alto);
+    }
+
+    public int size() {
+        return regiones.size();
+    }
+}
@@ -0,0 +1,155 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+import org.oniteam.oregontrailfx.model.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AStarPathfinderTest {
+
+    private AStarPathfinder pathfinder;
+    private MapLoader map;
+
+    /**
+     * Escenario 17: A* sobre llanuras.map (20x20)
+     * - Obstáculos en (2,1), (7,5) y (10,3)
+     * - Caché de 4 caminos
+     */
+    void setupStage17() {
+        map = MapLoader.of("llanuras.map");
+        pathfinder = new AStarPathfinder(map, 20, 20, 4);
+    }
+
+    private void assertCaminoValido(int[] camino, int sx, int sy, int tx, int ty) {
+        assertNotNull(camino, "Debe existir un camino");
+        assertEquals(sy * 20 + sx, camino[0], "El camino empieza en el origen");
+        assertEquals(ty * 20 + tx, camino[camino.length - 1], "El camino termina en el destino");
+        for (int i = 0; i < camino.length; i++) {
+            int x = camino[i] % 20;
+            int y = camino[i] / 20;
+            assertFalse(map.isBlocked(x, y), "El camino no debe pasar por celdas bloqueadas");
+            if (i > 0) {
+                int dx = Math.abs(x - camino[i - 1] % 20);
+                int dy = Math.abs(y - camino[i - 1] / 20);
+                assertTrue(dx <= 1 && dy <= 1 && dx + dy > 0, "Cada paso avanza a una celda vecina");
+                int px = camino[i - 1] % 20;
+                int py = camino[i - 1] / 20;
+                assertFalse(map.isBlocked(x, py) || map.isBlocked(px, y), "Un paso en diagonal no debe cortar esquinas");
+            }
+        }
+    }
+
+    @Test
+    void testCaminoMasCortoEsquivaObstaculo() {
+        // arrange
+        setupStage17();
+
+        // act: (7,5) está bloqueada en medio de la columna
+        int[] camino = pathfinder.findPath(7, 2, 7, 8);
+
+        // assert
+        assertCaminoValido(camino, 7, 2, 7, 8);
+        assertEquals(7, camino.length, "Rodear el obstáculo en diagonal no alarga el camino");
+    }
+
+    @Test
+    void testDestinoBloqueadoNoTieneCamino() {
+        // arrange
+        setupStage17();
+
+        // act & assert
+        assertNull(pathfinder.findPath(0, 0, 10, 3));
+    }
+
+    @Test
+    void testCacheDevuelveElMismoCamino() {
+        // arrange
+        setupStage17();
+
+        // act
+        int[] primero = pathfinder.findPath(0, 0, 15, 15);
+        int[] segundo = pathfinder.findPath(0, 0, 15, 15);
+
+        // assert
+        assertSame(primero, segundo, "La segunda consulta debe salir de la caché");
+        assertEquals(1, pathfinder.getCacheSize());
+    }
+
+    @Test
+    void testCacheDescartaElMenosUsado() {
+        // arrange
+        setupStage17();
+
+        // act
+        for (int i = 0; i < 6; i++) {
+            pathfinder.findPath(0, 0, 19, i);
+        }
+
+        // assert
+        assertEquals(4, pathfinder.getCacheSize(), "La caché no debe superar su capacidad");
+    }
+
+    @Test
+    void testBloqueoReparaCaminoEnCache() {
+        // arrange
+        setupStage17();
+        int[] original = pathfinder.findPath(0, 10, 19, 10);
+        int medio = original[original.length / 2];
+
+        // act
+        map.setBlocked(medio % 20, medio / 20, true);
+        int[] reparado = pathfinder.findPath(0, 10, 19, 10);
+
+        // assert
+        assertEquals(1, pathfinder.getReparaciones());
+        assertNotSame(original, reparado);
+        assertCaminoValido(reparado, 0, 10, 19, 10);
+    }
+
+    @Test
+    void testCloseDejaDeRepararLaCache() {
+        // arrange
+        setupStage17();
+        int[] original = pathfinder.findPath(0, 10, 19, 10);
+        int medio = original[original.length / 2];
+
+        // act
+        pathfinder.close();
+        map.setBlocked(medio % 20, medio / 20, true);
+
+        // assert
+        assertEquals(0, pathfinder.getReparaciones(), "Un servicio cerrado no recibe los bloqueos del mapa");
+        assertSame(original, pathfinder.findPath(0, 10, 19, 10));
+    }
+
+    @Test
+    void testBloqueoDelDestinoDescartaCamino() {
+        // arrange
+        setupStage17();
+        pathfinder.findPath(0, 10, 19, 10);
+
+        // act
+        map.setBlocked(19, 10, true);
+
+        // assert
+        assertEquals(0, pathfinder.getCacheSize());
+        assertNull(pathfinder.findPath(0, 10, 19, 10));
+    }
+
+    @Test
+    void testBloqueoEnLaEsquinaReparaDiagonal() {
+        // arrange: diagonal libre de (12,12) a (14,14)
+        setupStage17();
+        int[] original = pathfinder.findPath(12, 12, 14, 14);
+
+        // act: la celda bloqueada no está en el camino, pero su esquina sí
+        map.setBlocked(13, 12, true);
+        int[] reparado = pathfinder.findPath(12, 12, 14, 14);
+
+        // assert
+        assertArrayEquals(new int[]{252, 273, 294}, original);
+        assertEquals(1, pathfinder.getReparaciones());
+        assertCaminoValido(reparado, 12, 12, 14, 14);
+        assertArrayEquals(new int[]{252, 272, 273, 294}, reparado, "Debe rodear la esquina bloqueada");
+    }
+}
@@ -0,0 +1,158 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+import org.oniteam.oregontrailfx.model.*;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ChunkedWorldTest {
+
+    private static final int TAM = 16;
+
+    private AtomicInteger cargas;
+    private ChunkSource source;
+
+    /**
+     * Escenario 29: Origen de chunks de prueba
+     * - Tile = cx * 100 + cy en todo el chunk
+     * - Bloqueada la celda local (0,0) de cada chunk
+     * - Cuenta cuántos chunks se cargaron
+     */
+    void setupStage29() {
+        cargas = new AtomicInteger();
+        source = (cx, cy, size) -> {
+            cargas.incrementAndGet();
+            short[] tiles = new short[size * size];
+            Arrays.fill(tiles, (short) (cx * 100 + cy));
+            long[] blocked = new long[(size * size + 63) / 64];
+            blocked[0] = 1L;
+            return new Chunk(cx, cy, size, tiles, blocked);
+        };
+    }
+
+    @Test
+    void testCoordenadasDeMundoIncluyendoNegativas() {
+        // arrange
+        setupStage29();
+        ChunkedWorld world = new ChunkedWorld(source, TAM, 8, 0, null);
+
+        // act + assert
+        assertEquals(2 * 100 + 1, world.getTile(2 * TAM + 5, TAM + 3));
+        assertTrue(world.isBlocked(3 * TAM, 2 * TAM));
+        assertFalse(world.isBlocked(3 * TAM + 1, 2 * TAM));
+        assertEquals(-100 - 1, world.getTile(-1, -1), "La celda (-1,-1) cae en el chunk (-1,-1)");
+        assertTrue(world.isBlocked(-TAM, -TAM));
+    }
+
+    @Test
+    void testPresupuestoLimitaLaMemoria() {
+        // arrange
+        setupStage29();
+        ChunkedWorld world = new ChunkedWorld(source, TAM, 4, 0, null);
+
+        // act: recorrer 100 chunks hacia el este
+        for (int x = 0; x < 100 * TAM; x++) {
+            world.update(x, 5, 1, 0);
+        }
+
+        // assert
+        assertEquals(4, world.getCargados());
+        assertEquals(96, world.getDesalojos());
+        assertEquals(100, cargas.get(), "Cada chunk se carga una sola vez");
+    }
+
+    @Test
+    void testPrecargaEvitaCargasEnElHiloDelJuego() throws InterruptedException {
+        // arrange
+        setupStage29();
+        ExecutorService hilos = Executors.newFixedThreadPool(2);
+        ChunkedWorld world = new ChunkedWorld(source, TAM, 6, 3, hilos);
+        world.update(0, 5, 1, 0);
+        hilos.shutdown();
+        assertTrue(hilos.awaitTermination(5, TimeUnit.SECONDS));
+
+        // act: al llegar a los chunks 1..3 ya están precargados
+        for (int x = 0; x < 4 * TAM; x++) {
+            world.update(x, 5, 0, 0);
+        }
+
+        // assert
+        assertEquals(1, world.getCargasSincronicas(), "Solo el chunk inicial se cargó en el hilo del juego");
+        assertTrue(world.isLoaded(3, 0));
+        assertEquals(0, world.getPendientes());
+    }
+
+    @Test
+    void testPrecargaSigueLaDireccionDeMarcha() {
+        // arrange
+        setupStage29();
+        ChunkedWorld world = new ChunkedWorld(source, TAM, 8, 2, Runnable::run);
+
+        // act
+        world.update(0, 0, 0, -1);
+        world.update(0, 0, 0, -1);
+
+        // assert
+        assertTrue(world.isLoaded(0, -1));
+        assertTrue(world.isLoaded(0, -2));
+        assertFalse(world.isLoaded(1, 0), "No se precarga fuera de la dirección de marcha");
+        assertEquals(3, cargas.get());
+    }
+
+    @Test
+    void testCambioDeDireccionNoDesalojaElChunkActual() {
+        // arrange: las precargas quedan en cola hasta que el test las corre
+        setupStage29();
+        ArrayDeque<Runnable> cola = new ArrayDeque<>();
+        ChunkedWorld world = new ChunkedWorld(source, TAM, 3, 2, cola::add);
+        world.update(0, 0, 1, 0);
+
+        // act: gira al sur antes de que terminen las precargas del este
+        world.update(0, 0, 0, 1);
+        while (!cola.isEmpty()) {
+            cola.poll().run();
+        }
+        world.update(0, 0, 0, 1);
+
+        // assert
+        assertTrue(world.isLoaded(0, 0), "El chunk actual no debe desalojarse");
+        assertTrue(world.isLoaded(0, 1));
+        assertTrue(world.isLoaded(0, 2));
+        assertFalse(world.isLoaded(1, 0), "Las precargas que quedaron atrás se descartan");
+        assertEquals(0, world.getDesalojos());
+        assertEquals(1, world.getCargasSincronicas());
+    }
+
+    @Test
+    void testPrecargaFallidaSeCargaEnElHiloDelJuego() throws InterruptedException {
+        // arrange: la primera carga del chunk (1,0) falla en el hilo de precarga
+        setupStage29();
+        ChunkSource base = source;
+        AtomicInteger intentos = new AtomicInteger();
+        ChunkSource fallaUnaVez = (cx, cy, size) -> {
+            if (cx == 1 && intentos.getAndIncrement() == 0) {
+                throw new IllegalStateException("Disco no disponible");
+            }
+            return base.load(cx, cy, size);
+        };
+        ExecutorService hilos = Executors.newSingleThreadExecutor();
+        ChunkedWorld world = new ChunkedWorld(fallaUnaVez, TAM, 4, 1, hilos);
+        world.update(0, 0, 1, 0);
+
+        // act: llega al chunk (1,0) sin importar si la precarga ya terminó
+        Chunk chunk = assertDoesNotThrow(() -> world.getChunk(1, 0));
+        hilos.shutdown();
+        assertTrue(hilos.awaitTermination(5, TimeUnit.SECONDS));
+
+        // assert
+        assertEquals(100, chunk.getTile(0, 1));
+        assertEquals(2, world.getCargasSincronicas(), "El chunk inicial y el que falló");
+    }
+}
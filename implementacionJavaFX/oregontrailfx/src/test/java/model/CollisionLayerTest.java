@@ -0,0 +1,135 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+import org.oniteam.oregontrailfx.model.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CollisionLayerTest {
+
+    private CollisionLayer capa;
+
+    /**
+     * Escenario 30: Capa de 100x70 (filas que no caen alineadas a 64 bits)
+     * - Bloqueadas (0,0), (99,0), (63,1), (64,1) y la columna x = 50 para y en [20, 29]
+     */
+    void setupStage30() {
+        capa = new CollisionLayer(100, 70);
+        capa.set(0, 0, true);
+        capa.set(99, 0, true);
+        capa.set(63, 1, true);
+        capa.set(64, 1, true);
+        for (int y = 20; y < 30; y++) {
+            capa.set(50, y, true);
+        }
+    }
+
+    @Test
+    void testConsultaPorCelda() {
+        // arrange
+        setupStage30();
+
+        // act
+        capa.set(0, 0, false);
+
+        // assert
+        assertFalse(capa.isBlocked(0, 0));
+        assertTrue(capa.isBlocked(99, 0));
+        assertTrue(capa.isBlocked(64, 1));
+        assertFalse(capa.isBlocked(100, 0), "Fuera de la capa no hay bloqueo");
+        assertFalse(capa.isBlocked(-1, 5));
+    }
+
+    @Test
+    void testConsultasPorRectangulo() {
+        // arrange
+        setupStage30();
+
+        // act + assert
+        assertTrue(capa.anyBlocked(60, 1, 70, 1));
+        assertFalse(capa.anyBlocked(1, 0, 98, 0), "Entre los extremos de la fila 0 no hay nada");
+        assertFalse(capa.anyBlocked(0, 2, 99, 19));
+        assertTrue(capa.anyBlocked(40, 25, 60, 26));
+        assertEquals(10, capa.countBlocked(0, 15, 99, 40));
+        assertEquals(2, capa.countBlocked(63, 0, 64, 1));
+        assertEquals(14, capa.countBlocked());
+        assertEquals(100 * 70 - 14, capa.countWalkable());
+    }
+
+    @Test
+    void testRectanguloCoincideConCeldaACelda() {
+        // arrange
+        setupStage30();
+
+        // act + assert
+        for (int x0 = 0; x0 < 100; x0 += 7) {
+            for (int x1 = x0; x1 < 100; x1 += 11) {
+                int esperado = 0;
+                for (int y = 0; y < 3; y++) {
+                    for (int x = x0; x <= x1; x++) {
+                        esperado += capa.isBlocked(x, y) ? 1 : 0;
+                    }
+                }
+                assertEquals(esperado, capa.countBlocked(x0, 0, x1, 2), "Rango [" + x0 + "," + x1 + "]");
+            }
+        }
+    }
+
+    @Test
+    void testRecorrerCeldasBloqueadas() {
+        // arrange
+        setupStage30();
+
+        // act
+        int primera = capa.nextBlocked(0);
+        int segunda = capa.nextBlocked(primera + 1);
+        int tercera = capa.nextBlocked(segunda + 1);
+
+        // assert
+        assertEquals(0, primera);
+        assertEquals(99, segunda);
+        assertEquals(100 + 63, tercera);
+        assertEquals(-1, capa.nextBlocked(29 * 100 + 51));
+    }
+
+    @Test
+    void testCombinarConMascaraDeOcupacion() {
+        // arrange
+        setupStage30();
+        CollisionLayer ocupacion = new CollisionLayer(100, 70);
+        ocupacion.set(50, 25, true);
+        ocupacion.set(10, 10, true);
+
+        // act
+        boolean seCruzan = capa.intersects(ocupacion);
+        CollisionLayer union = capa.copy();
+        union.or(ocupacion);
+        CollisionLayer interseccion = capa.copy();
+        interseccion.and(ocupacion);
+        CollisionLayer libres = capa.copy();
+        libres.andNot(ocupacion);
+
+        // assert
+        assertTrue(seCruzan);
+        assertEquals(15, union.countBlocked());
+        assertEquals(1, interseccion.countBlocked());
+        assertFalse(libres.isBlocked(50, 25));
+        assertEquals(13, libres.countBlocked());
+        assertThrows(IllegalArgumentException.class, () -> capa.or(new CollisionLayer(10, 10)));
+    }
+
+    @Test
+    void testMapLoaderCompartePorCapa() {
+        // arrange
+        MapLoader map = MapLoader.of("llanuras.map");
+
+        // act
+        map.setBlocked(4, 4, true);
+
+        // assert
+        assertTrue(map.getCollisionLayer().isBlocked(4, 4));
+        assertEquals(4, map.getCollisionLayer().countBlocked());
+        assertTrue(map.anyBlocked(0, 0, 19, 1));
+        assertFalse(map.anyBlocked(0, 6, 19, 19));
+    }
+}
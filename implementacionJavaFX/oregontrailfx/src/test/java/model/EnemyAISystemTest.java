@@ -0,0 +1,146 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+import org.oniteam.oregontrailfx.model.*;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EnemyAISystemTest {
+
+    private static final int CANT_ENEMIGOS = 10_000;
+    private static final int TICKS_MEDIDOS = 200;
+
+    private EnemyAISystem ai;
+    private EnemyStore store;
+    private FlowField field;
+    private Player p;
+
+    /**
+     * Escenario 18: Sistema de IA por lotes
+     * - Rango de visión 5
+     * - Jugador en (10,10) sobre un tablero libre de 200x200
+     */
+    void setupStage18() {
+        ai = new EnemyAISystem(5.0);
+        store = new EnemyStore();
+        store.setGrid(new SpatialGrid(200, 200));
+        p = new Player("Viajero", "Carpintero", 10, 10, 3);
+    }
+
+    /**
+     * Escenario 19: 10.000 enemigos repartidos por el tablero, con campo de flujo
+     */
+    void setupStage19() {
+        setupStage18();
+        MapLoader map = MapLoader.of("desierto.map");
+        field = new FlowField(map, 200, 200);
+        field.update(p.getX(), p.getY());
+        for (int i = 0; i < CANT_ENEMIGOS; i++) {
+            store.add((i * 37) % 200, (i * 91) % 200, TypeEnemy.values()[i % TypeEnemy.values().length]);
+        }
+    }
+
+    @Test
+    void testTransicionesPorDistanciaAlCuadrado() {
+        // arrange
+        setupStage18();
+        store.add(13, 14, null); // distancia exacta 5: en rango
+        store.add(14, 14, null); // distancia ~5.66: fuera de rango
+
+        // act
+        ai.update(store, p, null);
+
+        // assert
+        assertEquals(EnemyState.PERSEGUIR, store.getState(0));
+        assertEquals(12, store.getX(0));
+        assertEquals(13, store.getY(0));
+        assertEquals(EnemyState.IDLE, store.getState(1));
+        assertEquals(14, store.getX(1), "Un enemigo fuera de rango no se mueve");
+    }
+
+    @Test
+    void testEventoFueraDeRangoVuelveAIdle() {
+        // arrange
+        setupStage18();
+        store.add(11, 11, null);
+        ai.update(store, p, null);
+
+        // act
+        ai.apply(store, 0, EnemyAISystem.EVENTO_FUERA_DE_RANGO);
+
+        // assert
+        assertEquals(EnemyState.IDLE, store.getState(0));
+    }
+
+    /**
+     * Benchmark: un tick completo sobre 10.000 enemigos no debe reservar memoria.
+     */
+    @Test
+    void testTickSinAsignacionesCon10kEnemigos() {
+        // arrange
+        setupStage19();
+        com.sun.management.ThreadMXBean mx =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (int i = 0; i < TICKS_MEDIDOS; i++) {
+            ai.update(store, p, field); // calentamiento del JIT
+        }
+
+        // act
+        long antes = mx.getCurrentThreadAllocatedBytes();
+        long inicio = System.nanoTime();
+        for (int i = 0; i < TICKS_MEDIDOS; i++) {
+            ai.update(store, p, field);
+        }
+        long nanos = System.nanoTime() - inicio;
+        long reservados = mx.getCurrentThreadAllocatedBytes() - antes;
+
+        // assert
+        assertEquals(0, reservados, String.format("El tick de IA no debe reservar memoria (%d enemigos, %.1f us/tick)",
+                CANT_ENEMIGOS, nanos / 1000.0 / TICKS_MEDIDOS));
+    }
+
+    @Test
+    void testParaleloIgualAlSecuencialConCualquierCantidadDeHilos() {
+        // arrange: el jugador en el centro para que haya muchos perseguidores
+        setupStage19();
+        p.setPosition(100, 100);
+        EnemyAISystem grande = new EnemyAISystem(60.0);
+        field.update(100, 100);
+        EnemyStore referencia = copiar(store);
+        for (int t = 0; t < 20; t++) {
+            grande.update(referencia, p, field);
+        }
+
+        for (int hilos : new int[]{1, 2, 4}) {
+            EnemyStore copia = copiar(store);
+            ForkJoinPool pool = new ForkJoinPool(hilos);
+
+            // act
+            for (int t = 0; t < 20; t++) {
+                grande.updateParallel(copia, p, field, pool);
+            }
+            pool.shutdown();
+
+            // assert
+            for (int i = 0; i < referencia.size(); i++) {
+                assertEquals(referencia.getX(i), copia.getX(i), "Posición X distinta con " + hilos + " hilos");
+                assertEquals(referencia.getY(i), copia.getY(i), "Posición Y distinta con " + hilos + " hilos");
+                assertEquals(referencia.getState(i), copia.getState(i));
+            }
+            assertEquals(referencia.getGrid().countAt(100, 100), copia.getGrid().countAt(100, 100),
+                    "El índice espacial debe quedar igual");
+        }
+    }
+
+    private static EnemyStore copiar(EnemyStore origen) {
+        EnemyStore copia = new EnemyStore();
+        copia.setGrid(new SpatialGrid(200, 200));
+        for (int i = 0; i < origen.size(); i++) {
+            copia.add(origen.getX(i), origen.getY(i), origen.getType(i));
+        }
+        return copia;
+    }
+}
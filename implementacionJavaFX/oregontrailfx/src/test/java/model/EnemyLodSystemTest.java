@@ -0,0 +1,135 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+import org.oniteam.oregontrailfx.model.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EnemyLodSystemTest {
+
+    private FlowField field;
+    private Player p;
+
+    /**
+     * Escenario 24: LOD sobre un tablero libre de 60x60
+     * - Jugador en (30,30), visión 5, rastreo 15
+     * - Un paso de rastreo cada 30 ticks (rastreo activado salvo que se indique)
+     */
+    void setupStage24() {
+        p = new Player("Viajero", "Carpintero", 30, 30, 3);
+        field = new FlowField(MapLoader.of("pradera.map"), 60, 60);
+        field.update(30, 30);
+    }
+
+    /**
+     * 80 enemigos en un anillo a distancia 12 del jugador.
+     */
+    private EnemyStore anillo() {
+        EnemyStore store = new EnemyStore();
+        store.setGrid(new SpatialGrid(60, 60));
+        for (int k = 0; k < 80; k++) {
+            double ang = 2 * Math.PI * k / 80;
+            store.add(30 + (int) Math.round(12 * Math.cos(ang)), 30 + (int) Math.round(12 * Math.sin(ang)), null);
+        }
+        return store;
+    }
+
+    private EnemyStore simular(int ticksBarrido, int ticks) {
+        EnemyStore store = anillo();
+        EnemyLodSystem lod = new EnemyLodSystem(5, 15, 30, ticksBarrido);
+        lod.setRastreo(true);
+        for (int i = 0; i < store.size(); i++) {
+            lod.reset(store.handleAt(i), 0);
+        }
+        for (long t = 0; t < ticks; t++) {
+            lod.update(store, p, field, t);
+        }
+        return store;
+    }
+
+    @Test
+    void testVelocidadDeRastreoNoDependeDeLaFrecuencia() {
+        // arrange
+        setupStage24();
+
+        // act: 4 pasos vencidos en el tick 120
+        EnemyStore cadaTick = simular(1, 128);
+        EnemyStore cada8 = simular(8, 128);
+
+        // assert
+        for (int i = 0; i < cadaTick.size(); i++) {
+            assertEquals(cadaTick.getX(i), cada8.getX(i), "Evaluar menos seguido no debe cambiar el avance");
+            assertEquals(cadaTick.getY(i), cada8.getY(i));
+        }
+        int d = field.getDistance(cadaTick.getX(0), cadaTick.getY(0));
+        assertEquals(8, d, "El enemigo debe haber dado 4 pasos de rastreo");
+    }
+
+    @Test
+    void testEnemigoLejanoNoSeMueve() {
+        // arrange
+        setupStage24();
+        EnemyStore store = new EnemyStore();
+        int h = store.add(55, 55, null);
+        EnemyLodSystem lod = new EnemyLodSystem(5, 15, 30, 8);
+        lod.setRastreo(true);
+        lod.reset(h, 0);
+
+        // act
+        for (long t = 0; t < 300; t++) {
+            lod.update(store, p, field, t);
+        }
+
+        // assert
+        assertEquals(EnemyLodSystem.NIVEL_LEJOS, lod.getNivel(h));
+        assertEquals(55, store.getX(0));
+        assertEquals(55, store.getY(0));
+    }
+
+    @Test
+    void testAlEntrarEnRangoRecuperaElRastreoPendiente() {
+        // arrange: enemigo en rastreo evaluado en el tick 0
+        setupStage24();
+        EnemyStore store = new EnemyStore();
+        int h = store.add(42, 30, null);
+        EnemyLodSystem lod = new EnemyLodSystem(5, 15, 30, 8);
+        lod.setRastreo(true);
+        lod.reset(h, 0);
+        lod.update(store, p, field, 0);
+        assertEquals(EnemyLodSystem.NIVEL_MEDIO, lod.getNivel(h));
+
+        // act: el jugador se acerca y el motor lo ve en rango en el tick 90
+        p.setPosition(37, 30);
+        field.update(37, 30);
+        lod.enterRange(store, h, p, field, 90);
+
+        // assert: 3 pasos pendientes (90 / 30)
+        assertEquals(39, store.getX(0));
+        assertEquals(EnemyLodSystem.NIVEL_CERCA, lod.getNivel(h));
+    }
+
+    @Test
+    void testSinRastreoElNivelMedioNoSeMueve() {
+        // arrange: rastreo apagado (por defecto)
+        setupStage24();
+        EnemyStore store = anillo();
+        EnemyLodSystem lod = new EnemyLodSystem(5, 15, 30, 8);
+        for (int i = 0; i < store.size(); i++) {
+            lod.reset(store.handleAt(i), 0);
+        }
+
+        // act
+        for (long t = 0; t < 128; t++) {
+            lod.update(store, p, field, t);
+        }
+        lod.enterRange(store, store.handleAt(0), p, field, 128);
+
+        // assert
+        EnemyStore inicial = anillo();
+        for (int i = 0; i < store.size(); i++) {
+            assertEquals(inicial.getX(i), store.getX(i), "Fuera de la visión los enemigos se quedan quietos");
+            assertEquals(inicial.getY(i), store.getY(i));
+        }
+        assertEquals(EnemyLodSystem.NIVEL_MEDIO, lod.getNivel(store.handleAt(1)));
+    }
+}
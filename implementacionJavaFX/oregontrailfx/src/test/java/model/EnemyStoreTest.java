@@ -0,0 +1,119 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+import org.oniteam.oregontrailfx.model.EnemyState;
+import org.oniteam.oregontrailfx.model.EnemyStore;
+import org.oniteam.oregontrailfx.model.SpatialGrid;
+import org.oniteam.oregontrailfx.model.TypeEnemy;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EnemyStoreTest {
+
+    private EnemyStore store;
+    private int h0;
+    private int h1;
+    private int h2;
+
+    /**
+     * Escenario 14: Almacén denso de enemigos
+     * - 3 enemigos en (0,0), (1,1) y (2,2)
+     */
+    void setupStage14() {
+        store = new EnemyStore(2); // capacidad pequeña para forzar crecimiento
+        h0 = store.add(0, 0, TypeEnemy.ENEMY_WITH_KNIFE);
+        h1 = store.add(1, 1, null);
+        h2 = store.add(2, 2, TypeEnemy.ENEMY_WITH_RIFLE);
+    }
+
+    @Test
+    void testAgregarYContar() {
+        // arrange
+        setupStage14();
+
+        // assert
+        assertEquals(3, store.size());
+        assertEquals(EnemyState.IDLE, store.getState(store.indexOf(h1)));
+        assertNull(store.getType(store.indexOf(h1)));
+        assertEquals(TypeEnemy.ENEMY_WITH_RIFLE, store.getType(store.indexOf(h2)));
+    }
+
+    @Test
+    void testSwapRemoveMantieneHandlesEstables() {
+        // arrange
+        setupStage14();
+
+        // act
+        boolean eliminado = store.remove(h0);
+
+        // assert
+        assertTrue(eliminado);
+        assertEquals(2, store.size());
+        assertFalse(store.isAlive(h0));
+        int i2 = store.indexOf(h2);
+        assertEquals(0, i2, "El último enemigo debe ocupar el hueco");
+        assertEquals(2, store.getX(i2), "El handle debe seguir apuntando al mismo enemigo");
+        assertEquals(1, store.getX(store.indexOf(h1)));
+        assertFalse(store.remove(h0), "Un handle eliminado no se puede borrar dos veces");
+    }
+
+    @Test
+    void testHandlesSeReutilizan() {
+        // arrange
+        setupStage14();
+        store.remove(h1);
+
+        // act
+        int nuevo = store.add(9, 9, null);
+
+        // assert
+        assertEquals(h1, nuevo, "El handle libre debe reutilizarse");
+        assertEquals(9, store.getY(store.indexOf(nuevo)));
+        assertEquals(3, store.size());
+    }
+
+    @Test
+    void testAlmacenEliminaMuertosEnLote() {
+        // arrange
+        setupStage14();
+        store.setGrid(new SpatialGrid(30, 30));
+
+        // act
+        store.kill(h0);
+        store.kill(h2);
+
+        // assert: siguen en el almacén pero ya no colisionan
+        assertEquals(3, store.size());
+        assertEquals(EnemyState.MUERTO, store.getState(store.indexOf(h0)));
+        assertEquals(0, store.getGrid().countAt(0, 0));
+        assertFalse(store.kill(h0), "No se puede matar dos veces");
+
+        assertEquals(2, store.flushRemovals());
+        assertEquals(1, store.size());
+        assertTrue(store.isAlive(h1));
+        assertFalse(store.isAlive(h0));
+    }
+
+    @Test
+    void testOleadasReutilizanLosHandlesMuertos() {
+        // arrange
+        setupStage14();
+
+        // act: 100 oleadas matando y reponiendo los 3 enemigos
+        for (int ola = 0; ola < 100; ola++) {
+            for (int i = 0; i < store.size(); i++) {
+                store.kill(store.handleAt(i));
+            }
+            store.flushRemovals();
+            for (int k = 0; k < 3; k++) {
+                store.add(k, k, null);
+            }
+        }
+
+        // assert
+        assertEquals(3, store.size());
+        for (int i = 0; i < store.size(); i++) {
+            assertTrue(store.handleAt(i) < 3, "Las oleadas no deben crear handles nuevos");
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+import org.oniteam.oregontrailfx.model.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FlowFieldTest {
+
+    private FlowField field;
+    private MapLoader map;
+
+    /**
+     * Escenario 16: Campo de flujo sobre llanuras.map (20x20)
+     * - Obstáculos en (2,1), (7,5) y (10,3)
+     * - Jugador en (7,7)
+     */
+    void setupStage16() {
+        map = MapLoader.of("llanuras.map");
+        field = new FlowField(map, 20, 20);
+        field.update(7, 7);
+    }
+
+    @Test
+    void testDistanciaDesdeElJugador() {
+        // arrange
+        setupStage16();
+
+        // assert
+        assertEquals(0, field.getDistance(7, 7));
+        assertEquals(3, field.getDistance(4, 4), "En diagonal libre se avanza una celda por paso");
+        assertEquals(FlowField.SIN_CAMINO, field.getDistance(7, 5), "Las celdas bloqueadas no tienen distancia");
+    }
+
+    @Test
+    void testElSiguientePasoNoAtraviesaObstaculos() {
+        // arrange
+        setupStage16();
+        int x = 7;
+        int y = 0;
+
+        // act: seguir el campo hasta llegar al jugador
+        int pasos = 0;
+        while (pasos < 50) {
+            int paso = field.nextStep(x, y);
+            if (paso == FlowField.SIN_CAMINO) break;
+            x = paso % field.getWidth();
+            y = paso / field.getWidth();
+            assertFalse(map.isBlocked(x, y), "El camino no debe pasar por celdas bloqueadas");
+            pasos++;
+        }
+
+        // assert
+        assertEquals(7, x);
+        assertEquals(7, y);
+        assertEquals(field.getDistance(7, 0), pasos, "Debe seguir el camino más corto");
+    }
+
+    @Test
+    void testSoloRecalculaCuandoElJugadorCambiaDeCelda() {
+        // arrange
+        setupStage16();
+
+        // act + assert
+        assertFalse(field.update(7, 7), "Misma celda: no debe recalcular");
+        assertTrue(field.update(8, 7));
+        field.invalidate();
+        assertTrue(field.update(8, 7), "Tras invalidar debe recalcular");
+    }
+}
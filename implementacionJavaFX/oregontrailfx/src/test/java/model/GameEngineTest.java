@@ -0,0 +1,236 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+import org.oniteam.oregontrailfx.model.*;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+public class GameEngineTest {
+
+    private GameEngine engine;
+    private Player p;
+
+    /**
+     * Escenario 10: Motor de simulación sin JavaFX
+     * - Jugador en (5,5) con vida=3
+     * - Mapa llanuras.map de 20x20 celdas
+     * - Spawner sin cupo de enemigos (cantMaxRespawnEnemies=0)
+     */
+    void setupStage10() {
+        p = new Player("Viajero", "Carpintero", 5, 5, 3);
+        Scenario scenario = new Scenario(new int[20][20], TypeScenarios.START);
+        engine = new GameEngine(p, scenario, MapLoader.of("llanuras.map"),
+                new AmmoManager(50, 30), new Spawner(5, 3), 20, 20);
+    }
+
+    /**
+     * Escenario 34: Motor en modo estrés sobre un tablero libre de 100x100
+     * - Jugador en (50,50) con vida=1000 (aguanta el contacto de muchos enemigos)
+     * - 9001 enemigos, uno por celda, agregados fila por fila (filas 0 a 90)
+     * - IA en paralelo activada (se usa desde 8192 enemigos)
+     */
+    void setupStage34() {
+        p = new Player("Viajero", "Carpintero", 50, 50, 1000);
+        Scenario scenario = new Scenario(new int[100][100], TypeScenarios.START);
+        MapLoader map = MapLoader.fromLayers("libre", new TileGrid(100, 100), new CollisionLayer(100, 100));
+        EnemyStore store = new EnemyStore();
+        engine = new GameEngine(p, scenario, map, new AmmoManager(50, 30), new Spawner(5, 3), store, 100, 100);
+        for (int k = 0; k < 9001; k++) {
+            store.add(k % 100, k / 100, null);
+        }
+        engine.setParallelPool(new ForkJoinPool(2));
+    }
+
+    @Test
+    void testAdvanceEjecutaTicksFijos() {
+        // arrange
+        setupStage10();
+
+        // act: 100ms de tiempo real a 60 Hz => 6 ticks
+        int ticks = engine.advance(100_000_000L);
+
+        // assert
+        assertEquals(6, ticks, "Deben ejecutarse 6 ticks en 100ms");
+        assertEquals(6, engine.getTick());
+    }
+
+    @Test
+    void testMovimientoRespetaCooldown() {
+        // arrange
+        setupStage10();
+        engine.setInput(GameEngine.INPUT_DOWN);
+
+        // act: un segundo simulado sin pantalla
+        engine.run(GameEngine.TICKS_POR_SEGUNDO);
+
+        // assert: un movimiento cada 9 ticks => 7 movimientos en 60 ticks
+        assertEquals(5, p.getX());
+        assertEquals(12, p.getY(), "El jugador debe moverse una celda cada 150ms");
+    }
+
+    @Test
+    void testDisparoConsumeMunicionPorTick() {
+        // arrange
+        setupStage10();
+        engine.setInput(GameEngine.toInputMask(false, false, false, false, true));
+
+        // act
+        engine.run(10);
+
+        // assert
+        assertEquals(40, engine.getAmmoManager().getRifleAmmo());
+        assertEquals(10, engine.getTick());
+    }
+
+    @Test
+    void testRecargaAutomaticaReponeElCargador() {
+        // arrange: una sola bala, recarga de 500ms (30 ticks) que repone 5
+        p = new Player("Viajero", "Carpintero", 5, 5, 3);
+        Scenario scenario = new Scenario(new int[20][20], TypeScenarios.START);
+        AmmoManager ammo = new AmmoManager(1, 0);
+        engine = new GameEngine(p, scenario, MapLoader.of("llanuras.map"), ammo, new Spawner(5, 3), 20, 20);
+        Reloading recarga = new Reloading(true, 500, 5);
+        engine.setReloading(recarga);
+        engine.setInput(GameEngine.INPUT_SHOOT);
+
+        // act: tick 0 dispara, tick 1 empieza a recargar
+        engine.run(2);
+        boolean recargando = recarga.isReloading();
+        engine.run(30);
+
+        // assert: en el tick 31 vence la recarga y vuelve a disparar
+        assertTrue(recargando, "Sin balas debe empezar la recarga automática");
+        assertFalse(recarga.isReloading());
+        assertEquals(4, ammo.getRifleAmmo(), "El cargador repuesto permite volver a disparar");
+    }
+
+    @Test
+    void testRegeneracionUnCorazonCada30Segundos() {
+        // arrange
+        setupStage10();
+        p.damage(2);
+        engine.run(GameEngine.TICKS_REGENERACION + 1);
+        int sinRegeneracion = p.getVida();
+        engine.setRegeneration(true);
+
+        // act: 30 segundos de juego, más el tick en que vence el cooldown
+        engine.run(GameEngine.TICKS_REGENERACION + 1);
+        int alVencer = p.getVida();
+        engine.run(GameEngine.TICKS_REGENERACION - 2);
+
+        // assert
+        assertEquals(1, sinRegeneracion, "Por defecto no hay regeneración");
+        assertEquals(2, alVencer, "Debe recuperar un corazón a los 30 segundos");
+        assertEquals(2, p.getVida(), "Solo un corazón por cada 30 segundos");
+    }
+
+    @Test
+    void testSpawnsDentroDelEscenarioConCanvasMasGrande() {
+        // arrange: el canvas muestra 25x25 celdas pero el escenario es de 20x20
+        p = new Player("Viajero", "Carpintero", 5, 5, 3);
+        Scenario scenario = new Scenario(new int[20][20], TypeScenarios.START);
+        scenario.setCantMaxRespawnEnemies(200);
+        engine = new GameEngine(p, scenario, MapLoader.of("llanuras.map"),
+                new AmmoManager(50, 30), new Spawner(5, 3), 25, 25);
+        engine.setSpawnScheduler(new SpawnScheduler(60, 200, 5));
+
+        // act
+        engine.run(60);
+
+        // assert
+        EnemyStore store = engine.getEnemies();
+        assertEquals(20, engine.getSpawnIndex().getWidth());
+        assertTrue(store.size() > 0);
+        for (int i = 0; i < store.size(); i++) {
+            assertTrue(store.getX(i) < 20 && store.getY(i) < 20, "Ningún enemigo debe aparecer fuera del escenario");
+        }
+    }
+
+    @Test
+    void testCloseSueltaLoRegistradoEnMapaYSpawner() {
+        // arrange
+        p = new Player("Viajero", "Carpintero", 5, 5, 3);
+        MapLoader map = MapLoader.of("llanuras.map");
+        Spawner spawner = new Spawner(5, 3);
+        engine = new GameEngine(p, new Scenario(new int[20][20], TypeScenarios.START), map,
+                new AmmoManager(50, 30), spawner, 20, 20);
+        SpawnCandidateIndex index = engine.getSpawnIndex();
+        AStarPathfinder pathfinder = engine.getPathfinder();
+        int[] camino = pathfinder.findPath(0, 16, 19, 16);
+
+        // act
+        engine.close();
+        map.setBlocked(16, 16, true);
+
+        // assert
+        assertNull(spawner.getCandidateIndex(), "El spawner no debe seguir usando el índice del motor");
+        assertTrue(index.isCandidate(16, 16), "El índice ya no escucha al mapa");
+        assertEquals(0, pathfinder.getReparaciones(), "El pathfinder ya no escucha al mapa");
+        assertSame(camino, pathfinder.findPath(0, 16, 19, 16));
+    }
+
+    @Test
+    void testPasarDeParaleloASecuencialNoFalla() {
+        // arrange: un tick en paralelo deja perseguidores con handles altos
+        setupStage34();
+        engine.step();
+        EnemyStore store = engine.getEnemies();
+        for (int handle = 0; handle < 1000; handle++) {
+            engine.killEnemy(handle);
+        }
+        engine.step();
+        // El jugador aparece en la esquina vacía, lejos de sus perseguidores
+        p.setPosition(99, 99);
+
+        // act: quedan 8001 enemigos, el motor vuelve al modo secuencial
+        assertDoesNotThrow(() -> engine.run(5), "El cambio de modo no debe leer marcas fuera de rango");
+
+        // assert: los que perseguían salieron de rango y quedaron en IDLE
+        assertEquals(8001, store.size());
+        for (int i = 0; i < store.size(); i++) {
+            assertEquals(EnemyState.IDLE, store.getState(i), "Nadie debe seguir persiguiendo al jugador");
+        }
+    }
+
+    @Test
+    void testModoParaleloDaElMismoResultado() {
+        // arrange: dos motores iguales, uno solo sin pool
+        setupStage34();
+        GameEngine secuencial = engine;
+        secuencial.setParallelPool(null);
+        secuencial.getLod().setRastreo(true);
+        setupStage34();
+        GameEngine paralelo = engine;
+        paralelo.getLod().setRastreo(true);
+
+        // act + assert: el jugador se mueve en zigzag, así entran al rango
+        // enemigos que venían rastreando a nivel de detalle reducido
+        // (con el rastreo activado, que es lo que el modo paralelo salteaba)
+        for (int t = 0; t < 240; t++) {
+            int input = (t / 90) % 2 == 0 ? GameEngine.INPUT_RIGHT : GameEngine.INPUT_DOWN;
+            secuencial.setInput(input);
+            paralelo.setInput(input);
+            secuencial.step();
+            paralelo.step();
+            assertMismoEstado(secuencial.getEnemies(), paralelo.getEnemies(), t);
+        }
+        assertEquals(secuencial.getPlayer().getVida(), paralelo.getPlayer().getVida());
+    }
+
+    private static void assertMismoEstado(EnemyStore a, EnemyStore b, int t) {
+        assertEquals(a.size(), b.size());
+        for (int i = 0; i < a.size(); i++) {
+            if (a.getX(i) != b.getX(i) || a.getY(i) != b.getY(i) || a.getState(i) != b.getState(i)) {
+                fail("El enemigo " + a.handleAt(i) + " no debe depender del modo (tick " + t + ")");
+            }
+        }
+    }
+}
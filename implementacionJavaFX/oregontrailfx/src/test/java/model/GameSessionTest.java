@@ -0,0 +1,70 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+import org.oniteam.oregontrailfx.model.GameSession;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameSessionTest {
+
+    private GameSession s1;
+    private GameSession s2;
+
+    /**
+     * Escenario 11: Dos sesiones independientes en la misma JVM
+     */
+    void setupStage11() {
+        s1 = new GameSession();
+        s2 = new GameSession();
+        s1.iniciarJuego("Ana", "Banquero");
+        s2.iniciarJuego("Luis", "Granjero");
+    }
+
+    @Test
+    void testSesionesNoCompartenEstado() {
+        // arrange
+        setupStage11();
+
+        // act
+        s1.avanzarDia(100);
+        s1.avanzarDia(100);
+
+        // assert
+        assertEquals(2, s1.getDiaActual());
+        assertEquals(200, s1.getDistanciaRecorrida());
+        assertEquals(0, s2.getDiaActual(), "La segunda sesión no debe verse afectada");
+        assertNotSame(s1.getJugador(), s2.getJugador());
+        assertNotSame(s1.getSpawner(), s2.getSpawner());
+    }
+
+    @Test
+    void testSesionesEnHilosParalelos() throws InterruptedException {
+        // arrange
+        List<GameSession> sesiones = new ArrayList<>();
+        List<Thread> hilos = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            GameSession s = new GameSession();
+            s.iniciarJuego("Viajero" + i, "Carpintero");
+            s.getCaravana().agregarComida(10_000);
+            sesiones.add(s);
+            hilos.add(new Thread(() -> {
+                while (s.isJuegoEnCurso()) {
+                    s.avanzarDia(20);
+                }
+            }));
+        }
+
+        // act
+        for (Thread t : hilos) t.start();
+        for (Thread t : hilos) t.join();
+
+        // assert
+        for (GameSession s : sesiones) {
+            assertTrue(s.isJuegoGanado(), "Cada sesión debe llegar a Oregon por separado");
+            assertEquals(100, s.getDiaActual());
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+import org.oniteam.oregontrailfx.model.*;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GatewayRegistryTest {
+
+    private GatewayRegistry registry;
+    private MapLoader llanuras;
+    private MapLoader montanas;
+    private MapLoader rio;
+    private MapLoader oregon;
+
+    /**
+     * Escenario 33: Sendero de cuatro mapas
+     * - llanuras -> montanas (9,0), 800 millas
+     * - montanas -> oregon (19,10), 900 millas
+     * - llanuras -> rio (0,19), 300 millas
+     * - rio -> oregon (19,19), 1200 millas
+     * - montanas -> llanuras (0,10), 800 millas (camino de vuelta)
+     */
+    void setupStage33() {
+        registry = new GatewayRegistry();
+        llanuras = MapLoader.of("llanuras.map");
+        montanas = MapLoader.of("montanas.map");
+        rio = MapLoader.of("rio.map");
+        oregon = MapLoader.of("oregon.map");
+        registry.register(new Gateway(llanuras, montanas, 9, 0, 800));
+        registry.register(new Gateway(montanas, oregon, 19, 10, 900));
+        registry.register(new Gateway(llanuras, rio, 0, 19, 300));
+        registry.register(new Gateway(rio, oregon, 19, 19, 1200));
+        registry.register(new Gateway(montanas, llanuras, 0, 10, 800));
+    }
+
+    @Test
+    void testBusquedaPorMapaYCelda() {
+        // arrange
+        setupStage33();
+
+        // act
+        Gateway enPortal = registry.findAt("llanuras.map", 9, 0);
+        Gateway otroMapa = registry.findAt("montanas.map", 9, 0);
+
+        // assert
+        assertNotNull(enPortal);
+        assertEquals("montanas.map", enPortal.getTarget().getName());
+        assertNull(otroMapa, "La celda (9,0) solo es portal en llanuras");
+        assertNull(registry.findAt("desconocido.map", 9, 0));
+    }
+
+    @Test
+    void testTransferenciaDesdeElRegistro() {
+        // arrange
+        setupStage33();
+        SceneState state = new SceneState(3, 5, 10, 5);
+        Player player = new Player("Viajero", "Carpintero", 0, 19, 3);
+
+        // act
+        boolean cambio = registry.transferIfCollides(player, state);
+
+        // assert
+        assertTrue(cambio);
+        assertEquals("rio.map", state.getCurrentMap());
+        assertFalse(registry.transferIfCollides(player, state), "En rio.map la celda (0,19) no es portal");
+    }
+
+    @Test
+    void testRutaMasCortaHastaOregon() {
+        // arrange
+        setupStage33();
+
+        // act
+        int millas = registry.distance("llanuras.map", "oregon.map");
+        List<String> ruta = registry.route("llanuras.map", "oregon.map");
+        Gateway siguiente = registry.nextGateway("llanuras.map", "oregon.map");
+
+        // assert
+        assertEquals(1500, millas, "Por el río son 1500 millas, por las montañas 1700");
+        assertEquals(List.of("llanuras.map", "rio.map", "oregon.map"), ruta);
+        assertEquals(0, siguiente.getPortalX());
+        assertEquals(19, siguiente.getPortalY());
+    }
+
+    @Test
+    void testRutasSeRecalculanAlRegistrar() {
+        // arrange
+        setupStage33();
+        assertEquals(1500, registry.distance("llanuras.map", "oregon.map"));
+
+        // act: un atajo nuevo por las montañas
+        registry.register(new Gateway(montanas, oregon, 19, 0, 100));
+
+        // assert
+        assertEquals(900, registry.distance("llanuras.map", "oregon.map"));
+        assertEquals(List.of("llanuras.map", "montanas.map", "oregon.map"),
+                registry.route("llanuras.map", "oregon.map"));
+        assertEquals(1100, registry.distance("montanas.map", "rio.map"), "Vuelve por llanuras");
+    }
+
+    @Test
+    void testSinRuta() {
+        // arrange
+        setupStage33();
+
+        // act + assert
+        assertEquals(GatewayRegistry.SIN_RUTA, registry.distance("oregon.map", "llanuras.map"));
+        assertTrue(registry.route("oregon.map", "llanuras.map").isEmpty());
+        assertNull(registry.nextGateway("oregon.map", "llanuras.map"));
+        assertEquals(0, registry.distance("oregon.map", "oregon.map"));
+        assertEquals(4, registry.getCantMapas());
+    }
+}
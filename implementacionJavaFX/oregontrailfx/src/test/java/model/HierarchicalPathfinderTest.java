@@ -0,0 +1,131 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+import org.oniteam.oregontrailfx.model.*;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HierarchicalPathfinderTest {
+
+    private static final int ANCHO = 100;
+    private static final int ALTO = 60;
+
+    private MapLoader map;
+    private HierarchicalPathfinder hpa;
+    private AStarPathfinder astar;
+
+    /**
+     * Escenario 25: Mapa de 100x60 con un 20% de obstáculos al azar (semilla 5)
+     * - Clusters de 10x10
+     */
+    void setupStage25() {
+        map = MapLoader.of("trail.map");
+        SplittableRandom random = new SplittableRandom(5);
+        for (int y = 0; y < ALTO; y++) {
+            for (int x = 0; x < ANCHO; x++) {
+                if (random.nextInt(100) < 20) {
+                    map.setBlocked(x, y, true);
+                }
+            }
+        }
+        hpa = new HierarchicalPathfinder(map, ANCHO, ALTO, 10);
+        astar = new AStarPathfinder(map, ANCHO, ALTO, 0);
+    }
+
+    private int costo(int[] camino) {
+        int total = 0;
+        for (int i = 1; i < camino.length; i++) {
+            int dx = Math.abs(camino[i] % ANCHO - camino[i - 1] % ANCHO);
+            int dy = Math.abs(camino[i] / ANCHO - camino[i - 1] / ANCHO);
+            assertTrue(dx <= 1 && dy <= 1 && dx + dy > 0, "Cada paso avanza a una celda vecina");
+            assertFalse(map.isBlocked(camino[i] % ANCHO, camino[i] / ANCHO), "El camino no pasa por obstáculos");
+            total += dx + dy == 2 ? 14 : 10;
+        }
+        return total;
+    }
+
+    @Test
+    void testCaminosValidosYCercanosAlOptimo() {
+        // arrange
+        setupStage25();
+        SplittableRandom random = new SplittableRandom(9);
+        int comparados = 0;
+
+        for (int i = 0; i < 50; i++) {
+            int sx = random.nextInt(ANCHO), sy = random.nextInt(ALTO);
+            int tx = random.nextInt(ANCHO), ty = random.nextInt(ALTO);
+
+            // act
+            int[] optimo = astar.findPath(sx, sy, tx, ty);
+            int[] jerarquico = hpa.findPath(sx, sy, tx, ty);
+
+            // assert
+            if (optimo == null) {
+                continue;
+            }
+            assertNotNull(jerarquico, "Si existe camino, HPA* debe encontrarlo");
+            assertEquals(sy * ANCHO + sx, jerarquico[0]);
+            assertEquals(ty * ANCHO + tx, jerarquico[jerarquico.length - 1]);
+            assertTrue(costo(jerarquico) <= costo(optimo) * 1.2, "HPA* debe quedar cerca del óptimo");
+            comparados++;
+        }
+        assertTrue(comparados > 20);
+    }
+
+    @Test
+    void testCambioInteriorSoloReconstruyeSuCluster() {
+        // arrange
+        setupStage25();
+
+        // act: celda (15,15) en el interior del cluster (1,1)
+        map.setBlocked(15, 15, !map.isBlocked(15, 15));
+        hpa.findAbstractPath(0, 0, 0, 0);
+
+        // assert
+        assertEquals(1, hpa.getReconstrucciones());
+    }
+
+    @Test
+    void testCambioEnBordeReconstruyeAmbosClusters() {
+        // arrange
+        setupStage25();
+
+        // act: celda (19,15) en el borde entre los clusters (1,1) y (2,1)
+        map.setBlocked(19, 15, !map.isBlocked(19, 15));
+        hpa.findAbstractPath(0, 0, 0, 0);
+
+        // assert
+        assertEquals(2, hpa.getReconstrucciones());
+    }
+
+    @Test
+    void testCloseDejaDeEscucharLosBloqueos() {
+        // arrange
+        setupStage25();
+
+        // act
+        hpa.close();
+        map.setBlocked(15, 15, !map.isBlocked(15, 15));
+        hpa.findAbstractPath(0, 0, 0, 0);
+
+        // assert
+        assertEquals(0, hpa.getReconstrucciones(), "Un servicio cerrado no recibe los bloqueos del mapa");
+    }
+
+    @Test
+    void testParedCompletaCortaElCamino() {
+        // arrange: columna 50 bloqueada de arriba a abajo
+        setupStage25();
+        map.setBlocked(5, 5, false);
+        map.setBlocked(95, 5, false);
+        for (int y = 0; y < ALTO; y++) {
+            map.setBlocked(50, y, true);
+        }
+
+        // act & assert
+        assertNull(hpa.findPath(5, 5, 95, 5));
+        assertNull(hpa.findAbstractPath(5, 5, 95, 5));
+    }
+}
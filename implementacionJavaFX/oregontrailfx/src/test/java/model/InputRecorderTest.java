@@ -0,0 +1,85 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+import org.oniteam.oregontrailfx.model.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InputRecorderTest {
+
+    private InputRecorder recorder;
+
+    /**
+     * Escenario 13: Grabación compacta de la entrada por tick
+     * - 100 ticks hacia la derecha, 50 disparando, 10 sin entrada
+     */
+    void setupStage13() {
+        recorder = new InputRecorder(1234L);
+        for (int i = 0; i < 100; i++) recorder.record(GameEngine.INPUT_RIGHT);
+        for (int i = 0; i < 50; i++) recorder.record(GameEngine.INPUT_SHOOT);
+        for (int i = 0; i < 10; i++) recorder.record(0);
+    }
+
+    private GameEngine crearEngine(long semilla) {
+        GameSession session = new GameSession(semilla);
+        session.setJugador(new Player("Viajero", "Carpintero", 5, 5, 3));
+        Scenario scenario = new Scenario(new int[20][20], TypeScenarios.START);
+        scenario.setCantMaxRespawnEnemies(4);
+        session.setCurrentScenario(scenario);
+        return session.crearEngine(MapLoader.of("llanuras.map"), new AmmoManager(50, 30), 20, 20);
+    }
+
+    @Test
+    void testGrabacionSeGuardaPorCorridas() throws Exception {
+        // arrange
+        setupStage13();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // act
+        recorder.write(out);
+        InputReplay replay = InputRecorder.read(new ByteArrayInputStream(out.toByteArray()));
+
+        // assert
+        assertEquals(3, recorder.getCorridas(), "Solo debe haber 3 corridas de entrada");
+        assertTrue(out.size() < 32, "La grabación debe ser compacta");
+        assertEquals(1234L, replay.getSemilla());
+        assertEquals(160, replay.getTotalTicks());
+        for (int i = 0; i < 100; i++) assertEquals(GameEngine.INPUT_RIGHT, replay.next());
+        for (int i = 0; i < 50; i++) assertEquals(GameEngine.INPUT_SHOOT, replay.next());
+        for (int i = 0; i < 10; i++) assertEquals(0, replay.next());
+        assertFalse(replay.hasNext());
+    }
+
+    @Test
+    void testRepeticionEsIdenticaALaPartidaOriginal() {
+        // arrange: partida original grabada
+        GameEngine original = crearEngine(77L);
+        original.setRecorder(new InputRecorder(77L));
+        int[] entradas = {GameEngine.INPUT_DOWN, GameEngine.INPUT_RIGHT, GameEngine.INPUT_SHOOT, 0};
+        for (int i = 0; i < 120; i++) {
+            original.setInput(entradas[(i / 30) % entradas.length]);
+            original.step();
+        }
+
+        // act: repetir con la misma semilla
+        InputReplay replay = original.getRecorder().toReplay();
+        GameEngine repetido = crearEngine(replay.getSemilla());
+        repetido.replay(replay);
+
+        // assert
+        assertEquals(original.getTick(), repetido.getTick());
+        assertEquals(original.getPlayer().getX(), repetido.getPlayer().getX());
+        assertEquals(original.getPlayer().getY(), repetido.getPlayer().getY());
+        assertEquals(original.getPlayer().getVida(), repetido.getPlayer().getVida());
+        EnemyStore a = original.getEnemies();
+        EnemyStore b = repetido.getEnemies();
+        assertEquals(a.size(), b.size());
+        for (int i = 0; i < a.size(); i++) {
+            assertEquals(a.getX(i), b.getX(i));
+            assertEquals(a.getY(i), b.getY(i));
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+import org.oniteam.oregontrailfx.model.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LineOfSightTest {
+
+    private MapLoader map;
+    private LineOfSight vision;
+
+    /**
+     * Escenario 27: Línea de visión en llanuras
+     * - Árbol bloqueado en (7,5)
+     * - Tablero de 20x20, radio de visión 5
+     */
+    void setupStage27() {
+        map = MapLoader.of("llanuras.map");
+        vision = new LineOfSight(map, 20, 20, 5);
+    }
+
+    @Test
+    void testRayoBloqueadoPorArbol() {
+        // arrange
+        setupStage27();
+
+        // act + assert
+        assertFalse(vision.hasLineOfSight(7, 7, 7, 3), "El árbol en (7,5) tapa la visión");
+        assertTrue(vision.hasLineOfSight(7, 7, 9, 7), "Sin obstáculos hay visión");
+        assertTrue(vision.hasLineOfSight(7, 6, 7, 5), "La celda destino no tapa su propia visión");
+    }
+
+    @Test
+    void testCacheDeRayosSeInvalidaAlCambiarElMapa() {
+        // arrange
+        setupStage27();
+        assertTrue(vision.hasLineOfSight(0, 10, 10, 10));
+
+        // act
+        assertTrue(vision.hasLineOfSight(0, 10, 10, 10));
+        int aciertos = vision.getAciertos();
+        map.setBlocked(5, 10, true);
+
+        // assert
+        assertEquals(1, aciertos, "La segunda consulta sale de la caché");
+        assertFalse(vision.hasLineOfSight(0, 10, 10, 10), "Tras bloquear (5,10) el rayo se corta");
+    }
+
+    @Test
+    void testVisibilidadDesdeElJugador() {
+        // arrange
+        setupStage27();
+
+        // act
+        boolean recalculo = vision.update(7, 7);
+
+        // assert
+        assertTrue(recalculo);
+        assertTrue(vision.isVisibleFromPlayer(7, 7));
+        assertTrue(vision.isVisibleFromPlayer(9, 9));
+        assertTrue(vision.isVisibleFromPlayer(7, 5), "El árbol mismo se ve");
+        assertFalse(vision.isVisibleFromPlayer(7, 3), "Detrás del árbol no se ve");
+        assertFalse(vision.isVisibleFromPlayer(7, 13), "Fuera del radio no se ve");
+        assertFalse(vision.update(7, 7), "Sin cambios no se recalcula");
+    }
+
+    @Test
+    void testVisibilidadCoincideConRayosSinObstaculos() {
+        // arrange
+        setupStage27();
+        vision.update(15, 15);
+
+        // act + assert
+        for (int y = 10; y <= 19; y++) {
+            for (int x = 10; x <= 19; x++) {
+                int dx = x - 15;
+                int dy = y - 15;
+                boolean esperado = dx * dx + dy * dy <= 25;
+                assertEquals(esperado, vision.isVisibleFromPlayer(x, y), "Celda (" + x + "," + y + ")");
+            }
+        }
+    }
+
+    @Test
+    void testVisibilidadSeRecalculaAlBloquear() {
+        // arrange
+        setupStage27();
+        vision.update(15, 15);
+        assertTrue(vision.isVisibleFromPlayer(15, 12));
+
+        // act
+        map.setBlocked(15, 14, true);
+        boolean recalculo = vision.update(15, 15);
+
+        // assert
+        assertTrue(recalculo);
+        assertFalse(vision.isVisibleFromPlayer(15, 12), "La nueva roca tapa la celda");
+    }
+
+    @Test
+    void testEnemigoDetrasDeRocaNoPersigue() {
+        // arrange
+        setupStage27();
+        EnemyAISystem ai = new EnemyAISystem(5.0);
+        ai.setLineOfSight(vision);
+        EnemyStore store = new EnemyStore();
+        store.add(7, 3, null); // detrás del árbol
+        store.add(9, 7, null); // a la vista
+        vision.update(7, 7);
+
+        // act
+        ai.update(store, new Player("Viajero", "Carpintero", 7, 7, 3), null);
+
+        // assert
+        assertEquals(EnemyState.IDLE, store.getState(0), "El enemigo oculto no persigue");
+        assertEquals(EnemyState.PERSEGUIR, store.getState(1), "El enemigo visible persigue");
+    }
+}
@@ -0,0 +1,142 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.oniteam.oregontrailfx.model.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MapLoaderTest {
+
+    @TempDir
+    Path carpeta;
+
+    private Path archivo;
+    private List<String> filasFuente;
+    private Path compilado;
+
+    /**
+     * Escenario 28: Mapa binario de 100x50 escrito en disco
+     * - Tile = (x + y) % 7
+     * - Bloqueadas las celdas con x == 30 (una pared), salvo y == 25
+     */
+    void setupStage28() throws IOException {
+        int w = 100;
+        int h = 50;
+        short[] tiles = new short[w * h];
+        boolean[] blocked = new boolean[w * h];
+        for (int y = 0; y < h; y++) {
+            for (int x = 0; x < w; x++) {
+                tiles[y * w + x] = (short) ((x + y) % 7);
+                blocked[y * w + x] = x == 30 && y != 25;
+            }
+        }
+        archivo = carpeta.resolve("pared.map");
+        MapLoader.write(archivo, w, h, tiles, blocked);
+    }
+
+    @Test
+    void testCargaMapeadaLeeCapas() throws IOException {
+        // arrange
+        setupStage28();
+
+        // act
+        MapLoader map = MapLoader.load(archivo);
+
+        // assert
+        assertEquals(100, map.getWidth());
+        assertEquals(50, map.getHeight());
+        assertEquals((12 + 40) % 7, map.getTile(12, 40));
+        assertTrue(map.isBlocked(30, 0));
+        assertTrue(map.isBlocked(30, 49));
+        assertFalse(map.isBlocked(30, 25), "El hueco de la pared es transitable");
+        assertFalse(map.isBlocked(31, 10));
+        assertFalse(map.isBlocked(500, 500), "Fuera del mapa no hay obstáculos");
+    }
+
+    @Test
+    void testSetBlockedNoModificaElArchivo() throws IOException {
+        // arrange
+        setupStage28();
+        byte[] antes = Files.readAllBytes(archivo);
+        MapLoader map = MapLoader.load(archivo);
+
+        // act
+        boolean cambio = map.setBlocked(30, 25, true);
+
+        // assert
+        assertTrue(cambio);
+        assertTrue(map.isBlocked(30, 25));
+        assertEquals(1, map.getVersion());
+        assertArrayEquals(antes, Files.readAllBytes(archivo), "Los cambios no llegan al archivo");
+        assertFalse(MapLoader.load(archivo).isBlocked(30, 25));
+    }
+
+    @Test
+    void testArchivoInvalidoLanzaExcepcion() throws IOException {
+        // arrange
+        Path falso = carpeta.resolve("falso.map");
+        Files.write(falso, new byte[64]);
+
+        // act + assert
+        assertThrows(IOException.class, () -> MapLoader.load(falso));
+    }
+
+    @Test
+    void testMapaIntegradoSinArchivo() {
+        // arrange
+        MapLoader map = MapLoader.of("llanuras.map");
+
+        // act + assert
+        assertTrue(map.isBlocked(2, 1), "Roca");
+        assertTrue(map.isBlocked(7, 5), "Árbol");
+        assertTrue(map.isBlocked(10, 3), "Arbusto");
+        assertFalse(map.isBlocked(3, 3));
+        assertTrue(map.setBlocked(150, 150, true), "Fuera del mapa integrado también se puede bloquear");
+        assertTrue(map.isBlocked(150, 150));
+    }
+
+    /**
+     * Escenario 35: Mapa de texto del juego y su versión compilada en el build
+     * - src/main/maps/llanuras.txt (fuente, una fila de texto por fila de celdas)
+     * - target/classes/maps/llanuras.map (salida del compilador de assets)
+     */
+    void setupStage35() throws IOException {
+        filasFuente = Files.readAllLines(Paths.get("src/main/maps/llanuras.txt")).stream()
+                .map(String::stripTrailing)
+                .filter(l -> !l.isEmpty() && !l.startsWith(";"))
+                .collect(Collectors.toList());
+        compilado = Paths.get("target/classes/maps/llanuras.map");
+    }
+
+    @Test
+    void testMapaCompiladoCoincideConLaFuente() throws IOException {
+        // arrange
+        setupStage35();
+        String caracteres = ".,:#T~=*"; // mismo orden que el compilador de assets
+        String bloqueantes = "#T~*";
+        assertTrue(Files.isRegularFile(compilado), "El build debe compilar " + compilado);
+
+        // act
+        MapLoader map = MapLoader.load(compilado);
+
+        // assert
+        assertEquals(filasFuente.size(), map.getHeight());
+        assertEquals(filasFuente.stream().mapToInt(String::length).max().orElse(0), map.getWidth());
+        for (int y = 0; y < map.getHeight(); y++) {
+            String fila = filasFuente.get(y);
+            for (int x = 0; x < map.getWidth(); x++) {
+                char c = x < fila.length() ? fila.charAt(x) : '.';
+                assertEquals(caracteres.indexOf(c), map.getTile(x, y), "Tile en (" + x + "," + y + ")");
+                assertEquals(bloqueantes.indexOf(c) >= 0, map.isBlocked(x, y), "Colisión en (" + x + "," + y + ")");
+            }
+        }
+    }
+}
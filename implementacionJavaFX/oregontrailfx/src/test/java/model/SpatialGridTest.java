@@ -0,0 +1,81 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+import org.oniteam.oregontrailfx.model.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SpatialGridTest {
+
+    private SpatialGrid grid;
+    private Player p;
+
+    /**
+     * Escenario 15: Índice espacial de 30x30 celdas
+     * - Jugador en (10,10) con vida=3
+     */
+    void setupStage15() {
+        grid = new SpatialGrid(30, 30);
+        p = new Player("Viajero", "Carpintero", 10, 10, 3);
+    }
+
+    @Test
+    void testConsultaPorCeldaYRadio() {
+        // arrange
+        setupStage15();
+        grid.insert(0, 10, 10);
+        grid.insert(1, 10, 10);
+        grid.insert(2, 12, 10);
+        grid.insert(3, 20, 20);
+        int[] out = new int[8];
+
+        // act
+        int enCelda = grid.countAt(10, 10);
+        int enRadio = grid.queryRadius(10, 10, 2.0, out);
+
+        // assert
+        assertEquals(2, enCelda);
+        assertEquals(3, enRadio, "Solo los tres enemigos cercanos deben estar a distancia <= 2");
+        for (int k = 0; k < enRadio; k++) {
+            assertNotEquals(3, out[k], "El enemigo lejano no debe aparecer");
+        }
+    }
+
+    @Test
+    void testEnemyActualizaIndiceAlMoverse() {
+        // arrange
+        setupStage15();
+        Enemy e = new Enemy(0, 0);
+        e.attachGrid(grid, 7);
+
+        // act
+        e.setPosition(10, 10);
+
+        // assert
+        assertEquals(0, grid.countAt(0, 0), "La celda anterior debe quedar vacía");
+        assertEquals(1, grid.countAt(10, 10));
+    }
+
+    @Test
+    void testAtaqueConsultaSoloLaCeldaDelJugador() {
+        // arrange
+        setupStage15();
+        EnemyStore store = new EnemyStore();
+        store.setGrid(grid);
+        store.add(10, 10, null);
+        int h = store.add(5, 5, null);
+        EnemyAttack atk = new EnemyAttack(1, 800);
+        TimerWheel cooldowns = new TimerWheel(64, 1);
+        int[] buffer = new int[4];
+
+        // act
+        store.setPosition(store.indexOf(h), 10, 10);
+        int atacantes = atk.tryAttack(grid, p, cooldowns, 0, buffer);
+        int enCooldown = atk.tryAttack(grid, p, cooldowns, 0, buffer);
+
+        // assert
+        assertEquals(2, atacantes);
+        assertEquals(1, p.getVida(), "Cada enemigo en la celda debe hacer 1 de daño");
+        assertEquals(0, enCooldown, "En el mismo tick ningún enemigo vuelve a atacar");
+    }
+}
@@ -0,0 +1,188 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+import org.oniteam.oregontrailfx.model.*;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SpawnCandidateIndexTest {
+
+    private MapLoader map;
+    private SpawnCandidateIndex index;
+    private SpatialGrid grid;
+
+    /**
+     * Escenario 21: Índice de candidatas sobre llanuras.map (20x20)
+     * - Obstáculos en (2,1), (7,5) y (10,3)
+     * - Radio seguro 3, sin separación entre enemigos
+     */
+    void setupStage21() {
+        map = MapLoader.of("llanuras.map");
+        index = new SpawnCandidateIndex(map, 20, 20, 3);
+        grid = new SpatialGrid(20, 20);
+        grid.setCellListener(index);
+    }
+
+    /**
+     * Escenario 22: Igual que el 21 pero en modo Poisson-disk con separación 2
+     */
+    void setupStage22() {
+        map = MapLoader.of("llanuras.map");
+        index = new SpawnCandidateIndex(map, 20, 20, 3, 2);
+        grid = new SpatialGrid(20, 20);
+        grid.setCellListener(index);
+    }
+
+    /**
+     * Cuenta por fuerza bruta las celdas que deberían ser candidatas.
+     */
+    private int contarEsperadas(int px, int py, int separacion) {
+        int cont = 0;
+        for (int y = 0; y < 20; y++) {
+            for (int x = 0; x < 20; x++) {
+                int dx = x - px;
+                int dy = y - py;
+                boolean libre = !map.isBlocked(x, y) && dx * dx + dy * dy >= 9;
+                for (int oy = -separacion; libre && oy <= separacion; oy++) {
+                    for (int ox = -separacion; libre && ox <= separacion; ox++) {
+                        if (ox * ox + oy * oy <= separacion * separacion
+                                && x + ox >= 0 && y + oy >= 0 && x + ox < 20 && y + oy < 20
+                                && grid.countAt(x + ox, y + oy) > 0) {
+                            libre = false;
+                        }
+                    }
+                }
+                if (libre) {
+                    cont++;
+                }
+            }
+        }
+        return cont;
+    }
+
+    @Test
+    void testExcluyeBloqueadasYZonaSegura() {
+        // arrange
+        setupStage21();
+
+        // act
+        index.setPlayer(10, 10);
+
+        // assert
+        assertFalse(index.isCandidate(7, 5), "Las celdas bloqueadas no son candidatas");
+        assertFalse(index.isCandidate(12, 10), "Dentro del radio seguro no se spawnea");
+        assertTrue(index.isCandidate(13, 10), "A distancia 3 ya se puede spawnear");
+        assertEquals(contarEsperadas(10, 10, 0), index.size());
+    }
+
+    @Test
+    void testZonaSeguraSeActualizaAlMoverseElJugador() {
+        // arrange
+        setupStage21();
+        index.setPlayer(10, 10);
+
+        // act
+        for (int paso = 0; paso < 15; paso++) {
+            index.setPlayer(10 - paso / 2, 10 + paso % 3);
+
+            // assert
+            assertEquals(contarEsperadas(10 - paso / 2, 10 + paso % 3, 0), index.size());
+        }
+    }
+
+    @Test
+    void testCeldasOcupadasYBloqueosEnTiempoDeJuego() {
+        // arrange
+        setupStage21();
+        index.setPlayer(0, 0);
+
+        // act
+        grid.insert(0, 15, 15);
+        map.setBlocked(16, 16, true);
+
+        // assert
+        assertFalse(index.isCandidate(15, 15), "Una celda ocupada no es candidata");
+        assertFalse(index.isCandidate(16, 16));
+        grid.remove(0);
+        map.setBlocked(16, 16, false);
+        assertTrue(index.isCandidate(15, 15));
+        assertTrue(index.isCandidate(16, 16));
+    }
+
+    @Test
+    void testCloseDejaDeEscucharLosBloqueos() {
+        // arrange
+        setupStage21();
+        index.setPlayer(0, 0);
+        int antes = index.size();
+
+        // act
+        index.close();
+        map.setBlocked(16, 16, true);
+
+        // assert
+        assertTrue(index.isCandidate(16, 16), "Un índice cerrado no recibe los bloqueos del mapa");
+        assertEquals(antes, index.size());
+    }
+
+    @Test
+    void testModoPoissonSeparaLosSpawns() {
+        // arrange
+        setupStage22();
+        index.setPlayer(10, 10);
+        SplittableRandom random = new SplittableRandom(3);
+
+        // act: spawnear hasta llenar el tablero
+        int id = 0;
+        int celda;
+        while ((celda = index.pick(random)) != SpawnCandidateIndex.NINGUNA) {
+            grid.insert(id++, celda % 20, celda / 20);
+        }
+
+        // assert: ningún par de enemigos a distancia <= 2
+        int[] cerca = new int[8];
+        for (int i = 0; i < id; i++) {
+            celda = -1;
+            for (int y = 0; y < 20 && celda < 0; y++) {
+                for (int x = 0; x < 20 && celda < 0; x++) {
+                    if (grid.queryCell(x, y, cerca) > 0 && cerca[0] == i) {
+                        celda = y * 20 + x;
+                    }
+                }
+            }
+            assertEquals(1, grid.queryRadius(celda % 20, celda / 20, 2.0, cerca),
+                    "Cada enemigo debe estar separado de los demás");
+        }
+        assertTrue(id > 10, "Deben caber varios enemigos en el tablero");
+    }
+
+    @Test
+    void testSpawnerUsaUnSoloSorteoEnMapaCasiLleno() {
+        // arrange: todo bloqueado salvo una celda lejos del jugador
+        setupStage21();
+        for (int y = 0; y < 20; y++) {
+            for (int x = 0; x < 20; x++) {
+                map.setBlocked(x, y, !(x == 18 && y == 18));
+            }
+        }
+        Scenario scenario = new Scenario(new int[20][20], TypeScenarios.START);
+        scenario.setCantMaxRespawnEnemies(1);
+        Spawner sp = new Spawner(1, 3, new SplittableRandom(1));
+        sp.setCandidateIndex(index);
+        EnemyStore store = new EnemyStore();
+        store.setGrid(grid);
+
+        // act
+        int agregados = sp.tickSpawn(scenario, new Player("Viajero", "Carpintero", 2, 2, 3), store,
+                new SpawnScheduler(60, 1, 1), 1_000_000_000L);
+
+        // assert
+        assertEquals(1, agregados);
+        assertEquals(1, store.size(), "Con una sola celda libre se spawnea en el primer tick");
+        assertEquals(18, store.getX(0));
+        assertEquals(18, store.getY(0));
+        assertEquals(0, index.size());
+    }
+}
@@ -0,0 +1,109 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+import org.oniteam.oregontrailfx.model.*;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SpawnSchedulerTest {
+
+    private Scenario map;
+    private Spawner sp;
+    private Player p;
+    private EnemyStore store;
+
+    /**
+     * Escenario 23: Planificador de spawns
+     * - Tablero de 30x30 con tope de escenario 8
+     * - Jugador en (15,15), spawner con radio seguro 3
+     */
+    void setupStage23() {
+        map = new Scenario(new int[30][30], TypeScenarios.START);
+        map.setCantMaxRespawnEnemies(8);
+        sp = new Spawner(5, 3, new SplittableRandom(11));
+        p = new Player("Viajero", "Carpintero", 15, 15, 3);
+        store = new EnemyStore();
+    }
+
+    /**
+     * Simula {@code segundos} de juego dividido en frames de {@code fps}.
+     */
+    private int simular(SpawnScheduler scheduler, int fps, int segundos) {
+        long anterior = 0;
+        for (int i = 1; i <= segundos * fps; i++) {
+            long ahora = i * 1_000_000_000L / fps;
+            sp.tickSpawn(map, p, store, scheduler, ahora - anterior);
+            anterior = ahora;
+        }
+        return store.size();
+    }
+
+    @Test
+    void testLaTasaNoDependeDeLosFrames() {
+        // arrange
+        setupStage23();
+        map.setCantMaxRespawnEnemies(1000);
+
+        // act
+        int a60 = simular(new SpawnScheduler(5, 1000, 1), 60, 4);
+        store = new EnemyStore();
+        int a120 = simular(new SpawnScheduler(5, 1000, 1), 120, 4);
+
+        // assert: 5 por segundo durante 4 segundos
+        assertEquals(20, a60);
+        assertEquals(a60, a120, "A 60 y 120 fps deben aparecer los mismos enemigos");
+    }
+
+    @Test
+    void testRespetaElTopeDelEscenarioYElGlobal() {
+        // arrange
+        setupStage23();
+
+        // act
+        int conTopeEscenario = simular(new SpawnScheduler(5, 10, 1), 60, 10);
+        store = new EnemyStore();
+        int conTopeGlobal = simular(new SpawnScheduler(5, 3, 1), 60, 10);
+
+        // assert
+        assertEquals(8, conTopeEscenario, "El escenario limita a 8 enemigos");
+        assertEquals(3, conTopeGlobal, "game.max_enemies limita a 3 enemigos");
+    }
+
+    @Test
+    void testPresupuestoPorTick() {
+        // arrange: un segundo de ráfaga acumulado en una sola llamada
+        setupStage23();
+        SpawnScheduler scheduler = new SpawnScheduler(5, 10, 2);
+
+        // act
+        int agregados = sp.tickSpawn(map, p, store, scheduler, 1_000_000_000L);
+
+        // assert
+        assertEquals(2, agregados, "No deben aparecer más de 2 enemigos en un tick");
+        assertEquals(3.0, scheduler.getTokens(), 1e-9);
+    }
+
+    @Test
+    void testRafagaConTasaFraccionaria() {
+        // arrange
+        SpawnScheduler scheduler = new SpawnScheduler(2.5, 10, 5);
+
+        // act: mucho más que un segundo sin spawnear
+        scheduler.advance(10_000_000_000L);
+
+        // assert
+        assertEquals(2.5, scheduler.getTokens(), 1e-9, "La ráfaga es de un segundo completo a 2,5 por segundo");
+    }
+
+    @Test
+    void testEscenarioSinCupoNoSpawnea() {
+        // arrange
+        setupStage23();
+        map.setCantMaxRespawnEnemies(0);
+
+        // act & assert
+        assertEquals(0, simular(new SpawnScheduler(), 60, 5));
+    }
+}
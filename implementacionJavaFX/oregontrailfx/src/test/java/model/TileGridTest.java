@@ -0,0 +1,116 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+import org.oniteam.oregontrailfx.model.*;
+
+import java.nio.ShortBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TileGridTest {
+
+    private int[][] board;
+
+    /**
+     * Escenario 31: Tablero int[][] de 6x4 en formato board[x][y]
+     * - Tile = x * 10 + y
+     */
+    void setupStage31() {
+        board = new int[6][4];
+        for (int x = 0; x < 6; x++) {
+            for (int y = 0; y < 4; y++) {
+                board[x][y] = x * 10 + y;
+            }
+        }
+    }
+
+    @Test
+    void testAdaptadorDeInt() {
+        // arrange
+        setupStage31();
+
+        // act
+        TileGrid grid = TileGrid.fromBoard(board);
+
+        // assert
+        assertEquals(6, grid.getWidth());
+        assertEquals(4, grid.getHeight());
+        assertEquals(53, grid.get(5, 3));
+        assertEquals(5 * 10 + 3, grid.getTiles()[3 * 6 + 5], "Fila por fila: y * width + x");
+        assertArrayEquals(board, grid.toBoard());
+    }
+
+    @Test
+    void testAdaptadorRechazaTablerosQueNoEntran() {
+        // arrange
+        setupStage31();
+        int[][] irregular = board.clone();
+        irregular[2] = new int[3];
+
+        // act
+        board[4][1] = Short.MAX_VALUE + 1;
+
+        // assert
+        assertThrows(IllegalArgumentException.class, () -> TileGrid.fromBoard(board),
+                "Un tile que no entra en un short no debe truncarse");
+        assertThrows(IllegalArgumentException.class, () -> TileGrid.fromBoard(irregular),
+                "Un tablero irregular no debe aceptarse");
+    }
+
+    @Test
+    void testVistaDeFilaSinCopiar() {
+        // arrange
+        setupStage31();
+        TileGrid grid = TileGrid.fromBoard(board);
+
+        // act
+        ShortBuffer fila = grid.row(2);
+        fila.put(4, (short) 99);
+
+        // assert
+        assertEquals(6, fila.remaining());
+        assertEquals(12, fila.get(1));
+        assertEquals(99, grid.get(4, 2), "La vista escribe en el tablero");
+        assertThrows(IndexOutOfBoundsException.class, () -> grid.row(4));
+    }
+
+    @Test
+    void testRellenoYCopiaEnBloque() {
+        // arrange
+        TileGrid origen = new TileGrid(8, 8);
+        origen.fill(1);
+        origen.fill(2, 2, 5, 3, 7);
+        TileGrid destino = new TileGrid(5, 5);
+
+        // act
+        destino.copyFrom(origen, 2, 2, 1, 1, 4, 2);
+
+        // assert
+        assertEquals(7, origen.get(5, 3));
+        assertEquals(1, origen.get(6, 3));
+        assertEquals(7, destino.get(1, 1));
+        assertEquals(7, destino.get(4, 2));
+        assertEquals(0, destino.get(0, 0));
+        assertEquals(0, destino.get(1, 3));
+        assertThrows(IndexOutOfBoundsException.class, () -> destino.copyFrom(origen, 0, 0, 2, 2, 4, 4));
+    }
+
+    @Test
+    void testScenarioMantieneLaApiDeBoard() {
+        // arrange
+        setupStage31();
+        Scenario scenario = new Scenario(board, TypeScenarios.START);
+
+        // act
+        int[][] copia = scenario.getBoard();
+        copia[0][0] = 42;
+
+        // assert
+        assertEquals(6, scenario.getWidth());
+        assertEquals(4, scenario.getHeight());
+        assertEquals(6, copia.length);
+        assertEquals(4, copia[0].length);
+        assertEquals(0, scenario.getTiles().get(0, 0), "getBoard entrega una copia");
+        assertEquals(31, scenario.getTiles().get(3, 1));
+    }
+}
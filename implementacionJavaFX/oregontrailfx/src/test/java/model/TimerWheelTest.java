@@ -0,0 +1,113 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+import org.oniteam.oregontrailfx.model.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TimerWheelTest {
+
+    private TimerWheel wheel;
+    private List<String> vencidos;
+    private TimerWheel.Listener listener;
+
+    /**
+     * Escenario 26: Rueda de 8 ranuras con 2 tipos de cooldown
+     */
+    void setupStage26() {
+        wheel = new TimerWheel(8, 2);
+        vencidos = new ArrayList<>();
+        listener = (tipo, entidad) -> vencidos.add(tipo + ":" + entidad + "@" + wheel.getTick());
+    }
+
+    @Test
+    void testVenceEnElTickExacto() {
+        // arrange
+        setupStage26();
+        wheel.startCooldown(0, 7, 3);
+        wheel.startCooldown(1, 7, 5);
+
+        // act
+        wheel.advanceTo(4, listener);
+
+        // assert
+        assertEquals(List.of("0:7@3"), vencidos);
+        assertFalse(wheel.isCooling(0, 7));
+        assertTrue(wheel.isCooling(1, 7));
+        assertEquals(1, wheel.remaining(1, 7));
+    }
+
+    @Test
+    void testCooldownMasLargoQueLaRueda() {
+        // arrange: 20 ticks con 8 ranuras => da más de dos vueltas
+        setupStage26();
+        wheel.startCooldown(0, 1, 20);
+
+        // act
+        wheel.advanceTo(19, listener);
+        boolean antes = vencidos.isEmpty();
+        wheel.advanceTo(20, listener);
+
+        // assert
+        assertTrue(antes, "No debe vencer en las vueltas anteriores");
+        assertEquals(List.of("0:1@20"), vencidos);
+    }
+
+    @Test
+    void testNoSeDuplicaNiVenceSiSeCancela() {
+        // arrange
+        setupStage26();
+        assertTrue(wheel.startCooldown(0, 2, 4));
+
+        // act
+        boolean duplicado = wheel.startCooldown(0, 2, 1);
+        wheel.cancel(0, 2);
+        wheel.advanceTo(10, listener);
+
+        // assert
+        assertFalse(duplicado, "Una entidad no puede tener dos cooldowns del mismo tipo");
+        assertTrue(vencidos.isEmpty());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void testMilesDeEntidades() {
+        // arrange
+        setupStage26();
+        for (int e = 0; e < 5000; e++) {
+            wheel.startCooldown(0, e, 1 + e % 50);
+        }
+
+        // act
+        wheel.advanceTo(50, listener);
+
+        // assert
+        assertEquals(5000, vencidos.size());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void testContactoPegaSegunLaCadencia() {
+        // arrange: enemigo pegado al jugador, cadencia de 1 segundo
+        Player p = new Player("Viajero", "Carpintero", 5, 5, 3);
+        SpatialGrid grid = new SpatialGrid(20, 20);
+        grid.insert(0, 5, 5);
+        TimerWheel cooldowns = new TimerWheel(64, 1);
+        EnemyAttack ataque = new EnemyAttack(1, 1000);
+        int[] buffer = new int[4];
+
+        // act: un segundo y medio de juego
+        int golpes = 0;
+        for (long t = 0; t < 90; t++) {
+            cooldowns.advanceTo(t, (tipo, entidad) -> { });
+            golpes += ataque.tryAttack(grid, p, cooldowns, 0, buffer);
+        }
+
+        // assert
+        assertEquals(2, golpes, "Debe pegar en el tick 0 y en el 60");
+        assertEquals(1, p.getVida());
+    }
+}
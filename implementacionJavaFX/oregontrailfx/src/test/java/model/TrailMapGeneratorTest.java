@@ -0,0 +1,124 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.oniteam.oregontrailfx.model.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TrailMapGeneratorTest {
+
+    private static final long SEMILLA = 1848L;
+
+    @TempDir
+    Path carpeta;
+
+    private ForkJoinPool hilos;
+
+    /**
+     * Escenario 32: Generación procedural
+     * - Semilla 1848
+     * - Pool de 4 hilos para los chunks
+     */
+    void setupStage32() {
+        hilos = new ForkJoinPool(4);
+    }
+
+    @Test
+    void testParaleloIgualASecuencial() throws IOException {
+        // arrange
+        setupStage32();
+        TrailMapGenerator gen = new TrailMapGenerator(SEMILLA, TypeScenarios.ROAD);
+
+        // act
+        MapLoader paralelo = gen.generate(150, 70, hilos);
+        MapLoader secuencial = gen.generate(150, 70, null);
+
+        // assert
+        MapLoader.write(carpeta.resolve("a.map"), paralelo.toTileGrid(), paralelo.getCollisionLayer());
+        MapLoader.write(carpeta.resolve("b.map"), secuencial.toTileGrid(), secuencial.getCollisionLayer());
+        assertArrayEquals(Files.readAllBytes(carpeta.resolve("b.map")), Files.readAllBytes(carpeta.resolve("a.map")),
+                "La cantidad de hilos no cambia el mapa");
+        hilos.shutdown();
+    }
+
+    @Test
+    void testMismaSemillaMismoArchivo() throws IOException {
+        // arrange
+        setupStage32();
+        Path otra = carpeta.resolve("otra");
+
+        // act
+        MapLoader primero = new TrailMapGenerator(SEMILLA, TypeScenarios.RIVER).generateCached(carpeta, 64, 40, hilos);
+        MapLoader segundo = new TrailMapGenerator(SEMILLA, TypeScenarios.RIVER).generateCached(otra, 64, 40, null);
+
+        // assert
+        String nombre = primero.getName();
+        assertEquals(nombre, segundo.getName());
+        assertArrayEquals(Files.readAllBytes(carpeta.resolve(nombre)), Files.readAllBytes(otra.resolve(nombre)));
+        assertNotEquals(primero.getName(),
+                new TrailMapGenerator(SEMILLA + 1, TypeScenarios.RIVER).nombreArchivo(64, 40));
+        hilos.shutdown();
+    }
+
+    @Test
+    void testCacheEnDiscoNoRegenera() throws IOException {
+        // arrange
+        setupStage32();
+        TrailMapGenerator gen = new TrailMapGenerator(SEMILLA, TypeScenarios.START);
+        gen.generateCached(carpeta, 40, 40, hilos);
+        Path archivo = carpeta.resolve(gen.nombreArchivo(40, 40));
+        long modificado = Files.getLastModifiedTime(archivo).toMillis();
+
+        // act
+        MapLoader map = gen.generateCached(carpeta, 40, 40, hilos);
+
+        // assert
+        assertEquals(modificado, Files.getLastModifiedTime(archivo).toMillis());
+        assertEquals(40, map.getWidth());
+        hilos.shutdown();
+    }
+
+    @Test
+    void testCapasCoincidenConElTerreno() {
+        // arrange
+        TrailMapGenerator gen = new TrailMapGenerator(SEMILLA, TypeScenarios.RIVER);
+
+        // act
+        MapLoader map = gen.generate(70, 30, null);
+
+        // assert
+        int agua = 0;
+        for (int y = 0; y < 30; y++) {
+            for (int x = 0; x < 70; x++) {
+                int tile = gen.tileEn(x, y);
+                assertEquals(tile, map.getTile(x, y));
+                assertEquals(TrailMapGenerator.bloquea(tile), map.isBlocked(x, y));
+                agua += tile == TrailMapGenerator.TILE_AGUA ? 1 : 0;
+            }
+        }
+        assertTrue(agua > 70, "El río cruza el mapa");
+    }
+
+    @Test
+    void testBiomasDistintosYChunkSource() {
+        // arrange
+        TrailMapGenerator llanura = new TrailMapGenerator(SEMILLA, TypeScenarios.START);
+        TrailMapGenerator montania = new TrailMapGenerator(SEMILLA, TypeScenarios.ROAD);
+        ChunkedWorld world = new ChunkedWorld(montania, 16, 4, 0, null);
+
+        // act
+        int bloqueadasLlanura = llanura.generate(64, 64, null).getCollisionLayer().countBlocked();
+        int bloqueadasMontania = montania.generate(64, 64, null).getCollisionLayer().countBlocked();
+
+        // assert
+        assertTrue(bloqueadasMontania > bloqueadasLlanura, "Las montañas tienen más obstáculos");
+        assertTrue(bloqueadasLlanura < 64 * 64 / 4, "La llanura es mayormente transitable");
+        assertEquals(montania.tileEn(-5, 37), world.getTile(-5, 37));
+    }
+}
@@ -0,0 +1,72 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+import org.oniteam.oregontrailfx.model.TrailSimulator;
+import org.oniteam.oregontrailfx.model.TrailStats;
+import org.oniteam.oregontrailfx.model.TrailStrategy;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TrailSimulatorTest {
+
+    private TrailSimulator sim;
+    private TrailStrategy abundante;
+    private TrailStrategy sinComida;
+
+    /**
+     * Escenario 12: Simulación por lotes del viaje completo
+     * - Estrategia con comida de sobra (5 miembros, 5000 lbs)
+     * - Estrategia sin comida (5 miembros, 0 lbs)
+     */
+    void setupStage12() {
+        sim = new TrailSimulator();
+        abundante = new TrailStrategy(2, 2, 5000, 5);
+        sinComida = new TrailStrategy(2, 2, 0, 5);
+    }
+
+    @Test
+    void testComidaAbundanteSiempreLlegaAOregon() {
+        // arrange
+        setupStage12();
+
+        // act
+        TrailStats stats = sim.simular(abundante, 2000, 42L);
+
+        // assert
+        assertEquals(2000, stats.getViajes());
+        assertEquals(1.0, stats.getTasaVictoria(), "Con comida de sobra todos los viajes deben ganar");
+        assertTrue(stats.getMinDias() >= 2000 / 18 && stats.getMaxDias() <= 2000 / 12 + 1,
+                "Los días deben corresponder al ritmo moderado (12-18 millas/día)");
+    }
+
+    @Test
+    void testSinComidaMuerenTodos() {
+        // arrange
+        setupStage12();
+
+        // act
+        TrailStats stats = sim.simular(sinComida, 500, 7L);
+
+        // assert
+        assertEquals(0.0, stats.getTasaVictoria(), "Sin comida nadie debe llegar a Oregon");
+        assertEquals(500, stats.getHistogramaSalud()[0], "Todos deben terminar con salud 0");
+    }
+
+    @Test
+    void testResultadoNoDependeDeLosHilos() {
+        // arrange
+        setupStage12();
+        TrailStrategy justa = new TrailStrategy(1, 1, 1200, 4);
+
+        // act
+        TrailStats unHilo = new TrailSimulator(new ForkJoinPool(1)).simular(justa, 3000, 99L);
+        TrailStats variosHilos = new TrailSimulator(new ForkJoinPool(4)).simular(justa, 3000, 99L);
+
+        // assert
+        assertEquals(unHilo.getVictorias(), variosHilos.getVictorias());
+        assertArrayEquals(unHilo.getHistogramaDias(), variosHilos.getHistogramaDias());
+        assertArrayEquals(unHilo.getHistogramaComida(), variosHilos.getHistogramaComida());
+    }
+}